@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.event;
+
+import com.devives.commons.listener.Listeners;
+
+/**
+ * An interface that provides a way to send events to listeners in batches.
+ * <p>
+ * Sent events are buffered and delivered to the listeners as one list, when the batch reaches its maximum size,
+ * when its maximum delay elapses, or when {@link #flush()} is called, whichever comes first.
+ *
+ * @param <E> the type of event.
+ * @see EventSources#batchBuilder()
+ * @since 0.9.0
+ */
+public interface BatchEventSource<E extends Event> extends AutoCloseable {
+
+    /**
+     * Returns the collection of listeners.
+     *
+     * @return the collection of listeners.
+     */
+    Listeners<BatchEventListener<E>> getListeners();
+
+    /**
+     * Adds an event to the current batch. If the batch reaches its maximum size, it is delivered on the calling thread,
+     * or by the thread which is delivering earlier batches, so batches are always delivered in order.
+     *
+     * @param event the event to send.
+     * @throws IllegalStateException if the event source is closed.
+     */
+    void send(E event);
+
+    /**
+     * Delivers the current batch on the calling thread, if it is not empty.
+     * <p>
+     * If another thread is delivering earlier batches, the batch is delivered by that thread after them.
+     */
+    void flush();
+
+    /**
+     * Delivers the current batch and closes the event source. Further events are rejected.
+     */
+    @Override
+    void close();
+}
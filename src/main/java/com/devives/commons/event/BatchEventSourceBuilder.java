@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.event;
+
+import com.devives.commons.lang.Validate;
+import com.devives.commons.listener.Listeners;
+import com.devives.commons.publisher.AbstractPublisherBuilder;
+import com.devives.commons.publisher.Distributor;
+
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch event source builder.
+ *
+ * @param <E> the type of event.
+ * @since 0.9.0
+ */
+public final class BatchEventSourceBuilder<E extends Event> extends AbstractPublisherBuilder<BatchEventListener<E>, BatchEventSource<E>, BatchEventSourceBuilder<E>> {
+
+    private int maxBatchSize_ = Integer.MAX_VALUE;
+    private long maxDelayNanos_ = 0;
+    private ScheduledExecutorService scheduler_ = null;
+
+    /**
+     * Set the maximum number of events in a batch.
+     * <p>
+     * A batch which reaches the size is delivered on the thread which sent the last event. Unlimited by default.
+     *
+     * @param maxBatchSize the maximum number of events in a batch.
+     * @return this builder.
+     */
+    public BatchEventSourceBuilder<E> setMaxBatchSize(int maxBatchSize) {
+        maxBatchSize_ = Validate.greater(maxBatchSize, 0);
+        return this;
+    }
+
+    /**
+     * Set the maximum delay of an event in a batch.
+     * <p>
+     * The first event of a batch schedules the delivery of the batch on the scheduler after the delay, unless the batch
+     * is delivered earlier. Exceptions which the error handler lets propagate are passed to the uncaught exception
+     * handler of the scheduler thread. If the delay is not set, batches are delivered only by size,
+     * {@link BatchEventSource#flush()} and {@link BatchEventSource#close()}.
+     *
+     * @param delay     the maximum delay.
+     * @param unit      the time unit of the delay.
+     * @param scheduler the scheduler which delivers the expired batches, owned and shut down by the caller.
+     * @return this builder.
+     */
+    public BatchEventSourceBuilder<E> setMaxDelay(long delay, TimeUnit unit, ScheduledExecutorService scheduler) {
+        Objects.requireNonNull(unit, "unit");
+        if (delay <= 0) {
+            throw new IllegalArgumentException(String.format(Validate.DEFAULT_GREATER_MESSAGE, "delay", 0, delay));
+        }
+        maxDelayNanos_ = unit.toNanos(delay);
+        scheduler_ = Objects.requireNonNull(scheduler, "scheduler");
+        return this;
+    }
+
+    /**
+     * Creates the concrete {@link DefaultBatchEventSource} instance using the configured
+     * listeners and distributor strategy.
+     *
+     * @param listeners   the configured listeners collection (non-null)
+     * @param distributor the event distribution strategy (non-null)
+     * @return a new fully configured publisher instance
+     */
+    @Override
+    protected BatchEventSource<E> newInstance(Listeners<BatchEventListener<E>> listeners, Distributor<BatchEventListener<E>> distributor) {
+        return new DefaultBatchEventSource<>(listeners, distributor, maxBatchSize_, maxDelayNanos_, scheduler_);
+    }
+}
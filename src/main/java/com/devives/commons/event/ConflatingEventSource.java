@@ -0,0 +1,148 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.event;
+
+import com.devives.commons.lang.ExceptionUtils;
+import com.devives.commons.listener.Listeners;
+import com.devives.commons.publisher.AbstractPublisher;
+import com.devives.commons.publisher.Distributor;
+import com.devives.commons.util.concurrent.SerialDrain;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * An event source which delivers only the latest pending event per key.
+ * <p>
+ * {@link #send(Event)} stores the event as pending and returns. If an event with the same key is already pending,
+ * it is replaced, keeping the position of the key. Pending events are delivered on the executor in the order
+ * the keys arrived, by a single drain task at a time, so the memory and the work are bounded by the number of
+ * distinct keys however fast events are sent.
+ * <p>
+ * Exceptions which the distributor lets propagate are passed to the uncaught exception handler of the executor
+ * thread, the drain goes on with the next event.
+ *
+ * @param <E> the type of event.
+ * @see EventSourceBuilder#setConflation(Function, Executor)
+ * @since 0.9.0
+ */
+final class ConflatingEventSource<E extends Event> extends AbstractPublisher<EventListener<E>> implements EventSource<E> {
+
+    private final Function<? super E, ?> keyExtractor_;
+    private final EventDispatchIndex<E> dispatchIndex_;
+    private final Map<Object, E> pending_ = new LinkedHashMap<>();
+    private final Drain drain_;
+    private boolean draining_;
+
+    /**
+     * Constructs a new ConflatingEventSource.
+     *
+     * @param listeners    the collection of listeners.
+     * @param distributor  the distributor.
+     * @param keyExtractor the function which returns the conflation key of an event.
+     * @param executor     the executor which delivers the events.
+     */
+    ConflatingEventSource(Listeners<EventListener<E>> listeners, Distributor<EventListener<E>> distributor,
+                          Function<? super E, ?> keyExtractor, Executor executor) {
+        super(listeners, distributor);
+        keyExtractor_ = Objects.requireNonNull(keyExtractor, "keyExtractor");
+        dispatchIndex_ = new EventDispatchIndex<>(listeners);
+        drain_ = new Drain(executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The event replaces the pending event with the same key, and is delivered asynchronously.
+     */
+    @Override
+    public void send(E event) {
+        Objects.requireNonNull(event, "event");
+        Object key = keyExtractor_.apply(event);
+        synchronized (pending_) {
+            pending_.put(key, event);
+            if (draining_) {
+                return;
+            }
+            draining_ = true;
+        }
+        schedule();
+    }
+
+    /**
+     * Returns the number of pending events.
+     *
+     * @return the number of events waiting for delivery.
+     */
+    int getPendingCount() {
+        synchronized (pending_) {
+            return pending_.size();
+        }
+    }
+
+    private void schedule() {
+        try {
+            drain_.schedule();
+        } catch (RuntimeException e) {
+            synchronized (pending_) {
+                draining_ = false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The task which delivers the pending events.
+     */
+    private final class Drain extends SerialDrain {
+
+        Drain(Executor executor) {
+            super(executor);
+        }
+
+        @Override
+        protected boolean runNext() {
+            E event;
+            synchronized (pending_) {
+                Iterator<E> iterator = pending_.values().iterator();
+                if (!iterator.hasNext()) {
+                    draining_ = false;
+                    return false;
+                }
+                event = iterator.next();
+                iterator.remove();
+            }
+            getDistributor().distribute(DefaultEventSource.handleEvent(), event, dispatchIndex_.select(event));
+            return true;
+        }
+
+        /**
+         * Leaves the events pending, the next sent event schedules the task again.
+         */
+        @Override
+        protected void onRejected(RuntimeException exception) {
+            synchronized (pending_) {
+                draining_ = false;
+            }
+            ExceptionUtils.handleUncaught(exception);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.event;
+
+import com.devives.commons.lang.ExceptionUtils;
+import com.devives.commons.listener.Listeners;
+import com.devives.commons.publisher.AbstractPublisher;
+import com.devives.commons.publisher.Distributor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * A class that extends AbstractPublisher and delivers events to listeners in batches.
+ * <p>
+ * Completed batches are queued and delivered in order by one thread at a time: a thread which completes a batch
+ * while another thread delivers, leaves its batch to that thread. Exceptions which the distributor lets propagate
+ * do not stop the delivery: the remaining batches are delivered, then the exceptions are thrown to the delivering
+ * thread. The first event of a batch schedules the flush of that batch after the maximum delay, the flush
+ * is cancelled if the batch is completed earlier.
+ *
+ * @param <E> the type of event.
+ * @since 0.9.0
+ */
+final class DefaultBatchEventSource<E extends Event> extends AbstractPublisher<BatchEventListener<E>> implements BatchEventSource<E> {
+
+    private static final BiConsumer<BatchEventListener<Event>, List<Event>> HANDLE_EVENTS = BatchEventListener::handleEvents;
+
+    private final int maxBatchSize_;
+    private final long maxDelayNanos_;
+    private final ScheduledExecutorService scheduler_;
+    private final Object lock_ = new Object();
+    private final Queue<List<E>> completed_ = new ArrayDeque<>();
+    private List<E> batch_ = new ArrayList<>();
+    private long generation_;
+    private ScheduledFuture<?> timer_;
+    private boolean delivering_;
+    private boolean closed_;
+
+    /**
+     * Constructs a new DefaultBatchEventSource.
+     *
+     * @param listeners     the collection of listeners.
+     * @param distributor   the distributor.
+     * @param maxBatchSize  the maximum number of events in a batch.
+     * @param maxDelayNanos the maximum delay of the first event of a batch, in nanoseconds.
+     * @param scheduler     the scheduler of delayed flushes, {@code null} if batches are not flushed by time.
+     */
+    DefaultBatchEventSource(Listeners<BatchEventListener<E>> listeners, Distributor<BatchEventListener<E>> distributor,
+                            int maxBatchSize, long maxDelayNanos, ScheduledExecutorService scheduler) {
+        super(listeners, distributor);
+        maxBatchSize_ = maxBatchSize;
+        maxDelayNanos_ = maxDelayNanos;
+        scheduler_ = scheduler;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void send(E event) {
+        Objects.requireNonNull(event, "event");
+        synchronized (lock_) {
+            if (closed_) {
+                throw new IllegalStateException("The event source is closed.");
+            }
+            batch_.add(event);
+            if (batch_.size() >= maxBatchSize_) {
+                completeBatch();
+            } else if (batch_.size() == 1 && scheduler_ != null) {
+                final long generation = generation_;
+                timer_ = scheduler_.schedule(() -> flush(generation), maxDelayNanos_, TimeUnit.NANOSECONDS);
+                return;
+            } else {
+                return;
+            }
+        }
+        deliver();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flush() {
+        synchronized (lock_) {
+            completeBatch();
+        }
+        deliver();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        synchronized (lock_) {
+            closed_ = true;
+            completeBatch();
+        }
+        deliver();
+    }
+
+    /**
+     * Flushes the batch on expiration of its delay, unless the batch was already completed.
+     */
+    private void flush(long generation) {
+        try {
+            synchronized (lock_) {
+                if (generation != generation_) {
+                    return;
+                }
+                timer_ = null;
+                completeBatch();
+            }
+            deliver();
+        } catch (RuntimeException e) {
+            ExceptionUtils.handleUncaught(e);
+        }
+    }
+
+    /**
+     * Moves the current batch to the queue of completed batches. Must be called while holding the lock.
+     */
+    private void completeBatch() {
+        if (batch_.isEmpty()) {
+            return;
+        }
+        completed_.add(Collections.unmodifiableList(batch_));
+        batch_ = new ArrayList<>();
+        generation_++;
+        if (timer_ != null) {
+            timer_.cancel(false);
+            timer_ = null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Event> BiConsumer<BatchEventListener<E>, List<E>> handleEvents() {
+        return (BiConsumer<BatchEventListener<E>, List<E>>) (BiConsumer<?, ?>) HANDLE_EVENTS;
+    }
+
+    /**
+     * Delivers the completed batches in order, unless another thread is delivering them. Exceptions thrown
+     * by the distributor are collected and thrown after the queue is drained.
+     */
+    private void deliver() {
+        synchronized (lock_) {
+            if (delivering_) {
+                return;
+            }
+            delivering_ = true;
+        }
+        List<RuntimeException> exceptionList = null;
+        boolean delivered = false;
+        try {
+            for (;;) {
+                List<E> batch;
+                synchronized (lock_) {
+                    batch = completed_.poll();
+                    if (batch == null) {
+                        delivering_ = false;
+                        delivered = true;
+                        break;
+                    }
+                }
+                try {
+                    getDistributor().distribute(handleEvents(), batch, getListeners());
+                } catch (RuntimeException e) {
+                    if (exceptionList == null) {
+                        exceptionList = new ArrayList<>();
+                    }
+                    exceptionList.add(e);
+                }
+            }
+        } finally {
+            if (!delivered) {
+                synchronized (lock_) {
+                    delivering_ = false;
+                }
+            }
+        }
+        if (exceptionList != null) {
+            ExceptionUtils.throwCollected(exceptionList);
+        }
+    }
+}
@@ -20,6 +20,9 @@ import com.devives.commons.listener.Listeners;
 import com.devives.commons.publisher.AbstractPublisher;
 import com.devives.commons.publisher.Distributor;
 
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.BiConsumer;
 
 /**
  * A class that extends AbstractPublisher and provides a way to send events to listeners.
@@ -30,6 +33,13 @@ import com.devives.commons.publisher.Distributor;
  */
 final class DefaultEventSource<E extends Event> extends AbstractPublisher<EventListener<E>> implements EventSource<E> {
 
+    /**
+     * The shared consumer which passes the event to the listener, so sending an event does not allocate a consumer.
+     */
+    private static final BiConsumer<EventListener<Event>, Event> HANDLE_EVENT = EventListener::handleEvent;
+
+    private final EventDispatchIndex<E> dispatchIndex_;
+
     /**
      * Constructs a new DefaultEventSource with the specified listeners and distributor.
      *
@@ -38,14 +48,39 @@ final class DefaultEventSource<E extends Event> extends AbstractPublisher<EventL
      */
     protected DefaultEventSource(Listeners<EventListener<E>> listeners, Distributor<EventListener<E>> distributor) {
         super(listeners, distributor);
+        dispatchIndex_ = new EventDispatchIndex<>(listeners);
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Only the listeners which can accept the class of the event are visited.
      */
     @Override
     public void send(E event) {
-        getDistributor().distribute((listener -> listener.handleEvent(event)), getListeners());
+        getDistributor().distribute(handleEvent(), event, dispatchIndex_.select(event));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The batch is delivered to all listeners, listeners subscribed to other event classes skip the events themselves.
+     */
+    @Override
+    public void sendAll(Collection<? extends E> events) {
+        Objects.requireNonNull(events, "events");
+        getDistributor().distributeAll(handleEvent(), events, getListeners());
+    }
+
+    /**
+     * Returns the shared consumer which passes the event to the listener.
+     *
+     * @param <E> the type of event.
+     * @return the shared consumer.
+     */
+    @SuppressWarnings("unchecked")
+    static <E extends Event> BiConsumer<EventListener<E>, E> handleEvent() {
+        return (BiConsumer<EventListener<E>, E>) (BiConsumer<?, ?>) HANDLE_EVENT;
     }
 
 }
@@ -0,0 +1,212 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.event;
+
+import com.devives.commons.listener.Listeners;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * The index of listeners by the concrete class of events, which lets an event source visit only the listeners
+ * that can accept an event.
+ * <p>
+ * For each event class, the index keeps the view of the listeners which are not {@link FilteredEventListener}
+ * or accept the class. The view is computed on the first event of the class after a modification of the collection,
+ * which is detected by {@link Listeners#getVersion()}. Collections which do not track modifications,
+ * and collections without filtered listeners, are returned as is.
+ * <p>
+ * The views are kept by the index in a map keyed by the event class, so the index holds only the classes of the events
+ * sent through its source, and nothing referenced from the event classes keeps the event sources and their listeners
+ * reachable.
+ *
+ * @param <E> the type of event.
+ * @since 0.9.0
+ */
+final class EventDispatchIndex<E extends Event> {
+
+    private final Listeners<EventListener<E>> listeners_;
+    /**
+     * The views by the event class.
+     */
+    private final ConcurrentMap<Class<?>, Selection<E>> selections_ = new ConcurrentHashMap<>();
+    /**
+     * The version of the collection which has no filtered listeners.
+     */
+    private volatile long unfilteredVersion_ = Listeners.UNVERSIONED;
+
+    /**
+     * Constructs a new EventDispatchIndex.
+     *
+     * @param listeners the collection of listeners.
+     */
+    EventDispatchIndex(Listeners<EventListener<E>> listeners) {
+        listeners_ = listeners;
+    }
+
+    /**
+     * Returns the listeners to visit for the event.
+     *
+     * @param event the event.
+     * @return the view of the listeners which can accept the event, or the collection of listeners.
+     */
+    Listeners<EventListener<E>> select(Event event) {
+        long version = listeners_.getVersion();
+        if (version == Listeners.UNVERSIONED || version == unfilteredVersion_) {
+            return listeners_;
+        }
+        Class<?> eventClass = event.getClass();
+        Selection<E> selection = selections_.get(eventClass);
+        if (selection == null || selection.version_ != version) {
+            selection = new Selection<>(version, computeView(eventClass, version));
+            selections_.put(eventClass, selection);
+        }
+        return selection.listeners_;
+    }
+
+    private Listeners<EventListener<E>> computeView(Class<?> eventClass, long version) {
+        List<EventListener<E>> snapshot = listeners_.snapshot();
+        Object[] view = new Object[snapshot.size()];
+        int count = 0;
+        boolean filtered = false;
+        for (int i = 0, size = snapshot.size(); i < size; i++) {
+            EventListener<E> listener = snapshot.get(i);
+            if (listener instanceof FilteredEventListener) {
+                filtered = true;
+                if (!((FilteredEventListener<?, ?>) listener).accepts(eventClass)) {
+                    continue;
+                }
+            }
+            view[count++] = listener;
+        }
+        if (!filtered) {
+            unfilteredVersion_ = version;
+        }
+        if (count == view.length) {
+            return listeners_;
+        }
+        return new View<>(listeners_, Arrays.copyOf(view, count));
+    }
+
+    /**
+     * The view of listeners computed for a version of the collection.
+     */
+    private static final class Selection<E extends Event> {
+        private final long version_;
+        private final Listeners<EventListener<E>> listeners_;
+
+        private Selection(long version, Listeners<EventListener<E>> listeners) {
+            version_ = version;
+            listeners_ = listeners;
+        }
+    }
+
+    /**
+     * The read-only view of the listeners which can accept the events of a class.
+     * <p>
+     * The presence check and the version are delegated to the collection, so distributors skip the listeners
+     * removed during the distribution.
+     */
+    private static final class View<E extends Event> implements Listeners<EventListener<E>> {
+        private final Listeners<EventListener<E>> listeners_;
+        private final Object[] array_;
+        private final List<EventListener<E>> snapshot_;
+
+        @SuppressWarnings("unchecked")
+        private View(Listeners<EventListener<E>> listeners, Object[] array) {
+            listeners_ = listeners;
+            array_ = array;
+            snapshot_ = (List<EventListener<E>>) (List<?>) Collections.unmodifiableList(Arrays.asList(array));
+        }
+
+        @Override
+        public void add(EventListener<E> item) {
+            throw readOnly();
+        }
+
+        @Override
+        public void addFirst(EventListener<E> item) {
+            throw readOnly();
+        }
+
+        @Override
+        public void addBefore(EventListener<E> item, EventListener<E> prior) {
+            throw readOnly();
+        }
+
+        @Override
+        public void addAfter(EventListener<E> item, EventListener<E> next) {
+            throw readOnly();
+        }
+
+        @Override
+        public boolean contains(EventListener<E> item) {
+            return listeners_.contains(item);
+        }
+
+        @Override
+        public void remove(EventListener<E> item) {
+            throw readOnly();
+        }
+
+        @Override
+        public void clear() {
+            throw readOnly();
+        }
+
+        @Override
+        public int size() {
+            return array_.length;
+        }
+
+        @Override
+        public Object[] toArray() {
+            return array_;
+        }
+
+        @Override
+        public List<EventListener<E>> snapshot() {
+            return snapshot_;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEach(Consumer<? super EventListener<E>> action) {
+            for (Object listener : array_) {
+                action.accept((EventListener<E>) listener);
+            }
+        }
+
+        @Override
+        public long getVersion() {
+            return listeners_.getVersion();
+        }
+
+        @Override
+        public boolean isRemovedSince(EventListener<E> item, long version) {
+            return listeners_.isRemovedSince(item, version);
+        }
+
+        private static UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("The dispatch view of listeners is read-only.");
+        }
+    }
+}
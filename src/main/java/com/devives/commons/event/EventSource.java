@@ -17,6 +17,11 @@
 package com.devives.commons.event;
 
 import com.devives.commons.listener.Listeners;
+import com.devives.commons.listener.Subscription;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * An interface that provides a way to send events to listeners.
@@ -41,6 +46,61 @@ public interface EventSource<E extends Event> {
      */
     void send(E event);
 
+    /**
+     * Sends a batch of events to all listeners in the collection.
+     * <p>
+     * Each listener receives the events in the iteration order of the collection. Event sources built by
+     * {@link EventSourceBuilder} with synchronous delivery take one snapshot of the listeners and deliver the whole
+     * batch listener by listener; exceptions thrown by listeners are collected as by
+     * {@link com.devives.commons.publisher.IndependentDistributor}. The default implementation sends the events
+     * one by one.
+     *
+     * @param events the events to send.
+     * @see com.devives.commons.publisher.Distributor#distributeAll
+     * @since 0.9.0
+     */
+    default void sendAll(Collection<? extends E> events) {
+        Objects.requireNonNull(events, "events");
+        for (E event : events) {
+            send(event);
+        }
+    }
+
+    /**
+     * Registers the listener of the events of the specified class.
+     *
+     * @param eventClass the class of events passed to the listener, including subclasses.
+     * @param listener   the listener.
+     * @param <T>        the type of events passed to the listener.
+     * @return the handle of the registration.
+     * @see #subscribe(Class, Predicate, EventListener)
+     * @since 0.9.0
+     */
+    default <T extends E> Subscription subscribe(Class<T> eventClass, EventListener<? super T> listener) {
+        return getListeners().subscribe(new FilteredEventListener<>(eventClass, null, listener));
+    }
+
+    /**
+     * Registers the listener of the events of the specified class which match the predicate.
+     * <p>
+     * Event sources built by {@link EventSourceBuilder} index the listeners by the concrete class of events,
+     * so sending an event visits only the listeners registered for its class and its superclasses,
+     * and unfiltered listeners. The predicate is tested on delivery. The listener is registered in
+     * {@link #getListeners()} wrapped, so it is unregistered by closing the returned handle.
+     *
+     * @param eventClass the class of events passed to the listener, including subclasses.
+     * @param predicate  the predicate of events passed to the listener.
+     * @param listener   the listener.
+     * @param <T>        the type of events passed to the listener.
+     * @return the handle of the registration.
+     * @since 0.9.0
+     */
+    default <T extends E> Subscription subscribe(Class<T> eventClass, Predicate<? super T> predicate,
+                                                 EventListener<? super T> listener) {
+        Objects.requireNonNull(predicate, "predicate");
+        return getListeners().subscribe(new FilteredEventListener<>(eventClass, predicate, listener));
+    }
+
 }
 
 
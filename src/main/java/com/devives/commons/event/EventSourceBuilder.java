@@ -16,10 +16,15 @@
  */
 package com.devives.commons.event;
 
+import com.devives.commons.lang.Validate;
 import com.devives.commons.listener.Listeners;
 import com.devives.commons.publisher.AbstractPublisherBuilder;
 import com.devives.commons.publisher.Distributor;
 
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
 /**
  * Event source builder.
  *
@@ -27,6 +32,51 @@ import com.devives.commons.publisher.Distributor;
  */
 public final class EventSourceBuilder<E extends Event> extends AbstractPublisherBuilder<EventListener<E>, EventSource<E>, EventSourceBuilder<E>> {
 
+    private Function<? super E, ?> conflationKeyExtractor_ = null;
+    private Executor conflationExecutor_ = null;
+    private int replayCapacity_ = 0;
+
+    /**
+     * Make the event source conflating.
+     * <p>
+     * Sent events are kept pending until they are delivered on the executor. A pending event is replaced by a newer
+     * event with the same key, so listeners which can not keep up receive only the latest event per key.
+     * Pending events are delivered in the order their keys arrived.
+     * Exceptions which the error handler lets propagate are passed to the uncaught exception handler of the executor thread.
+     *
+     * @param keyExtractor the function which returns the conflation key of an event, for example
+     *                     {@link PropertyChangedEvent#getProperty()}.
+     * @param executor     the executor which delivers the events.
+     * @return this builder.
+     * @since 0.9.0
+     */
+    public EventSourceBuilder<E> setConflation(Function<? super E, ?> keyExtractor, Executor executor) {
+        conflationKeyExtractor_ = Objects.requireNonNull(keyExtractor, "keyExtractor");
+        conflationExecutor_ = Objects.requireNonNull(executor, "executor");
+        return this;
+    }
+
+    /**
+     * Make the event source replay the last sent events to every listener when it registers.
+     * <p>
+     * The last {@code capacity} events are kept in a ring. A listener added to {@link EventSource#getListeners()}
+     * receives the events of the ring before it is registered, while no event is being sent, so it receives
+     * the following events without a gap and without duplicates, as long as listeners are called on the sending thread.
+     * Listeners of state, such as {@link StateChangedEvent}, receive the current state without querying the source.
+     * The option can not be combined with {@link #setConflation(Function, Executor)}, nor with a delivery which calls
+     * listeners on other threads: {@link #setAsyncDelivery(Executor)}, {@link #setParallelDelivery(int)},
+     * {@link #setRingBufferDelivery(com.devives.commons.publisher.RingBuffer)}, {@link #setVirtualThreadDelivery()}
+     * and {@link #setPartitionedDelivery(Function, com.devives.commons.publisher.PartitionLanes)}.
+     *
+     * @param capacity the number of last events replayed to a new listener.
+     * @return this builder.
+     * @since 0.9.0
+     */
+    public EventSourceBuilder<E> setReplayBuffer(int capacity) {
+        replayCapacity_ = Validate.greater(capacity, 0);
+        return this;
+    }
+
     /**
      * Creates the concrete {@link DefaultEventSource} instance using the configured
      * listeners and distributor strategy.
@@ -34,9 +84,24 @@ public final class EventSourceBuilder<E extends Event> extends AbstractPublisher
      * @param listeners   the configured listeners collection (non-null)
      * @param distributor the event distribution strategy (non-null)
      * @return a new fully configured publisher instance
+     * @throws IllegalStateException if the replay buffer is combined with conflation or with a delivery on other
+     *                               threads.
      */
     @Override
     protected EventSource<E> newInstance(Listeners<EventListener<E>> listeners, Distributor<EventListener<E>> distributor) {
+        if (replayCapacity_ > 0) {
+            if (conflationKeyExtractor_ != null) {
+                throw new IllegalStateException("The replay buffer can not be combined with conflation.");
+            }
+            if (!isPublishingThreadDelivery()) {
+                throw new IllegalStateException("The replay buffer can not be combined with the asynchronous, parallel, "
+                        + "ring buffer, virtual thread and partitioned delivery.");
+            }
+            return new ReplayingEventSource<>(listeners, distributor, replayCapacity_);
+        }
+        if (conflationKeyExtractor_ != null) {
+            return new ConflatingEventSource<>(listeners, distributor, conflationKeyExtractor_, conflationExecutor_);
+        }
         return new DefaultEventSource<>(listeners, distributor);
     }
 }
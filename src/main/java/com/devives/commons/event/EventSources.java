@@ -48,4 +48,15 @@ public final class EventSources {
         return new EventSourceBuilder<>();
     }
 
+    /**
+     * Returns a new BatchEventSourceBuilder.
+     *
+     * @param <E> the type of event.
+     * @return a new BatchEventSourceBuilder.
+     * @since 0.9.0
+     */
+    public static <E extends Event> BatchEventSourceBuilder<E> batchBuilder() {
+        return new BatchEventSourceBuilder<>();
+    }
+
 }
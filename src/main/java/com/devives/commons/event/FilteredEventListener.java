@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.event;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * A listener registered by {@link EventSource#subscribe(Class, Predicate, EventListener)}, which passes to the
+ * subscribed listener only the events of the event class that match the predicate.
+ * <p>
+ * Event sources built by {@link EventSourceBuilder} do not call the listener for events of other classes,
+ * the check of the class in {@link #handleEvent(Event)} covers the other implementations of {@link EventSource}.
+ *
+ * @param <E> the type of event of the source.
+ * @param <T> the type of event of the subscription.
+ * @since 0.9.0
+ */
+final class FilteredEventListener<E extends Event, T extends E> implements EventListener<E> {
+
+    private final Class<T> eventClass_;
+    private final Predicate<? super T> predicate_;
+    private final EventListener<? super T> listener_;
+
+    /**
+     * Constructs a new FilteredEventListener.
+     *
+     * @param eventClass the class of events passed to the listener.
+     * @param predicate  the predicate of events passed to the listener, or {@code null} to pass all events of the class.
+     * @param listener   the subscribed listener.
+     */
+    FilteredEventListener(Class<T> eventClass, Predicate<? super T> predicate, EventListener<? super T> listener) {
+        eventClass_ = Objects.requireNonNull(eventClass, "eventClass");
+        predicate_ = predicate;
+        listener_ = Objects.requireNonNull(listener, "listener");
+    }
+
+    /**
+     * Checks if the events of the class can be passed to the listener.
+     *
+     * @param eventClass the concrete class of events.
+     * @return {@code true} if the class is the event class of the subscription or its subclass.
+     */
+    boolean accepts(Class<?> eventClass) {
+        return eventClass_.isAssignableFrom(eventClass);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void handleEvent(E event) {
+        if (eventClass_.isInstance(event)) {
+            T typedEvent = eventClass_.cast(event);
+            if (predicate_ == null || predicate_.test(typedEvent)) {
+                listener_.handleEvent(typedEvent);
+            }
+        }
+    }
+}
@@ -0,0 +1,515 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.event;
+
+import com.devives.commons.lang.ExceptionUtils;
+import com.devives.commons.listener.Listeners;
+import com.devives.commons.listener.PrioritizedListeners;
+import com.devives.commons.listener.Subscription;
+import com.devives.commons.publisher.Distributor;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * An event source which keeps the last sent events and replays them to every listener when it registers.
+ * <p>
+ * Sent events are stored in a bounded ring, which concurrent senders fill by claiming the next index with
+ * an atomic increment, a slot keeps the event of the greatest index stored into it. Senders take no lock: each sender
+ * announces itself in a counter of a stripe chosen by its thread, and checks that no registration is in progress.
+ * Registering a listener holds the write lock of the source and waits until the announced senders leave, while new
+ * senders wait for the end of the registration: the listener receives the events of the ring and is added to
+ * the collection while no event is being sent, so it receives every event after the replay once, without a gap
+ * between the replay and the live delivery. The guarantee relies on the distributor calling listeners on the sending
+ * thread.
+ * <p>
+ * A listener registered by a listener during the delivery of an event, is registered after the outermost
+ * {@link #send(Event)} of the thread returns, and its replay includes the event. A listener registered by a listener
+ * during its replay, is registered after the registration of the replayed listener. Deferred registrations are kept
+ * per thread, so a thread never performs the registrations deferred by another thread. Exceptions thrown by a listener
+ * during its replay are propagated to the caller which registers it, and the listener is not registered.
+ * Exceptions thrown by a deferred registration are passed to the uncaught exception handler of the thread.
+ *
+ * @param <E> the type of event.
+ * @see EventSourceBuilder#setReplayBuffer(int)
+ * @since 0.9.0
+ */
+final class ReplayingEventSource<E extends Event> implements EventSource<E> {
+
+    private static final int STRIPE_STRIDE = 16;
+    private static final int MAX_STRIPES = 64;
+    private static final int REGISTRAR_SPINS = 64;
+    private static final long REGISTRAR_PARK_NANOS = 1_000L;
+
+    private final Listeners<EventListener<E>> listeners_;
+    private final Listeners<EventListener<E>> replayingListeners_;
+    private final Distributor<EventListener<E>> distributor_;
+    private final EventDispatchIndex<E> dispatchIndex_;
+    /**
+     * The entries of the last sent events, each slot keeps the entry of the greatest index written into it.
+     */
+    private final AtomicReferenceArray<Entry<E>> ring_;
+    private final AtomicLong sentCount_ = new AtomicLong();
+    /**
+     * Held in write mode by a registration, senders only wait for its release.
+     */
+    private final StampedLock lock_ = new StampedLock();
+    /**
+     * The number of threads sending an event, counted per stripe. The counters of the stripes are
+     * {@value #STRIPE_STRIDE} elements apart, so senders of different stripes do not share a cache line.
+     */
+    private final AtomicIntegerArray senders_;
+    private final int stripeMask_;
+    /**
+     * The thread performing a registration, its sends during the replay do not wait for the registration.
+     */
+    private volatile Thread registrar_;
+    private final ThreadLocal<SenderState> senderState_ = new ThreadLocal<>();
+
+    /**
+     * Constructs a new ReplayingEventSource.
+     *
+     * @param listeners   the collection of listeners.
+     * @param distributor the distributor.
+     * @param capacity    the number of last events replayed to a new listener.
+     */
+    ReplayingEventSource(Listeners<EventListener<E>> listeners, Distributor<EventListener<E>> distributor, int capacity) {
+        listeners_ = Objects.requireNonNull(listeners, "listeners");
+        distributor_ = Objects.requireNonNull(distributor, "distributor");
+        dispatchIndex_ = new EventDispatchIndex<>(listeners);
+        ring_ = new AtomicReferenceArray<>(capacity);
+        int stripes = Math.min(MAX_STRIPES, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1);
+        stripeMask_ = stripes - 1;
+        senders_ = new AtomicIntegerArray(stripes * STRIPE_STRIDE);
+        replayingListeners_ = listeners instanceof PrioritizedListeners
+                ? new PrioritizedReplayingListeners((PrioritizedListeners<EventListener<E>>) listeners)
+                : new ReplayingListeners();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Listeners added to the returned collection first receive the events of the replay buffer.
+     * The collection implements {@link PrioritizedListeners} if the collection of the source does.
+     */
+    @Override
+    public Listeners<EventListener<E>> getListeners() {
+        return replayingListeners_;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The event is stored in the replay buffer, replacing the oldest event if the buffer is full.
+     */
+    @Override
+    public void send(E event) {
+        Objects.requireNonNull(event, "event");
+        SenderState state = getSenderState();
+        enterSend(state);
+        try {
+            long index = sentCount_.getAndIncrement();
+            store(index, event);
+            distributor_.distribute(DefaultEventSource.handleEvent(), event, dispatchIndex_.select(event));
+        } finally {
+            exitSend(state);
+        }
+        if (state.depth_ == 0) {
+            runDeferred(state);
+        }
+    }
+
+    /**
+     * Stores the event into its slot, unless a sender which claimed a later index of the slot has stored its event
+     * first.
+     */
+    private void store(long index, E event) {
+        int slot = (int) (index % ring_.length());
+        Entry<E> entry = new Entry<>(index, event);
+        while (true) {
+            Entry<E> current = ring_.get(slot);
+            if (current != null && current.index_ > index) {
+                return;
+            }
+            if (ring_.compareAndSet(slot, current, entry)) {
+                return;
+            }
+        }
+    }
+
+    private SenderState getSenderState() {
+        SenderState state = senderState_.get();
+        if (state == null) {
+            state = new SenderState((int) Thread.currentThread().getId() * 0x9E3779B9 >>> 16 & stripeMask_);
+            senderState_.set(state);
+        }
+        return state;
+    }
+
+    /**
+     * Announces the sender in the counter of its stripe, waiting for the end of a registration in progress.
+     * The counter is incremented before the lock is checked, and the registration locks before it reads the counters,
+     * so either the sender waits or the registration waits for the sender.
+     */
+    private void enterSend(SenderState state) {
+        if (state.depth_++ > 0) {
+            return;
+        }
+        int counter = state.stripe_ * STRIPE_STRIDE;
+        while (true) {
+            senders_.getAndIncrement(counter);
+            if (!lock_.isWriteLocked() || registrar_ == Thread.currentThread()) {
+                return;
+            }
+            senders_.getAndDecrement(counter);
+            lock_.unlockRead(lock_.readLock());
+        }
+    }
+
+    private void exitSend(SenderState state) {
+        if (--state.depth_ == 0) {
+            senders_.getAndDecrement(state.stripe_ * STRIPE_STRIDE);
+        }
+    }
+
+    /**
+     * Waits until the senders announced before the write lock was acquired leave.
+     */
+    private void awaitSenders() {
+        for (int counter = 0, length = senders_.length(); counter < length; counter += STRIPE_STRIDE) {
+            int spins = 0;
+            while (senders_.get(counter) != 0) {
+                if (spins++ < REGISTRAR_SPINS) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(this, REGISTRAR_PARK_NANOS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether the registrations of the current thread must be deferred, because the thread is sending
+     * an event or replaying the ring to a listener.
+     */
+    private boolean isDeferring() {
+        if (registrar_ == Thread.currentThread()) {
+            return true;
+        }
+        SenderState state = senderState_.get();
+        return state != null && state.depth_ > 0;
+    }
+
+    /**
+     * Passes the events of the ring to the action. Must be called with the write lock held after the senders
+     * have left, so no sender is between claiming a slot and filling it.
+     */
+    private void forEachReplayEvent(Consumer<? super E> action) {
+        long end = sentCount_.get();
+        int capacity = ring_.length();
+        for (long index = Math.max(0, end - capacity); index < end; index++) {
+            action.accept(ring_.get((int) (index % capacity)).event_);
+        }
+    }
+
+    /**
+     * Replays the ring to the listener and performs the registration, or defers both if the current thread
+     * is sending an event or replaying, since the registration waits for the senders to leave and the lock
+     * is not reentrant.
+     *
+     * @param listener     the listener to replay the ring to.
+     * @param registration the registration.
+     * @return the result of the registration, or {@code null} if the registration is deferred.
+     */
+    private <R> R register(EventListener<E> listener, Supplier<R> registration) {
+        if (isDeferring()) {
+            defer(() -> register(listener, registration));
+            return null;
+        }
+        R result;
+        long stamp = lock_.writeLock();
+        registrar_ = Thread.currentThread();
+        try {
+            awaitSenders();
+            forEachReplayEvent(listener::handleEvent);
+            result = registration.get();
+        } finally {
+            registrar_ = null;
+            lock_.unlockWrite(stamp);
+        }
+        runDeferred(getSenderState());
+        return result;
+    }
+
+    /**
+     * Defers the registration until the outermost send of the current thread returns.
+     */
+    private void defer(Runnable registration) {
+        SenderState state = getSenderState();
+        if (state.deferred_ == null) {
+            state.deferred_ = new ArrayDeque<>();
+        }
+        state.deferred_.add(registration);
+    }
+
+    private void runDeferred(SenderState state) {
+        Queue<Runnable> deferred = state.deferred_;
+        if (deferred == null) {
+            return;
+        }
+        state.deferred_ = null;
+        Runnable registration;
+        while ((registration = deferred.poll()) != null) {
+            try {
+                registration.run();
+            } catch (RuntimeException e) {
+                ExceptionUtils.handleUncaught(e);
+            }
+        }
+    }
+
+    /**
+     * The collection of listeners returned to the clients, which replays the ring to the added listeners.
+     */
+    private class ReplayingListeners implements Listeners<EventListener<E>> {
+
+        @Override
+        public void add(EventListener<E> item) {
+            Objects.requireNonNull(item, "item");
+            register(item, () -> {
+                listeners_.add(item);
+                return null;
+            });
+        }
+
+        @Override
+        public void addFirst(EventListener<E> item) {
+            Objects.requireNonNull(item, "item");
+            register(item, () -> {
+                listeners_.addFirst(item);
+                return null;
+            });
+        }
+
+        @Override
+        public void addBefore(EventListener<E> item, EventListener<E> prior) {
+            Objects.requireNonNull(item, "item");
+            register(item, () -> {
+                listeners_.addBefore(item, prior);
+                return null;
+            });
+        }
+
+        @Override
+        public void addAfter(EventListener<E> item, EventListener<E> next) {
+            Objects.requireNonNull(item, "item");
+            register(item, () -> {
+                listeners_.addAfter(item, next);
+                return null;
+            });
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p>
+         * If the registration is deferred, closing the handle before the registration cancels it.
+         */
+        @Override
+        public Subscription subscribe(EventListener<E> item) {
+            Objects.requireNonNull(item, "item");
+            return subscribe(item, () -> listeners_.subscribe(item));
+        }
+
+        @Override
+        public void addAll(Collection<? extends EventListener<E>> items) {
+            Objects.requireNonNull(items, "items");
+            for (EventListener<E> item : items) {
+                add(item);
+            }
+        }
+
+        @Override
+        public boolean contains(EventListener<E> item) {
+            return listeners_.contains(item);
+        }
+
+        @Override
+        public void remove(EventListener<E> item) {
+            listeners_.remove(item);
+        }
+
+        @Override
+        public void removeAll(Collection<? extends EventListener<E>> items) {
+            listeners_.removeAll(items);
+        }
+
+        @Override
+        public void clear() {
+            listeners_.clear();
+        }
+
+        @Override
+        public int size() {
+            return listeners_.size();
+        }
+
+        @Override
+        public Object[] toArray() {
+            return listeners_.toArray();
+        }
+
+        @Override
+        public List<EventListener<E>> snapshot() {
+            return listeners_.snapshot();
+        }
+
+        @Override
+        public void forEach(Consumer<? super EventListener<E>> action) {
+            listeners_.forEach(action);
+        }
+
+        @Override
+        public long getVersion() {
+            return listeners_.getVersion();
+        }
+
+        @Override
+        public boolean isRemovedSince(EventListener<E> item, long version) {
+            return listeners_.isRemovedSince(item, version);
+        }
+
+        Subscription subscribe(EventListener<E> item, Supplier<Subscription> registration) {
+            if (!isDeferring()) {
+                return register(item, registration);
+            }
+            PendingSubscription pending = new PendingSubscription();
+            defer(() -> {
+                if (!pending.isClosed()) {
+                    pending.setSubscription(register(item, registration));
+                }
+            });
+            return pending;
+        }
+    }
+
+    /**
+     * The collection of listeners returned to the clients if the collection of the source is prioritized.
+     */
+    private final class PrioritizedReplayingListeners extends ReplayingListeners
+            implements PrioritizedListeners<EventListener<E>> {
+
+        private final PrioritizedListeners<EventListener<E>> prioritized_;
+
+        PrioritizedReplayingListeners(PrioritizedListeners<EventListener<E>> prioritized) {
+            prioritized_ = prioritized;
+        }
+
+        @Override
+        public void add(EventListener<E> item, int priority) {
+            Objects.requireNonNull(item, "item");
+            register(item, () -> {
+                prioritized_.add(item, priority);
+                return null;
+            });
+        }
+
+        @Override
+        public Subscription subscribe(EventListener<E> item, int priority) {
+            Objects.requireNonNull(item, "item");
+            return subscribe(item, () -> prioritized_.subscribe(item, priority));
+        }
+    }
+
+    /**
+     * An event of the ring with the index claimed by its sender.
+     */
+    private static final class Entry<E> {
+        private final long index_;
+        private final E event_;
+
+        Entry(long index, E event) {
+            index_ = index;
+            event_ = event;
+        }
+    }
+
+    /**
+     * The state of the current thread as a sender of the source.
+     */
+    private static final class SenderState {
+        private final int stripe_;
+        /**
+         * The number of nested sends of the thread.
+         */
+        private int depth_;
+        /**
+         * The registrations deferred by the thread, present while the thread is sending an event.
+         */
+        private Queue<Runnable> deferred_;
+
+        SenderState(int stripe) {
+            stripe_ = stripe;
+        }
+    }
+
+    /**
+     * The handle of a deferred registration.
+     */
+    private static final class PendingSubscription implements Subscription {
+        private Subscription subscription_;
+        private boolean closed_;
+
+        synchronized boolean isClosed() {
+            return closed_;
+        }
+
+        void setSubscription(Subscription subscription) {
+            synchronized (this) {
+                if (!closed_) {
+                    subscription_ = subscription;
+                    return;
+                }
+            }
+            subscription.close();
+        }
+
+        @Override
+        public void close() {
+            Subscription subscription;
+            synchronized (this) {
+                if (closed_) {
+                    return;
+                }
+                closed_ = true;
+                subscription = subscription_;
+            }
+            if (subscription != null) {
+                subscription.close();
+            }
+        }
+    }
+}
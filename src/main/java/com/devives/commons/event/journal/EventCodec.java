@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.event.journal;
+
+import com.devives.commons.event.Event;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * The binary codec of events stored in an {@link EventJournal}.
+ * <p>
+ * The journal passes views of its memory-mapped segments to the codec, so events are written into the segment
+ * and read from it without intermediate copies. The codec must use relative operations of the buffers only,
+ * and must not keep references to the buffers after the call.
+ *
+ * @param <E> the type of event.
+ * @see EventJournal
+ * @since 0.9.0
+ */
+public interface EventCodec<E extends Event> {
+
+    /**
+     * Writes the event into the buffer, starting at the position of the buffer.
+     * <p>
+     * The position of the buffer after the call marks the end of the encoded event. If the event does not fit
+     * into the remaining space, the codec throws {@link BufferOverflowException}, which the relative put
+     * operations of the buffer do, and the journal retries with a new segment.
+     *
+     * @param event  the event to encode.
+     * @param buffer the buffer to write into.
+     * @throws BufferOverflowException if the remaining space of the buffer is not enough.
+     */
+    void encode(E event, ByteBuffer buffer);
+
+    /**
+     * Reads the event from the buffer.
+     * <p>
+     * The buffer is a read-only view of the journal segment, which contains exactly the bytes written by
+     * {@link #encode(Event, ByteBuffer)} between its position and its limit.
+     *
+     * @param buffer the buffer to read from.
+     * @return the decoded event.
+     */
+    E decode(ByteBuffer buffer);
+
+}
@@ -0,0 +1,282 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.event.journal;
+
+import com.devives.commons.event.Event;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * An append-only journal of events, stored in memory-mapped segment files.
+ * <p>
+ * Every appended event gets the next sequence number, starting from zero for a new journal. Events are encoded
+ * by the {@link EventCodec} directly into the mapped segment. When an event does not fit into the current segment,
+ * the segment is flushed and sealed, and a new segment is created. Sealed segments are deleted according to the
+ * retention limits: the maximum number of segments and the maximum age of a sealed segment.
+ * <p>
+ * Opening a journal in a directory that already holds segments continues the sequence after the last committed
+ * record, so the events sent before a restart can be replayed with {@link #replay(long, Consumer)}.
+ * The replay decodes events from read-only views of the mapped segments, without copying the records.
+ * <p>
+ * The class is thread-safe. Appends are serialized, replays run concurrently with appends and read the records
+ * committed when the replay started. The mappings of closed and deleted segments are released by the garbage
+ * collector.
+ * <pre>{@code
+ * EventJournal<OrderEvent> journal = EventJournal.builder(directory, new OrderEventCodec())
+ *     .setSegmentSize(16 * 1024 * 1024)
+ *     .setMaxSegments(8)
+ *     .build();
+ * }</pre>
+ *
+ * @param <E> the type of event.
+ * @see JournalingEventSource
+ * @since 0.9.0
+ */
+public final class EventJournal<E extends Event> implements AutoCloseable {
+
+    private final Path directory_;
+    private final EventCodec<E> codec_;
+    private final int segmentSize_;
+    private final int maxSegments_;
+    private final long maxAgeMillis_;
+    private final Object lock_ = new Object();
+    /**
+     * The segments in sequence order, the last one is the segment to append to.
+     */
+    private final ArrayDeque<JournalSegment> segments_ = new ArrayDeque<>();
+    /**
+     * The files of expired segments which could not be deleted yet.
+     */
+    private final List<Path> pendingDeletes_ = new ArrayList<>();
+    private boolean closed_;
+
+    /**
+     * Opens the journal in the directory, creating the directory and the first segment if necessary.
+     *
+     * @param directory    the directory of segment files.
+     * @param codec        the codec of events.
+     * @param segmentSize  the size of a segment file in bytes.
+     * @param maxSegments  the maximum number of segments to keep.
+     * @param maxAgeMillis the maximum age of a sealed segment in milliseconds.
+     * @throws IOException if the segments can not be opened or created.
+     */
+    EventJournal(Path directory, EventCodec<E> codec, int segmentSize, int maxSegments, long maxAgeMillis) throws IOException {
+        directory_ = Objects.requireNonNull(directory, "directory");
+        codec_ = Objects.requireNonNull(codec, "codec");
+        segmentSize_ = segmentSize;
+        maxSegments_ = maxSegments;
+        maxAgeMillis_ = maxAgeMillis;
+        Files.createDirectories(directory);
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + JournalSegment.FILE_SUFFIX)) {
+            for (Path path : stream) {
+                if (JournalSegment.parseBaseSequence(path) >= 0) {
+                    paths.add(path);
+                }
+            }
+        }
+        paths.sort(null);
+        for (int i = 0; i < paths.size(); i++) {
+            segments_.addLast(JournalSegment.open(paths.get(i), i == paths.size() - 1));
+        }
+        if (segments_.isEmpty()) {
+            segments_.addLast(JournalSegment.create(directory, 0, segmentSize));
+        }
+        applyRetention();
+    }
+
+    /**
+     * Returns a new builder of the journal.
+     *
+     * @param directory the directory of segment files.
+     * @param codec     the codec of events.
+     * @param <E>       the type of event.
+     * @return new instance of builder.
+     */
+    public static <E extends Event> EventJournalBuilder<E> builder(Path directory, EventCodec<E> codec) {
+        return new EventJournalBuilder<>(directory, codec);
+    }
+
+    /**
+     * Appends the event to the journal.
+     *
+     * @param event the event to append.
+     * @return the sequence number of the event.
+     * @throws IllegalArgumentException if the encoded event does not fit into an empty segment.
+     * @throws IllegalStateException    if the journal is closed.
+     * @throws UncheckedIOException     if a new segment can not be created.
+     */
+    public long append(E event) {
+        Objects.requireNonNull(event, "event");
+        synchronized (lock_) {
+            ensureOpen();
+            JournalSegment segment = segments_.getLast();
+            long sequence = segment.getNextSequence();
+            if (segment.append(event, codec_, sequence)) {
+                return sequence;
+            }
+            if (segment.getLimit() > 0) {
+                segment = roll(sequence);
+                if (segment.append(event, codec_, sequence)) {
+                    return sequence;
+                }
+            }
+            throw new IllegalArgumentException(String.format(
+                    "The encoded event does not fit into an empty segment of %s bytes.", segmentSize_));
+        }
+    }
+
+    /**
+     * Passes the events from the specified sequence number to the consumer, in sequence order.
+     * <p>
+     * The replay reads the events committed when it started. Events deleted by the retention are skipped,
+     * the replay starts from {@link #getFirstSequence()} if the specified sequence number is lower.
+     * Exceptions thrown by the consumer or the codec stop the replay and are propagated to the caller.
+     *
+     * @param fromSequence the sequence number of the first event to replay.
+     * @param consumer     the consumer of events.
+     * @return the sequence number following the last replayed event, which continues the replay.
+     * @throws IllegalStateException if the journal is closed.
+     */
+    public long replay(long fromSequence, Consumer<? super E> consumer) {
+        Objects.requireNonNull(consumer, "consumer");
+        JournalSegment[] segments;
+        int[] limits;
+        synchronized (lock_) {
+            ensureOpen();
+            segments = segments_.toArray(new JournalSegment[0]);
+            limits = new int[segments.length];
+            for (int i = 0; i < segments.length; i++) {
+                limits[i] = segments[i].getLimit();
+            }
+        }
+        long sequence = segments[0].getBaseSequence();
+        for (int i = 0; i < segments.length; i++) {
+            if (i + 1 < segments.length && segments[i + 1].getBaseSequence() <= fromSequence) {
+                continue;
+            }
+            sequence = segments[i].read(fromSequence, limits[i], codec_, consumer);
+        }
+        return Math.max(sequence, fromSequence);
+    }
+
+    /**
+     * Returns the sequence number of the first event kept by the journal.
+     *
+     * @return the sequence number of the first event of the oldest segment.
+     */
+    public long getFirstSequence() {
+        synchronized (lock_) {
+            return segments_.getFirst().getBaseSequence();
+        }
+    }
+
+    /**
+     * Returns the sequence number of the next appended event.
+     *
+     * @return the sequence number following the last event.
+     */
+    public long getNextSequence() {
+        synchronized (lock_) {
+            return segments_.getLast().getNextSequence();
+        }
+    }
+
+    /**
+     * Returns the number of segment files.
+     *
+     * @return the number of segments kept by the journal.
+     */
+    public int getSegmentCount() {
+        synchronized (lock_) {
+            return segments_.size();
+        }
+    }
+
+    /**
+     * Flushes the current segment to the storage and closes the journal. Repeated calls have no effect.
+     */
+    @Override
+    public void close() {
+        synchronized (lock_) {
+            if (closed_) {
+                return;
+            }
+            closed_ = true;
+            segments_.getLast().force();
+            deletePending();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed_) {
+            throw new IllegalStateException("The journal is closed.");
+        }
+    }
+
+    private JournalSegment roll(long nextSequence) {
+        segments_.getLast().seal();
+        JournalSegment segment;
+        try {
+            segment = JournalSegment.create(directory_, nextSequence, segmentSize_);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segments_.addLast(segment);
+        applyRetention();
+        return segment;
+    }
+
+    private void applyRetention() {
+        long expiredMillis = System.currentTimeMillis() - maxAgeMillis_;
+        Iterator<JournalSegment> iterator = segments_.iterator();
+        while (segments_.size() > 1 && iterator.hasNext()) {
+            JournalSegment segment = iterator.next();
+            if (segments_.size() <= maxSegments_ && segment.getSealedMillis() >= expiredMillis) {
+                break;
+            }
+            iterator.remove();
+            pendingDeletes_.add(segment.getPath());
+        }
+        deletePending();
+    }
+
+    /**
+     * Deletes the files of expired segments. A file which is still mapped can not be deleted on some platforms,
+     * the deletion is retried on the next roll and on close.
+     */
+    private void deletePending() {
+        pendingDeletes_.removeIf(path -> {
+            try {
+                Files.deleteIfExists(path);
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        });
+    }
+}
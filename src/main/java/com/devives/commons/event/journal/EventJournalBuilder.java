@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.event.journal;
+
+import com.devives.commons.event.Event;
+import com.devives.commons.lang.Validate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event journal builder.
+ *
+ * @param <E> the type of event.
+ * @see EventJournal#builder(Path, EventCodec)
+ * @since 0.9.0
+ */
+public final class EventJournalBuilder<E extends Event> {
+
+    /**
+     * The default size of a segment file in bytes.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private final Path directory_;
+    private final EventCodec<E> codec_;
+    private int segmentSize_ = DEFAULT_SEGMENT_SIZE;
+    private int maxSegments_ = Integer.MAX_VALUE;
+    private long maxAgeMillis_ = Long.MAX_VALUE;
+
+    EventJournalBuilder(Path directory, EventCodec<E> codec) {
+        directory_ = Objects.requireNonNull(directory, "directory");
+        codec_ = Objects.requireNonNull(codec, "codec");
+    }
+
+    /**
+     * Set the size of a segment file.
+     * <p>
+     * A new segment is created when an event does not fit into the current one, so the size limits the size
+     * of an encoded event. {@link #DEFAULT_SEGMENT_SIZE} by default. The size of existing segments is not changed.
+     *
+     * @param segmentSize the size of a segment file in bytes.
+     * @return this builder.
+     */
+    public EventJournalBuilder<E> setSegmentSize(int segmentSize) {
+        segmentSize_ = Validate.greater(segmentSize, JournalSegment.HEADER_SIZE);
+        return this;
+    }
+
+    /**
+     * Set the maximum number of segment files, including the current one.
+     * <p>
+     * The oldest segments above the limit are deleted when a new segment is created. Unlimited by default.
+     *
+     * @param maxSegments the maximum number of segments.
+     * @return this builder.
+     */
+    public EventJournalBuilder<E> setMaxSegments(int maxSegments) {
+        maxSegments_ = Validate.greater(maxSegments, 0);
+        return this;
+    }
+
+    /**
+     * Set the maximum age of a sealed segment.
+     * <p>
+     * Segments sealed earlier than the age are deleted when the journal is opened and when a new segment is created,
+     * the current segment is never deleted. The age of the segments sealed before the journal was opened is
+     * the time of the last modification of the file. Unlimited by default.
+     *
+     * @param maxAge the maximum age.
+     * @param unit   the time unit of the age.
+     * @return this builder.
+     */
+    public EventJournalBuilder<E> setMaxAge(long maxAge, TimeUnit unit) {
+        Objects.requireNonNull(unit, "unit");
+        if (maxAge <= 0) {
+            throw new IllegalArgumentException(String.format(Validate.DEFAULT_GREATER_MESSAGE, "maxAge", 0, maxAge));
+        }
+        maxAgeMillis_ = unit.toMillis(maxAge);
+        return this;
+    }
+
+    /**
+     * Opens the {@link EventJournal} in the directory.
+     *
+     * @return new {@link EventJournal} instance.
+     * @throws UncheckedIOException if the segment files can not be opened or created.
+     */
+    public EventJournal<E> build() {
+        try {
+            return new EventJournal<>(directory_, codec_, segmentSize_, maxSegments_, maxAgeMillis_);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
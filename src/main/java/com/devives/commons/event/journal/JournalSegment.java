@@ -0,0 +1,264 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.event.journal;
+
+import com.devives.commons.event.Event;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * A segment file of {@link EventJournal}, mapped into memory.
+ * <p>
+ * The segment holds consecutive records, starting with the sequence number in the name of the file.
+ * Each record consists of the record length (an {@code int}, including the header), the sequence number
+ * (a {@code long}) and the encoded event. A zero length marks the end of the records: the bytes following
+ * the last record are zeroed before the record is committed by writing its length, so a record which failed
+ * to encode or was not committed before a crash is never read.
+ * <p>
+ * The class is not thread-safe, the journal guards it with its lock.
+ */
+final class JournalSegment {
+
+    /**
+     * The size of the record header.
+     */
+    static final int HEADER_SIZE = Integer.BYTES + Long.BYTES;
+
+    /**
+     * The extension of segment files.
+     */
+    static final String FILE_SUFFIX = ".journal";
+
+    private final Path path_;
+    private final long baseSequence_;
+    private final MappedByteBuffer buffer_;
+    private final ByteBuffer writer_;
+    private int limit_;
+    private long nextSequence_;
+    private long sealedMillis_;
+
+    private JournalSegment(Path path, long baseSequence, MappedByteBuffer buffer) {
+        path_ = path;
+        baseSequence_ = baseSequence;
+        buffer_ = buffer;
+        writer_ = buffer.duplicate();
+        nextSequence_ = baseSequence;
+    }
+
+    /**
+     * Creates a new segment file of the specified size.
+     *
+     * @param directory    the journal directory.
+     * @param baseSequence the sequence number of the first record.
+     * @param size         the size of the file in bytes.
+     * @return the new segment.
+     * @throws IOException if the file exists or can not be created.
+     */
+    static JournalSegment create(Path directory, long baseSequence, int size) throws IOException {
+        Path path = directory.resolve(getFileName(baseSequence));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new JournalSegment(path, baseSequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+
+    /**
+     * Maps an existing segment file and finds the end of its records.
+     * <p>
+     * The scan stops at the first record which is not committed or whose header is inconsistent,
+     * the following bytes are overwritten by the next append.
+     *
+     * @param path     the segment file.
+     * @param writable if {@code true}, the file is mapped for appending.
+     * @return the segment.
+     * @throws IOException if the file can not be mapped.
+     */
+    static JournalSegment open(Path path, boolean writable) throws IOException {
+        long baseSequence = parseBaseSequence(path);
+        JournalSegment segment;
+        try (FileChannel channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ)) {
+            segment = new JournalSegment(path, baseSequence, channel.map(writable
+                    ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+        segment.scan();
+        if (!writable) {
+            segment.sealedMillis_ = Files.getLastModifiedTime(path).toMillis();
+        }
+        return segment;
+    }
+
+    /**
+     * Returns the name of the segment file starting with the sequence number, which sorts in sequence order.
+     *
+     * @param baseSequence the sequence number of the first record.
+     * @return the file name.
+     */
+    static String getFileName(long baseSequence) {
+        return String.format("%020d%s", baseSequence, FILE_SUFFIX);
+    }
+
+    /**
+     * Returns the sequence number of the first record of the segment file.
+     *
+     * @param path the segment file.
+     * @return the sequence number, or {@code -1} if the path is not a segment file.
+     */
+    static long parseBaseSequence(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.endsWith(FILE_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(0, name.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    Path getPath() {
+        return path_;
+    }
+
+    long getBaseSequence() {
+        return baseSequence_;
+    }
+
+    long getNextSequence() {
+        return nextSequence_;
+    }
+
+    /**
+     * Returns the end of the committed records.
+     *
+     * @return the offset following the last record.
+     */
+    int getLimit() {
+        return limit_;
+    }
+
+    /**
+     * Returns the time the segment was sealed.
+     *
+     * @return the time in milliseconds, or zero if the segment is not sealed.
+     */
+    long getSealedMillis() {
+        return sealedMillis_;
+    }
+
+    /**
+     * Appends the record of the event.
+     *
+     * @param event    the event.
+     * @param codec    the codec.
+     * @param sequence the sequence number of the record.
+     * @param <E>      the type of event.
+     * @return {@code true} if the record is appended, {@code false} if it does not fit into the segment.
+     */
+    <E extends Event> boolean append(E event, EventCodec<E> codec, long sequence) {
+        int start = limit_;
+        int capacity = buffer_.capacity();
+        if (capacity - start < HEADER_SIZE) {
+            return false;
+        }
+        writer_.limit(capacity);
+        writer_.position(start + HEADER_SIZE);
+        try {
+            codec.encode(event, writer_);
+        } catch (BufferOverflowException e) {
+            return false;
+        }
+        int end = writer_.position();
+        if (capacity - end >= Integer.BYTES) {
+            buffer_.putInt(end, 0);
+        }
+        buffer_.putLong(start + Integer.BYTES, sequence);
+        buffer_.putInt(start, end - start);
+        limit_ = end;
+        nextSequence_ = sequence + 1;
+        return true;
+    }
+
+    /**
+     * Reads the records from the specified sequence number up to the specified offset.
+     *
+     * @param fromSequence the sequence number of the first record to read.
+     * @param limit        the end of the records to read, as returned by {@link #getLimit()}.
+     * @param codec        the codec.
+     * @param consumer     the consumer of events.
+     * @param <E>          the type of event.
+     * @return the sequence number following the last record read.
+     */
+    <E extends Event> long read(long fromSequence, int limit, EventCodec<E> codec, Consumer<? super E> consumer) {
+        ByteBuffer reader = buffer_.asReadOnlyBuffer();
+        int position = 0;
+        long sequence = baseSequence_;
+        while (position < limit) {
+            int length = reader.getInt(position);
+            if (sequence >= fromSequence) {
+                reader.limit(position + length);
+                reader.position(position + HEADER_SIZE);
+                consumer.accept(codec.decode(reader));
+                reader.limit(reader.capacity());
+            }
+            position += length;
+            sequence++;
+        }
+        return sequence;
+    }
+
+    /**
+     * Flushes the segment to the storage and marks it as sealed, no more records are appended to it.
+     */
+    void seal() {
+        buffer_.force();
+        sealedMillis_ = System.currentTimeMillis();
+    }
+
+    /**
+     * Flushes the records to the storage.
+     */
+    void force() {
+        buffer_.force();
+    }
+
+    private void scan() {
+        int capacity = buffer_.capacity();
+        int position = 0;
+        long sequence = baseSequence_;
+        while (capacity - position >= HEADER_SIZE) {
+            int length = buffer_.getInt(position);
+            if (length < HEADER_SIZE || length > capacity - position
+                    || buffer_.getLong(position + Integer.BYTES) != sequence) {
+                break;
+            }
+            position += length;
+            sequence++;
+        }
+        limit_ = position;
+        nextSequence_ = sequence;
+    }
+}
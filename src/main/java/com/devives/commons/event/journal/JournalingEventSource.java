@@ -0,0 +1,181 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.event.journal;
+
+import com.devives.commons.event.Event;
+import com.devives.commons.event.EventListener;
+import com.devives.commons.event.EventSource;
+import com.devives.commons.listener.Listeners;
+import com.devives.commons.listener.Subscription;
+
+import java.util.Objects;
+
+/**
+ * An event source which appends every sent event to an {@link EventJournal} before sending it
+ * with the decorated event source.
+ * <p>
+ * The journal lets listeners catch up with the events sent before they registered, and lets the application
+ * rebuild its in-memory state after a restart by replaying the journal to the listeners, instead of querying
+ * the upstream systems again:
+ * <pre>{@code
+ * JournalingEventSource<OrderEvent> eventSource = new JournalingEventSource<>(EventSources.<OrderEvent>builder().build(),
+ *     EventJournal.builder(directory, new OrderEventCodec()).build());
+ * eventSource.getListeners().add(orderBook);
+ * eventSource.replay(0);
+ * }</pre>
+ * Sending is serialized, and the event is sent with the decorated event source while the lock is held, so the order
+ * of delivery matches the order of the journal. Listeners may send events on the same thread, but must not wait
+ * for other threads which send events to the source.
+ *
+ * @param <E> the type of event.
+ * @see EventJournal
+ * @since 0.9.0
+ */
+public final class JournalingEventSource<E extends Event> implements EventSource<E>, AutoCloseable {
+
+    private final EventSource<E> eventSource_;
+    private final EventJournal<E> journal_;
+    private final Object lock_ = new Object();
+
+    /**
+     * Constructs a new JournalingEventSource.
+     *
+     * @param eventSource the decorated event source.
+     * @param journal     the journal, closed with the event source.
+     */
+    public JournalingEventSource(EventSource<E> eventSource, EventJournal<E> journal) {
+        eventSource_ = Objects.requireNonNull(eventSource, "eventSource");
+        journal_ = Objects.requireNonNull(journal, "journal");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Listeners<EventListener<E>> getListeners() {
+        return eventSource_.getListeners();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The event is appended to the journal first. If the journal fails, the event is not sent.
+     *
+     * @throws IllegalStateException if the journal is closed.
+     */
+    @Override
+    public void send(E event) {
+        Objects.requireNonNull(event, "event");
+        synchronized (lock_) {
+            journal_.append(event);
+            eventSource_.send(event);
+        }
+    }
+
+    /**
+     * Sends the journaled events from the specified sequence number with the decorated event source,
+     * without appending them to the journal again.
+     * <p>
+     * Used to rebuild the state of the registered listeners after a restart. Events sent concurrently are
+     * delivered after the replay.
+     *
+     * @param fromSequence the sequence number of the first event to replay.
+     * @return the sequence number following the last replayed event.
+     * @see EventJournal#replay(long, java.util.function.Consumer)
+     */
+    public long replay(long fromSequence) {
+        synchronized (lock_) {
+            return journal_.replay(fromSequence, eventSource_::send);
+        }
+    }
+
+    /**
+     * Passes the journaled events from the specified sequence number to the listener only.
+     * <p>
+     * The replay does not block sending, and reads the events journaled when it started.
+     *
+     * @param fromSequence the sequence number of the first event to replay.
+     * @param listener     the listener.
+     * @return the sequence number following the last replayed event.
+     * @see EventJournal#replay(long, java.util.function.Consumer)
+     */
+    public long replay(long fromSequence, EventListener<E> listener) {
+        Objects.requireNonNull(listener, "listener");
+        return journal_.replay(fromSequence, listener::handleEvent);
+    }
+
+    /**
+     * Passes the journaled events from the specified sequence number to the listener, then registers the listener.
+     * <p>
+     * Most of the events are replayed without blocking senders, the events sent meanwhile are replayed while
+     * sending is blocked, and the listener is registered before sending resumes. So the listener receives every
+     * event from the sequence number once and in order, provided the decorated event source delivers events
+     * on the sending thread.
+     *
+     * @param listener     the listener.
+     * @param fromSequence the sequence number of the first event to replay.
+     * @return the handle of the registration.
+     * @throws IllegalStateException if the retention of the journal deleted events, which the listener did not
+     *                               receive yet, before or during the replay. The listener is not registered.
+     */
+    public Subscription subscribe(EventListener<E> listener, long fromSequence) {
+        Objects.requireNonNull(listener, "listener");
+        long firstSequence = journal_.getFirstSequence();
+        if (fromSequence < firstSequence) {
+            throw deleted(fromSequence, firstSequence);
+        }
+        long[] replayed = new long[1];
+        long sequence = journal_.replay(fromSequence, event -> {
+            replayed[0]++;
+            listener.handleEvent(event);
+        });
+        if (replayed[0] < sequence - fromSequence) {
+            // The retention deleted the first events after the check, so the replay started from a later sequence.
+            throw deleted(fromSequence, sequence - replayed[0]);
+        }
+        synchronized (lock_) {
+            firstSequence = journal_.getFirstSequence();
+            if (sequence < firstSequence) {
+                throw deleted(sequence, firstSequence);
+            }
+            journal_.replay(sequence, listener::handleEvent);
+            return eventSource_.getListeners().subscribe(listener);
+        }
+    }
+
+    private static IllegalStateException deleted(long fromSequence, long toSequence) {
+        return new IllegalStateException("The events from " + fromSequence + " to " + (toSequence - 1)
+                + " were deleted by the retention of the journal.");
+    }
+
+    /**
+     * Returns the journal of the event source.
+     *
+     * @return the journal.
+     */
+    public EventJournal<E> getJournal() {
+        return journal_;
+    }
+
+    /**
+     * Closes the journal. Sending events after the call throws {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        journal_.close();
+    }
+}
@@ -150,6 +150,19 @@ public final class ExceptionUtils {
         }
     }
 
+    /**
+     * Passes the exception to the uncaught exception handler of the current thread, so the thread keeps running.
+     * <p>
+     * Used by tasks running on executor threads, which have no caller to throw the exception to.
+     *
+     * @param throwable the exception.
+     * @since 0.9.0
+     */
+    public static void handleUncaught(Throwable throwable) {
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+    }
+
     static private final String DEFAULT_AGGREGATE_EXCEPTION_MESSAGE = "The group of Exceptions was thrown";
 
     /**
@@ -16,10 +16,14 @@
  */
 package com.devives.commons.listener;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
 /**
- * The class caches the listener array when calling {@link CachedListeners#toArray()} to avoid frequent
- * conversion of the listener collection to an array. The cache is reset when calling the {@link #add},
- * {@link #remove} or {@link #clear} methods.
+ * The class caches the listener array when calling {@link CachedListeners#toArray()} or {@link #snapshot()}
+ * to avoid frequent conversion of the listener collection to an array. The cache is reset when calling the {@link #add},
+ * {@link #remove} or {@link #clear} methods, or when closing a {@link Subscription}.
  *
  * @param <I> the type of listener.
  *
@@ -30,7 +34,7 @@ public final class CachedListeners<I> extends ListenersWrapper<I> {
     /**
      * Синхронизация обеспечивается декоратором {@link SynchronizedListeners}.
      */
-    private Object[] array_;
+    private ListenersSnapshot<I> snapshot_;
 
     public CachedListeners(Listeners<I> listeners) {
         super(listeners);
@@ -41,16 +45,25 @@ public final class CachedListeners<I> extends ListenersWrapper<I> {
      */
     @Override
     public void add(I item) {
-        array_ = null;
+        snapshot_ = null;
         listeners_.add(item);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void addWithPriority(I item, int priority) {
+        snapshot_ = null;
+        super.addWithPriority(item, priority);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void addFirst(I item) {
-        array_ = null;
+        snapshot_ = null;
         listeners_.addFirst(item);
     }
 
@@ -59,7 +72,7 @@ public final class CachedListeners<I> extends ListenersWrapper<I> {
      */
     @Override
     public void addBefore(I item, I prior) {
-        array_ = null;
+        snapshot_ = null;
         listeners_.addBefore(item, prior);
     }
 
@@ -68,10 +81,45 @@ public final class CachedListeners<I> extends ListenersWrapper<I> {
      */
     @Override
     public void addAfter(I item, I next) {
-        array_ = null;
+        snapshot_ = null;
         listeners_.addAfter(item, next);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addAll(Collection<? extends I> items) {
+        snapshot_ = null;
+        listeners_.addAll(items);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Subscription subscribe(I item) {
+        snapshot_ = null;
+        Subscription subscription = listeners_.subscribe(item);
+        return () -> {
+            snapshot_ = null;
+            subscription.close();
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    Subscription subscribeWithPriority(I item, int priority) {
+        snapshot_ = null;
+        Subscription subscription = super.subscribeWithPriority(item, priority);
+        return () -> {
+            snapshot_ = null;
+            subscription.close();
+        };
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -85,16 +133,40 @@ public final class CachedListeners<I> extends ListenersWrapper<I> {
      */
     @Override
     public void remove(I item) {
-        array_ = null;
+        snapshot_ = null;
         listeners_.remove(item);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeAll(Collection<? extends I> items) {
+        snapshot_ = null;
+        listeners_.removeAll(items);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The action modifies the decorated collection directly, the cache is reset once after the batch.
+     */
+    @Override
+    public void batch(Consumer<? super Listeners<I>> action) {
+        snapshot_ = null;
+        try {
+            listeners_.batch(action);
+        } finally {
+            snapshot_ = null;
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void clear() {
-        array_ = null;
+        snapshot_ = null;
         listeners_.clear();
     }
 
@@ -113,10 +185,26 @@ public final class CachedListeners<I> extends ListenersWrapper<I> {
      */
     @Override
     public Object[] toArray() {
-        if (array_ == null) {
-            array_ = listeners_.toArray();
+        return getSnapshot().array();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return new or cached snapshot instance.
+     */
+    @Override
+    public List<I> snapshot() {
+        return getSnapshot();
+    }
+
+    private ListenersSnapshot<I> getSnapshot() {
+        ListenersSnapshot<I> snapshot = snapshot_;
+        if (snapshot == null) {
+            snapshot = new ListenersSnapshot<>(listeners_.toArray());
+            snapshot_ = snapshot;
         }
-        return array_;
+        return snapshot;
     }
 
 }
@@ -0,0 +1,512 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.listener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe copy-on-write collection of listeners.
+ * <p>
+ * The listeners are kept in an immutable snapshot array referenced by a volatile field. Read operations
+ * ({@link #toArray()}, {@link #size()}, {@link #contains(Object)}) never lock and never copy: {@link #toArray()}
+ * returns the current snapshot itself. Mutations build a new snapshot and install it with a compare-and-set,
+ * retrying if another thread has changed the collection in the meantime.
+ * <p>
+ * The class is intended for collections that are read (published to) much more often than modified.
+ * There is no need to decorate it with {@link CachedListeners} or {@link SynchronizedListeners}.
+ * <p>
+ * If the collection is created as distinct, the snapshot also carries a hash index of the listeners, which is used
+ * for duplicate detection and for {@link #contains(Object)}.
+ * <p>
+ * The modification version is stored in the snapshot, so {@link #getVersion()} is a single volatile read.
+ * The snapshot also carries a log of the last removals, so {@link #isRemovedSince(Object, long)} does not search
+ * the listeners unless the listener may have been removed.
+ *
+ * @param <I> the type of listener.
+ * @see ListenersBuilder#setConcurrent()
+ * @since 0.9.0
+ */
+public final class ConcurrentListeners<I> implements Listeners<I> {
+
+    private static final Object[] EMPTY_ARRAY = new Object[0];
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ConcurrentListeners, Snapshot> SNAPSHOT_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(ConcurrentListeners.class, Snapshot.class, "snapshot_");
+
+    private final boolean distinct_;
+    private final boolean identity_;
+    private volatile Snapshot snapshot_;
+
+    /**
+     * Constructs a new empty ConcurrentListeners, which allows duplicates.
+     */
+    public ConcurrentListeners() {
+        this(Collections.emptyList(), false);
+    }
+
+    /**
+     * Constructs a new ConcurrentListeners with the specified initial listeners.
+     *
+     * @param listeners the initial listeners.
+     * @param distinct  if {@code true}, duplicate registrations are rejected.
+     * @throws DuplicateRegistrationException if {@code distinct} is {@code true} and {@code listeners} contains duplicates.
+     */
+    public ConcurrentListeners(Collection<? extends I> listeners, boolean distinct) {
+        this(listeners, distinct, false);
+    }
+
+    /**
+     * Constructs a new ConcurrentListeners with the specified initial listeners and comparison mode.
+     *
+     * @param listeners the initial listeners.
+     * @param distinct  if {@code true}, duplicate registrations are rejected.
+     * @param identity  if {@code true}, listeners are compared by identity instead of {@link Object#equals(Object)}.
+     * @throws DuplicateRegistrationException if {@code distinct} is {@code true} and {@code listeners} contains duplicates.
+     */
+    public ConcurrentListeners(Collection<? extends I> listeners, boolean distinct, boolean identity) {
+        Objects.requireNonNull(listeners, "listeners");
+        distinct_ = distinct;
+        identity_ = identity;
+        Object[] array = listeners.isEmpty() ? EMPTY_ARRAY : listeners.toArray();
+        for (Object listener : array) {
+            Objects.requireNonNull(listener, "listener");
+        }
+        Set<Object> index = null;
+        if (distinct) {
+            index = newIndex(identity, Collections.emptyList());
+            for (Object listener : array) {
+                if (!index.add(listener)) {
+                    throw new DuplicateRegistrationException("Duplicate event listener registration.");
+                }
+            }
+        }
+        snapshot_ = new Snapshot(array, index, identity, 0L, new RemovalLog());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws DuplicateRegistrationException if the collection is distinct and {@code item} was already added.
+     */
+    @Override
+    public void add(I item) {
+        Objects.requireNonNull(item, "item");
+        Snapshot current;
+        do {
+            current = snapshot_;
+            checkDuplicate(current, item);
+        } while (!compareAndSet(current, current.insert(current.array.length, item)));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * All listeners are added with a single atomic update.
+     *
+     * @throws DuplicateRegistrationException if the collection is distinct and one of {@code items} was already added
+     *                                        or {@code items} contains duplicates.
+     */
+    @Override
+    public void addAll(Collection<? extends I> items) {
+        Objects.requireNonNull(items, "items");
+        Object[] itemArray = items.toArray();
+        for (Object item : itemArray) {
+            Objects.requireNonNull(item, "item");
+        }
+        Snapshot current;
+        do {
+            current = snapshot_;
+        } while (!compareAndSet(current, current.append(itemArray)));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws DuplicateRegistrationException if the collection is distinct and {@code item} was already added.
+     */
+    @Override
+    public void addFirst(I item) {
+        Objects.requireNonNull(item, "item");
+        Snapshot current;
+        do {
+            current = snapshot_;
+            checkDuplicate(current, item);
+        } while (!compareAndSet(current, current.insert(0, item)));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws DuplicateRegistrationException if the collection is distinct and {@code item} was already added.
+     */
+    @Override
+    public void addBefore(I item, I prior) {
+        Objects.requireNonNull(item, "item");
+        Objects.requireNonNull(prior, "prior");
+        Snapshot current;
+        int priorIndex;
+        do {
+            current = snapshot_;
+            checkDuplicate(current, item);
+            priorIndex = current.indexOf(prior);
+            if (priorIndex < 0) {
+                throw new IndexOutOfBoundsException(String.valueOf(priorIndex));
+            }
+        } while (!compareAndSet(current, current.insert(priorIndex, item)));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws DuplicateRegistrationException if the collection is distinct and {@code item} was already added.
+     */
+    @Override
+    public void addAfter(I item, I next) {
+        Objects.requireNonNull(item, "item");
+        Objects.requireNonNull(next, "next");
+        Snapshot current;
+        int nextIndex;
+        do {
+            current = snapshot_;
+            checkDuplicate(current, item);
+            nextIndex = current.indexOf(next);
+            if (nextIndex < 0) {
+                throw new IndexOutOfBoundsException(String.valueOf(nextIndex));
+            }
+        } while (!compareAndSet(current, current.insert(nextIndex + 1, item)));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Closing the handle removes the registered instance found by identity in linear time, without calling
+     * {@link Object#equals}. If the same instance is registered several times, its first registration is removed.
+     *
+     * @throws DuplicateRegistrationException if the collection is distinct and {@code item} was already added.
+     */
+    @Override
+    public Subscription subscribe(I item) {
+        add(item);
+        return new OnceSubscription(() -> {
+            Snapshot current;
+            int index;
+            do {
+                current = snapshot_;
+                index = current.identityIndexOf(item);
+                if (index < 0) {
+                    return;
+                }
+            } while (!compareAndSet(current, current.delete(index)));
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(I item) {
+        Objects.requireNonNull(item, "item");
+        return snapshot_.contains(item);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void remove(I item) {
+        Objects.requireNonNull(item, "item");
+        Snapshot current;
+        int index;
+        do {
+            current = snapshot_;
+            index = current.indexOf(item);
+            if (index < 0) {
+                return;
+            }
+        } while (!compareAndSet(current, current.delete(index)));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * All listeners are removed with a single atomic update.
+     */
+    @Override
+    public void removeAll(Collection<? extends I> items) {
+        Objects.requireNonNull(items, "items");
+        Object[] itemArray = items.toArray();
+        Snapshot current;
+        Snapshot update;
+        do {
+            current = snapshot_;
+            update = current.deleteAll(itemArray);
+            if (update == current) {
+                return;
+            }
+        } while (!compareAndSet(current, update));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The action modifies a private copy of the current snapshot, which is installed with a single atomic
+     * update. If another thread modifies the collection in the meantime, the copy is discarded and the action
+     * is invoked again, so the action must not have side effects other than modifications of the passed collection.
+     * Subscriptions must not be obtained from the passed collection.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void batch(Consumer<? super Listeners<I>> action) {
+        Objects.requireNonNull(action, "action");
+        Snapshot current;
+        Snapshot update;
+        do {
+            current = snapshot_;
+            List<I> list = new ArrayList<>((List<I>) Arrays.asList(current.array));
+            Listeners<I> staging = new ListenersStore<>(list, identity_);
+            if (distinct_) {
+                staging = new IndexedListeners<>(staging, identity_);
+            }
+            action.accept(staging);
+            // The removals made by the action are not known, so the log can not answer for the earlier versions.
+            RemovalLog removals = current.removals.copy();
+            removals.clear(current.version + 1);
+            update = new Snapshot(list.isEmpty() ? EMPTY_ARRAY : list.toArray(),
+                    distinct_ ? newIndex(identity_, list) : null, identity_, current.version + 1, removals);
+        } while (!compareAndSet(current, update));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        Snapshot current;
+        do {
+            current = snapshot_;
+        } while (!compareAndSet(current, current.empty()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return snapshot_.array.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the current snapshot array. The array is shared and must not be modified.
+     */
+    @Override
+    public Object[] toArray() {
+        return snapshot_.array;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the current snapshot.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<I> snapshot() {
+        return (List<I>) snapshot_.view;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getVersion() {
+        return snapshot_.version;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The listener is searched only if the removal log of the current snapshot does not exclude its removal.
+     */
+    @Override
+    public boolean isRemovedSince(I item, long version) {
+        Objects.requireNonNull(item, "item");
+        Snapshot current = snapshot_;
+        return current.removals.mayBeRemovedSince(item, version) && !current.contains(item);
+    }
+
+    private boolean compareAndSet(Snapshot expected, Snapshot update) {
+        return SNAPSHOT_UPDATER.compareAndSet(this, expected, update);
+    }
+
+    private static Set<Object> newIndex(boolean identity, Collection<?> listeners) {
+        Set<Object> index = identity ? Collections.newSetFromMap(new IdentityHashMap<>()) : new HashSet<>();
+        index.addAll(listeners);
+        return index;
+    }
+
+    private static void checkDuplicate(Snapshot snapshot, Object item) {
+        if (snapshot.index != null && snapshot.index.contains(item)) {
+            throw new DuplicateRegistrationException("Duplicate event listener registration.");
+        }
+    }
+
+    /**
+     * Immutable state of the collection.
+     */
+    private static final class Snapshot {
+        private final Object[] array;
+        private final Set<Object> index;
+        private final ListenersSnapshot<Object> view;
+        private final boolean identity;
+        private final long version;
+        /**
+         * The removals up to this snapshot, the log is not modified after the snapshot is created.
+         */
+        private final RemovalLog removals;
+
+        private Snapshot(Object[] array, Set<Object> index, boolean identity, long version, RemovalLog removals) {
+            this.array = array;
+            this.index = index;
+            this.identity = identity;
+            this.version = version;
+            this.removals = removals;
+            this.view = new ListenersSnapshot<>(array);
+        }
+
+        private boolean contains(Object item) {
+            return index != null ? index.contains(item) : indexOf(item) >= 0;
+        }
+
+        private int indexOf(Object item) {
+            if (identity) {
+                return identityIndexOf(item);
+            }
+            for (int i = 0; i < array.length; i++) {
+                if (item.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int identityIndexOf(Object item) {
+            for (int i = 0; i < array.length; i++) {
+                if (item == array[i]) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private Snapshot insert(int position, Object item) {
+            Object[] newArray = new Object[array.length + 1];
+            System.arraycopy(array, 0, newArray, 0, position);
+            newArray[position] = item;
+            System.arraycopy(array, position, newArray, position + 1, array.length - position);
+            Set<Object> newIndex = null;
+            if (index != null) {
+                newIndex = newIndex(identity, index);
+                newIndex.add(item);
+            }
+            return new Snapshot(newArray, newIndex, identity, version + 1, removals);
+        }
+
+        private Snapshot append(Object[] items) {
+            if (items.length == 0) {
+                return this;
+            }
+            Object[] newArray = Arrays.copyOf(array, array.length + items.length);
+            System.arraycopy(items, 0, newArray, array.length, items.length);
+            Set<Object> newIndex = null;
+            if (index != null) {
+                newIndex = newIndex(identity, index);
+                for (Object item : items) {
+                    if (!newIndex.add(item)) {
+                        throw new DuplicateRegistrationException("Duplicate event listener registration.");
+                    }
+                }
+            }
+            return new Snapshot(newArray, newIndex, identity, version + 1, removals);
+        }
+
+        private Snapshot deleteAll(Object[] items) {
+            List<Object> list = new ArrayList<>(Arrays.asList(array));
+            RemovalLog newRemovals = null;
+            for (Object item : items) {
+                int position = identity ? identityIndexOf(list, item) : list.indexOf(item);
+                if (position >= 0) {
+                    if (newRemovals == null) {
+                        newRemovals = removals.copy();
+                    }
+                    newRemovals.add(list.remove(position), version + 1);
+                }
+            }
+            if (newRemovals == null) {
+                return this;
+            }
+            return new Snapshot(list.isEmpty() ? EMPTY_ARRAY : list.toArray(),
+                    index != null ? newIndex(identity, list) : null, identity, version + 1, newRemovals);
+        }
+
+        private static int identityIndexOf(List<Object> list, Object item) {
+            for (int i = 0, size = list.size(); i < size; i++) {
+                if (list.get(i) == item) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private Snapshot empty() {
+            RemovalLog newRemovals = removals.copy();
+            newRemovals.clear(version + 1);
+            return new Snapshot(EMPTY_ARRAY, index != null ? Collections.emptySet() : null, identity, version + 1,
+                    newRemovals);
+        }
+
+        private Snapshot delete(int position) {
+            RemovalLog newRemovals = removals.copy();
+            newRemovals.add(array[position], version + 1);
+            if (array.length == 1) {
+                return new Snapshot(EMPTY_ARRAY, index != null ? Collections.emptySet() : null, identity, version + 1,
+                        newRemovals);
+            }
+            Object[] newArray = new Object[array.length - 1];
+            System.arraycopy(array, 0, newArray, 0, position);
+            System.arraycopy(array, position + 1, newArray, position, array.length - position - 1);
+            Set<Object> newIndex = null;
+            if (index != null) {
+                newIndex = newIndex(identity, index);
+                newIndex.remove(array[position]);
+            }
+            return new Snapshot(newArray, newIndex, identity, version + 1, newRemovals);
+        }
+    }
+}
@@ -16,7 +16,9 @@
  */
 package com.devives.commons.listener;
 
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -39,8 +41,22 @@ final class DistinctListeners<I> extends ListenersWrapper<I> {
      * @throws DuplicateRegistrationException if collection {@code listeners} contains duplicates.
      */
     public DistinctListeners(Listeners<I> listeners) {
+        this(listeners, false);
+    }
+
+    /**
+     * Constructs a new DistinctListeners with the specified listeners and comparison mode.
+     * <p>
+     * The mode is only used to check the initial listeners, later checks rely on {@link Listeners#contains(Object)}
+     * of the wrapped collection.
+     *
+     * @param listeners the collection of listeners.
+     * @param identity  if {@code true}, the initial listeners are compared by identity.
+     * @throws DuplicateRegistrationException if collection {@code listeners} contains duplicates.
+     */
+    public DistinctListeners(Listeners<I> listeners, boolean identity) {
         super(listeners);
-        final Set<I> set = new HashSet<I>();
+        final Set<I> set = identity ? Collections.newSetFromMap(new IdentityHashMap<>()) : new HashSet<I>();
         Stream.of(listeners.toArray())
                 .map(listener -> (I) listener)
                 .forEach(listener -> {
@@ -62,6 +78,20 @@ final class DistinctListeners<I> extends ListenersWrapper<I> {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @throws DuplicateRegistrationException if {@code item} was already added.
+     */
+    @Override
+    void addWithPriority(I item, int priority) {
+        if (!contains(item)) {
+            super.addWithPriority(item, priority);
+        } else {
+            throw new DuplicateRegistrationException("Duplicate event listener registration.");
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -104,6 +134,34 @@ final class DistinctListeners<I> extends ListenersWrapper<I> {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @throws DuplicateRegistrationException if {@code item} was already added.
+     */
+    @Override
+    public Subscription subscribe(I item) {
+        if (!contains(item)) {
+            return listeners_.subscribe(item);
+        } else {
+            throw new DuplicateRegistrationException("Duplicate event listener registration.");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws DuplicateRegistrationException if {@code item} was already added.
+     */
+    @Override
+    Subscription subscribeWithPriority(I item, int priority) {
+        if (!contains(item)) {
+            return super.subscribeWithPriority(item, priority);
+        } else {
+            throw new DuplicateRegistrationException("Duplicate event listener registration.");
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
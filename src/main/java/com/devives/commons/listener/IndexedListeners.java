@@ -16,15 +16,20 @@
  */
 package com.devives.commons.listener;
 
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.stream.Stream;
 
 /**
  * This class ensures the uniqueness of listeners added to the collection and their indexing,
  * to speed up the {@link #contains(Object)} check. It serves as an alternative to {@link DistinctListeners}
  * when dealing with a large number of listeners.
+ * <p>
+ * Since the collection holds no duplicates, closing a handle returned by {@link #subscribe(Object)} removes
+ * the listener from the index in constant time, without calling {@link Object#equals(Object)} and without searching
+ * the wrapped collection for the listener.
  *
  * @param <I> the type of listener.
  *
@@ -32,7 +37,15 @@ import java.util.stream.Stream;
  */
 public final class IndexedListeners<I> extends ListenersWrapper<I> {
 
-    private final Set<I> set_ = new HashSet<>();
+    /**
+     * The value of listeners registered without a handle.
+     */
+    private static final Object REGISTERED = new Object();
+
+    /**
+     * The registered listeners, mapped to the token of the handle which registered them.
+     */
+    private final Map<I, Object> index_;
 
     /**
      * Constructs a new IndexedListeners with the specified listeners.
@@ -40,11 +53,27 @@ public final class IndexedListeners<I> extends ListenersWrapper<I> {
      * @param listeners the collection of listeners.
      */
     public IndexedListeners(Listeners<I> listeners) {
+        this(listeners, false);
+    }
+
+    /**
+     * Constructs a new IndexedListeners with the specified listeners and index mode.
+     * <p>
+     * The identity index uses {@link System#identityHashCode(Object)} and reference comparison instead of
+     * {@link Object#hashCode()} and {@link Object#equals(Object)}. The wrapped collection should compare listeners
+     * by identity as well, otherwise {@link #remove(Object)} may remove an equal listener instead of the same one.
+     *
+     * @param listeners the collection of listeners.
+     * @param identity  if {@code true}, the index compares listeners by identity.
+     * @since 0.9.0
+     */
+    public IndexedListeners(Listeners<I> listeners, boolean identity) {
         super(listeners);
+        index_ = identity ? new IdentityHashMap<>() : new HashMap<>();
         Stream.of(listeners.toArray())
                 .map(listener -> (I) listener)
                 .forEach(listener -> {
-                    if (!set_.add(listener)) {
+                    if (index_.putIfAbsent(listener, REGISTERED) != null) {
                         throw new DuplicateRegistrationException("Duplicate event listener registration.");
                     }
                 });
@@ -56,20 +85,38 @@ public final class IndexedListeners<I> extends ListenersWrapper<I> {
     @Override
     public void add(I item) {
         Objects.requireNonNull(item, "item");
-        if (set_.add(item)) {
+        if (index_.putIfAbsent(item, REGISTERED) == null) {
             listeners_.add(item);
         } else {
             throw new DuplicateRegistrationException("Duplicate event listener registration.");
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void addWithPriority(I item, int priority) {
+        Objects.requireNonNull(item, "item");
+        if (index_.putIfAbsent(item, REGISTERED) == null) {
+            try {
+                super.addWithPriority(item, priority);
+            } catch (RuntimeException e) {
+                index_.remove(item);
+                throw e;
+            }
+        } else {
+            throw new DuplicateRegistrationException("Duplicate event listener registration.");
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void addFirst(I item) {
         Objects.requireNonNull(item, "item");
-        if (set_.add(item)) {
+        if (index_.putIfAbsent(item, REGISTERED) == null) {
             listeners_.addFirst(item);
         } else {
             throw new DuplicateRegistrationException("Duplicate event listener registration.");
@@ -83,7 +130,7 @@ public final class IndexedListeners<I> extends ListenersWrapper<I> {
     public void addBefore(I item, I prior) {
         Objects.requireNonNull(item, "item");
         Objects.requireNonNull(prior, "prior");
-        if (set_.add(item)) {
+        if (index_.putIfAbsent(item, REGISTERED) == null) {
             listeners_.addBefore(item, prior);
         } else {
             throw new DuplicateRegistrationException("Duplicate event listener registration.");
@@ -97,20 +144,74 @@ public final class IndexedListeners<I> extends ListenersWrapper<I> {
     public void addAfter(I item, I next) {
         Objects.requireNonNull(item, "item");
         Objects.requireNonNull(next, "next");
-        if (set_.add(item)) {
+        if (index_.putIfAbsent(item, REGISTERED) == null) {
             listeners_.addAfter(item, next);
         } else {
             throw new DuplicateRegistrationException("Duplicate event listener registration.");
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Subscription subscribe(I item) {
+        Objects.requireNonNull(item, "item");
+        Object token = new Object();
+        if (index_.putIfAbsent(item, token) == null) {
+            final Subscription subscription;
+            try {
+                subscription = listeners_.subscribe(item);
+            } catch (RuntimeException e) {
+                index_.remove(item);
+                throw e;
+            }
+            return newSubscription(item, token, subscription);
+        } else {
+            throw new DuplicateRegistrationException("Duplicate event listener registration.");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    Subscription subscribeWithPriority(I item, int priority) {
+        Objects.requireNonNull(item, "item");
+        Object token = new Object();
+        if (index_.putIfAbsent(item, token) == null) {
+            final Subscription subscription;
+            try {
+                subscription = super.subscribeWithPriority(item, priority);
+            } catch (RuntimeException e) {
+                index_.remove(item);
+                throw e;
+            }
+            return newSubscription(item, token, subscription);
+        } else {
+            throw new DuplicateRegistrationException("Duplicate event listener registration.");
+        }
+    }
+
+    /**
+     * Returns the handle which removes the registration, unless the listener was removed and registered again
+     * after the handle was returned.
+     */
+    private Subscription newSubscription(I item, Object token, Subscription subscription) {
+        return new OnceSubscription(() -> {
+            if (index_.remove(item, token)) {
+                subscription.close();
+            }
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public boolean contains(I item) {
         Objects.requireNonNull(item, "item");
-        return set_.contains(item);
+        return index_.containsKey(item);
     }
 
     /**
@@ -119,7 +220,7 @@ public final class IndexedListeners<I> extends ListenersWrapper<I> {
     @Override
     public void remove(I item) {
         Objects.requireNonNull(item, "item");
-        if (set_.remove(item)) {
+        if (index_.remove(item) != null) {
             listeners_.remove(item);
         }
     }
@@ -129,7 +230,7 @@ public final class IndexedListeners<I> extends ListenersWrapper<I> {
      */
     @Override
     public void clear() {
-        set_.clear();
+        index_.clear();
         listeners_.clear();
     }
 
@@ -0,0 +1,338 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.listener;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A store of listeners that keeps the order in a doubly linked list and indexes the nodes of the list
+ * by listener in a hash map.
+ * <p>
+ * Unlike {@link ListenersStore}, which searches the backing {@link java.util.List} for every positional insert,
+ * removal and presence check, this store performs {@link #addBefore}, {@link #addAfter}, {@link #remove}
+ * and {@link #contains} in constant time. The order of {@link #toArray()} is the order of the linked list.
+ * <p>
+ * Registering the same listener several times is supported and follows the {@link java.util.List} semantics
+ * (the first occurrence is used as a position and is removed first), but such registrations are not constant time.
+ * <p>
+ * The class is not thread-safe, use {@link SynchronizedListeners} for concurrent access.
+ *
+ * @param <I> the type of listener.
+ * @see ListenersBuilder#setLinked()
+ * @since 0.9.0
+ */
+public final class LinkedListenersStore<I> implements Listeners<I> {
+
+    /**
+     * The first node in the list for each registered listener.
+     */
+    private final Map<I, Node<I>> index_;
+    private final boolean identity_;
+    private Node<I> head_;
+    private Node<I> tail_;
+    private int size_;
+    private volatile long version_;
+    /**
+     * The last snapshot, which is current while its version equals the version of the store. The snapshot is
+     * immutable and published through its final fields, so concurrent readers may replace it without locking.
+     */
+    private ListenersSnapshot<I> snapshot_;
+
+    /**
+     * Constructs a new empty LinkedListenersStore.
+     */
+    public LinkedListenersStore() {
+        this(Collections.emptyList(), false);
+    }
+
+    /**
+     * Constructs a new LinkedListenersStore with the specified initial listeners.
+     *
+     * @param listeners the initial listeners.
+     */
+    public LinkedListenersStore(Collection<? extends I> listeners) {
+        this(listeners, false);
+    }
+
+    /**
+     * Constructs a new LinkedListenersStore with the specified initial listeners and comparison mode.
+     *
+     * @param listeners the initial listeners.
+     * @param identity  if {@code true}, listeners are compared by identity instead of {@link Object#equals(Object)}.
+     */
+    public LinkedListenersStore(Collection<? extends I> listeners, boolean identity) {
+        Objects.requireNonNull(listeners, "listeners");
+        identity_ = identity;
+        index_ = identity ? new IdentityHashMap<>() : new HashMap<>();
+        for (I listener : listeners) {
+            add(listener);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(I item) {
+        Objects.requireNonNull(item, "item");
+        linkBefore(new Node<>(item), null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addFirst(I item) {
+        Objects.requireNonNull(item, "item");
+        linkBefore(new Node<>(item), head_);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addBefore(I item, I prior) {
+        Objects.requireNonNull(item, "item");
+        Objects.requireNonNull(prior, "prior");
+        Node<I> priorNode = index_.get(prior);
+        if (priorNode == null) {
+            throw new IndexOutOfBoundsException(String.valueOf(-1));
+        }
+        linkBefore(new Node<>(item), priorNode);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addAfter(I item, I next) {
+        Objects.requireNonNull(item, "item");
+        Objects.requireNonNull(next, "next");
+        Node<I> nextNode = index_.get(next);
+        if (nextNode == null) {
+            throw new IndexOutOfBoundsException(String.valueOf(-1));
+        }
+        linkBefore(new Node<>(item), nextNode.next);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Closing the handle unlinks the node of the registration in constant time.
+     */
+    @Override
+    public Subscription subscribe(I item) {
+        Objects.requireNonNull(item, "item");
+        Node<I> node = new Node<>(item);
+        linkBefore(node, null);
+        return new OnceSubscription(() -> {
+            if (node.linked) {
+                unlink(node);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(I item) {
+        Objects.requireNonNull(item, "item");
+        return index_.containsKey(item);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void remove(I item) {
+        Objects.requireNonNull(item, "item");
+        Node<I> node = index_.get(item);
+        if (node != null) {
+            unlink(node);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        for (Node<I> node = head_; node != null; node = node.next) {
+            node.linked = false;
+        }
+        index_.clear();
+        head_ = null;
+        tail_ = null;
+        size_ = 0;
+        version_++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size_;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[size_];
+        int i = 0;
+        for (Node<I> node = head_; node != null; node = node.next) {
+            array[i++] = node.item;
+        }
+        return array;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getVersion() {
+        return version_;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The snapshot is kept until the next modification, so traversals of an unmodified collection do not allocate.
+     */
+    @Override
+    public List<I> snapshot() {
+        ListenersSnapshot<I> snapshot = snapshot_;
+        long version = version_;
+        if (snapshot == null || snapshot.version() != version) {
+            snapshot = new ListenersSnapshot<>(toArray(), version);
+            snapshot_ = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Links the node into the list before the specified successor and indexes it.
+     *
+     * @param node      the new node.
+     * @param successor the node before which to link, or {@code null} to link at the end of the list.
+     */
+    private void linkBefore(Node<I> node, Node<I> successor) {
+        Node<I> predecessor = successor != null ? successor.prev : tail_;
+        node.linked = true;
+        node.prev = predecessor;
+        node.next = successor;
+        if (predecessor != null) {
+            predecessor.next = node;
+        } else {
+            head_ = node;
+        }
+        if (successor != null) {
+            successor.prev = node;
+        } else {
+            tail_ = node;
+        }
+        size_++;
+        version_++;
+
+        Node<I> first = index_.putIfAbsent(node.item, node);
+        if (first != null) {
+            // Duplicate registration: keep the chain of equal nodes in list order.
+            Node<I> previousSame = node.prev;
+            while (previousSame != null && !(identity_ ? previousSame.item == node.item : previousSame.item.equals(node.item))) {
+                previousSame = previousSame.prev;
+            }
+            if (previousSame == null) {
+                node.nextSame = first;
+                first.prevSame = node;
+                index_.put(node.item, node);
+            } else {
+                node.prevSame = previousSame;
+                node.nextSame = previousSame.nextSame;
+                if (previousSame.nextSame != null) {
+                    previousSame.nextSame.prevSame = node;
+                }
+                previousSame.nextSame = node;
+            }
+        }
+    }
+
+    /**
+     * Unlinks the node from the list and from the index.
+     *
+     * @param node the node to unlink.
+     */
+    private void unlink(Node<I> node) {
+        node.linked = false;
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            head_ = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        } else {
+            tail_ = node.prev;
+        }
+        size_--;
+        version_++;
+
+        if (node.prevSame != null) {
+            node.prevSame.nextSame = node.nextSame;
+        } else if (node.nextSame != null) {
+            index_.put(node.item, node.nextSame);
+        } else {
+            index_.remove(node.item);
+        }
+        if (node.nextSame != null) {
+            node.nextSame.prevSame = node.prevSame;
+        }
+        node.prev = null;
+        node.next = null;
+        node.prevSame = null;
+        node.nextSame = null;
+    }
+
+    /**
+     * Node of the linked list.
+     *
+     * @param <I> the type of listener.
+     */
+    private static final class Node<I> {
+        private final I item;
+        private boolean linked;
+        private Node<I> prev;
+        private Node<I> next;
+        /**
+         * The neighbouring nodes holding an equal listener.
+         */
+        private Node<I> prevSame;
+        private Node<I> nextSame;
+
+        private Node(I item) {
+            this.item = item;
+        }
+    }
+}
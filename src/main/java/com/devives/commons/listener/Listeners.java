@@ -16,6 +16,11 @@
  */
 package com.devives.commons.listener;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
 /**
  * Interface for managing a collection of listeners.
  *
@@ -25,6 +30,14 @@ package com.devives.commons.listener;
  */
 public interface Listeners<I> {
 
+    /**
+     * The version returned by collections that do not track modifications.
+     *
+     * @see #getVersion()
+     * @since 0.9.0
+     */
+    long UNVERSIONED = -1L;
+
     /**
      * Adds a listener to the end of the collection.
      *
@@ -55,6 +68,38 @@ public interface Listeners<I> {
      */
     void addAfter(I item, I next);
 
+    /**
+     * Adds a listener to the end of the collection and returns the handle of the registration.
+     * <p>
+     * Closing the returned handle removes this registration rather than an equal listener registered separately,
+     * see {@link Subscription} for the cost and the precision of the removal in different stores.
+     * The default implementation removes the first equal listener using {@link #remove(Object)}.
+     *
+     * @param item the listener to add.
+     * @return the handle of the registration.
+     * @since 0.9.0
+     */
+    default Subscription subscribe(I item) {
+        add(item);
+        return new OnceSubscription(() -> remove(item));
+    }
+
+    /**
+     * Adds listeners to the end of the collection in the iteration order of the specified collection.
+     * <p>
+     * Decorators and stores override the method to apply all listeners with a single lock acquisition
+     * and a single snapshot invalidation.
+     *
+     * @param items the listeners to add.
+     * @since 0.9.0
+     */
+    default void addAll(Collection<? extends I> items) {
+        Objects.requireNonNull(items, "items");
+        for (I item : items) {
+            add(item);
+        }
+    }
+
     /**
      * Checks if a listener is in the collection.
      *
@@ -70,6 +115,40 @@ public interface Listeners<I> {
      */
     void remove(I item);
 
+    /**
+     * Removes listeners from the collection, as if by calling {@link #remove(Object)} for each of them.
+     *
+     * @param items the listeners to remove.
+     * @since 0.9.0
+     */
+    default void removeAll(Collection<? extends I> items) {
+        Objects.requireNonNull(items, "items");
+        for (I item : items) {
+            remove(item);
+        }
+    }
+
+    /**
+     * Applies several mutations to the collection as one batch.
+     * <p>
+     * The action receives the collection to modify. Thread-safe implementations apply the whole batch
+     * under a single lock acquisition or as a single atomic update, and the cached snapshot of listeners
+     * is rebuilt once after the batch. The collection passed to the action must not be used outside of it.
+     * <pre>{@code
+     * listeners.batch(batch -> {
+     *     batch.remove(oldListener);
+     *     batch.addFirst(newListener);
+     * });
+     * }</pre>
+     *
+     * @param action the action which modifies the collection.
+     * @since 0.9.0
+     */
+    default void batch(Consumer<? super Listeners<I>> action) {
+        Objects.requireNonNull(action, "action");
+        action.accept(this);
+    }
+
     /**
      * Removes all listeners from the collection.
      */
@@ -85,10 +164,72 @@ public interface Listeners<I> {
     /**
      * Returns an array containing all the listeners in the collection.
      *
-     * @return new instance of array or cached instance if {@link CachedListeners} used.
+     * @return new instance of array, or shared snapshot instance if {@link CachedListeners} or {@link ConcurrentListeners} used.
      */
     Object[] toArray();
 
+    /**
+     * Returns an immutable snapshot of the listeners in the collection.
+     * <p>
+     * The snapshot is not affected by subsequent modifications of the collection. Caching and copy-on-write
+     * implementations return the same snapshot instance until the collection is modified, so walking it by index
+     * does not allocate.
+     *
+     * @return the immutable list of listeners.
+     * @since 0.9.0
+     */
+    default List<I> snapshot() {
+        return new ListenersSnapshot<>(toArray());
+    }
+
+    /**
+     * Performs the action for each listener of the snapshot of the collection.
+     * <p>
+     * The collection may be modified by the action, such modifications do not affect the traversal.
+     * Caching and copy-on-write implementations traverse without allocation.
+     *
+     * @param action the action to perform for each listener.
+     * @since 0.9.0
+     */
+    default void forEach(Consumer<? super I> action) {
+        snapshot().forEach(action);
+    }
+
+    /**
+     * Returns the modification version of the collection.
+     * <p>
+     * The version changes on every modification of the collection. A caller which has read the version before
+     * taking a {@link #snapshot()} knows that all listeners of the snapshot are still present as long as the version
+     * remains the same, without calling {@link #contains(Object)}.
+     * <p>
+     * The default implementation returns {@link #UNVERSIONED}, which means that modifications are not tracked.
+     *
+     * @return the modification version, or {@link #UNVERSIONED}.
+     * @since 0.9.0
+     */
+    default long getVersion() {
+        return UNVERSIONED;
+    }
+
+    /**
+     * Checks if a listener of a snapshot was removed from the collection after the snapshot was taken.
+     * <p>
+     * Distributors call the method for the listeners of a snapshot once the collection is modified during
+     * the distribution, to skip the listeners removed by the previous listeners. Stores which log their removals
+     * answer without searching the collection, so additions and removals of other listeners do not make
+     * the distribution quadratic. A listener removed and registered again is not reported as removed.
+     * <p>
+     * The default implementation returns {@code !contains(item)}.
+     *
+     * @param item    the listener of the snapshot.
+     * @param version the version returned by {@link #getVersion()} before taking the snapshot.
+     * @return {@code true} if the listener is no longer in the collection.
+     * @since 0.9.0
+     */
+    default boolean isRemovedSince(I item, long version) {
+        return !contains(item);
+    }
+
     /**
      * Return the new instance of {@link ListenersBuilder}.
      *
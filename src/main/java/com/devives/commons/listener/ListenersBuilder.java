@@ -36,7 +36,13 @@ public final class ListenersBuilder<I> {
     private boolean cached_ = true;
     private boolean indexed_ = false;
     private boolean distinct_ = false;
+    private boolean identity_ = false;
     private boolean synchronized_ = false;
+    private boolean stampedLock_ = false;
+    private boolean concurrent_ = false;
+    private boolean linked_ = false;
+    private boolean weak_ = false;
+    private boolean prioritized_ = false;
     private List<I> list_ = null;
 
     ListenersBuilder() {
@@ -121,6 +127,37 @@ public final class ListenersBuilder<I> {
         return this;
     }
 
+    /**
+     * Set identity indexed flag to true.
+     *
+     * @return this builder.
+     * @see #setIdentityIndexed(boolean)
+     * @since 0.9.0
+     */
+    public ListenersBuilder<I> setIdentityIndexed() {
+        identity_ = true;
+        return this;
+    }
+
+    /**
+     * Set identity indexed flag to the specified value.
+     * <p>
+     * If {@code true}, the collection is indexed as with {@link #setIndexed(boolean)}, but listeners are compared
+     * by identity instead of {@link Object#equals(Object)} and {@link Object#hashCode()} in duplicate detection,
+     * {@link Listeners#contains(Object)}, {@link Listeners#remove(Object)} and positional lookups.
+     * The mode suits listeners with expensive or mutable {@code equals} and {@code hashCode}, lambdas and proxies,
+     * whose {@code equals} and {@code hashCode} calls are dispatched to the invocation handler.
+     *
+     * @param value the value to set.
+     * @return this builder.
+     * @see IndexedListeners#IndexedListeners(Listeners, boolean)
+     * @since 0.9.0
+     */
+    public ListenersBuilder<I> setIdentityIndexed(boolean value) {
+        identity_ = value;
+        return this;
+    }
+
     /**
      * Make event listener collection thread-safe.
      *
@@ -146,6 +183,166 @@ public final class ListenersBuilder<I> {
         return this;
     }
 
+    /**
+     * Make event listener collection thread-safe with a read/write lock.
+     *
+     * @return this builder.
+     * @see StampedLockListeners
+     * @see #setStampedLock(boolean)
+     * @since 0.9.0
+     */
+    public ListenersBuilder<I> setStampedLock() {
+        stampedLock_ = true;
+        return this;
+    }
+
+    /**
+     * Set stamped lock flag to the specified value.
+     * <p>
+     * If {@code true}, {@link StampedLockListeners} will be added to the chain of listener collection decorators.
+     * Queries are performed as optimistic reads and modifications take the exclusive lock, which suits collections
+     * backed by a mutable list specified by {@link #setList(List)} and read much more often than modified.
+     * The flag can not be combined with {@link #setSynchronized(boolean)} and {@link #setWeak(boolean)},
+     * and is ignored by {@link #setConcurrent(boolean)}.
+     *
+     * @param value the value to set.
+     * @return this builder.
+     * @see StampedLockListeners
+     * @since 0.9.0
+     */
+    public ListenersBuilder<I> setStampedLock(boolean value) {
+        stampedLock_ = value;
+        return this;
+    }
+
+    /**
+     * Make event listener collection thread-safe and lock-free.
+     *
+     * @return this builder.
+     * @see ConcurrentListeners
+     * @see #setConcurrent(boolean)
+     * @since 0.9.0
+     */
+    public ListenersBuilder<I> setConcurrent() {
+        concurrent_ = true;
+        return this;
+    }
+
+    /**
+     * Set concurrent flag to the specified value.
+     * <p>
+     * If {@code true}, {@link ConcurrentListeners} will be used as the listener store. The store is thread-safe
+     * and keeps an immutable snapshot of listeners, so the cached and synchronized flags are ignored.
+     * The distinct and indexed flags are served by a hash index kept in the snapshot.
+     * The list specified by {@link #setList(List)} is only used as the initial content of the store.
+     *
+     * @param value the value to set.
+     * @return this builder.
+     * @see ConcurrentListeners
+     * @since 0.9.0
+     */
+    public ListenersBuilder<I> setConcurrent(boolean value) {
+        concurrent_ = value;
+        return this;
+    }
+
+    /**
+     * Use a linked store of listeners with constant time positional insert, removal and presence check.
+     *
+     * @return this builder.
+     * @see LinkedListenersStore
+     * @see #setLinked(boolean)
+     * @since 0.9.0
+     */
+    public ListenersBuilder<I> setLinked() {
+        linked_ = true;
+        return this;
+    }
+
+    /**
+     * Set linked flag to the specified value.
+     * <p>
+     * If {@code true}, {@link LinkedListenersStore} will be used as the listener store instead of {@link ListenersStore}.
+     * The list specified by {@link #setList(List)} is only used as the initial content of the store.
+     * The flag can not be combined with {@link #setConcurrent(boolean)}.
+     *
+     * @param value the value to set.
+     * @return this builder.
+     * @see LinkedListenersStore
+     * @since 0.9.0
+     */
+    public ListenersBuilder<I> setLinked(boolean value) {
+        linked_ = value;
+        return this;
+    }
+
+    /**
+     * Hold listeners by weak references.
+     *
+     * @return this builder.
+     * @see WeakListenersStore
+     * @see #setWeak(boolean)
+     * @since 0.9.0
+     */
+    public ListenersBuilder<I> setWeak() {
+        weak_ = true;
+        return this;
+    }
+
+    /**
+     * Set weak flag to the specified value.
+     * <p>
+     * If {@code true}, {@link WeakListenersStore} will be used as the listener store. Listeners that are not
+     * strongly reachable elsewhere are garbage collected and purged from the collection.
+     * <p>
+     * The cached flag is ignored, since the cached array would keep listeners strongly reachable; the store
+     * keeps its own snapshot of references instead. The indexed flag is served by {@link DistinctListeners} for
+     * the same reason. The list specified by {@link #setList(List)} is only used as the initial content of the store.
+     * The flag can not be combined with {@link #setConcurrent(boolean)} and {@link #setLinked(boolean)}.
+     *
+     * @param value the value to set.
+     * @return this builder.
+     * @see WeakListenersStore
+     * @since 0.9.0
+     */
+    public ListenersBuilder<I> setWeak(boolean value) {
+        weak_ = value;
+        return this;
+    }
+
+    /**
+     * Order listeners by priority.
+     *
+     * @return this builder.
+     * @see PrioritizedListenersStore
+     * @see #setPrioritized(boolean)
+     * @since 0.9.0
+     */
+    public ListenersBuilder<I> setPrioritized() {
+        prioritized_ = true;
+        return this;
+    }
+
+    /**
+     * Set prioritized flag to the specified value.
+     * <p>
+     * If {@code true}, {@link PrioritizedListenersStore} will be used as the listener store, and {@link #build()}
+     * returns {@link PrioritizedListeners}, so listeners can be registered with
+     * {@link PrioritizedListeners#add(Object, int)} and {@link PrioritizedListeners#subscribe(Object, int)}.
+     * The list specified by {@link #setList(List)} is only used as the initial content of the store.
+     * The flag can not be combined with {@link #setConcurrent(boolean)}, {@link #setLinked(boolean)}
+     * and {@link #setWeak(boolean)}.
+     *
+     * @param value the value to set.
+     * @return this builder.
+     * @see PrioritizedListenersStore
+     * @since 0.9.0
+     */
+    public ListenersBuilder<I> setPrioritized(boolean value) {
+        prioritized_ = value;
+        return this;
+    }
+
     /**
      * Set the list of listeners.
      *
@@ -161,26 +358,67 @@ public final class ListenersBuilder<I> {
      * Build {@link EventSource} instance.
      *
      * @return new {@link EventSource} instance.
+     * @throws IllegalStateException if mutually exclusive listener store options are set.
      */
     public Listeners<I> build() {
+        if ((concurrent_ ? 1 : 0) + (linked_ ? 1 : 0) + (weak_ ? 1 : 0) + (prioritized_ ? 1 : 0) > 1) {
+            throw new IllegalStateException("The concurrent, linked, weak and prioritized listener stores can not be combined.");
+        }
+        if (stampedLock_ && (synchronized_ || weak_)) {
+            throw new IllegalStateException("The stamped lock can not be combined with the synchronized and weak options.");
+        }
         List<I> list = Optional.ofNullable(list_).orElseGet(ArrayList::new);
 
-        Listeners<I> listeners = new ListenersStore<>(list);
+        if (concurrent_) {
+            return new ConcurrentListeners<>(list, indexed_ || distinct_ || identity_, identity_);
+        }
 
-        if (indexed_) {
-            listeners = new IndexedListeners<>(listeners);
-        } else if (distinct_) {
-            listeners = new DistinctListeners<>(listeners);
+        Listeners<I> listeners;
+        if (weak_) {
+            listeners = new WeakListenersStore<>(identity_);
+            list.forEach(listeners::add);
+        } else if (prioritized_) {
+            listeners = new PrioritizedListenersStore<>(list, identity_);
+        } else if (linked_) {
+            listeners = new LinkedListenersStore<>(list, identity_);
+        } else {
+            listeners = new ListenersStore<>(list, identity_);
         }
 
-        if (cached_) {
+        boolean indexed = indexed_ || identity_;
+        if (indexed && !weak_) {
+            listeners = new IndexedListeners<>(listeners, identity_);
+        } else if (distinct_ || indexed) {
+            listeners = new DistinctListeners<>(listeners, identity_);
+        }
+
+        if (cached_ && !weak_) {
             listeners = new CachedListeners<>(listeners);
         }
 
         if (synchronized_) {
             listeners = new SynchronizedListeners<>(listeners);
+        } else if (stampedLock_) {
+            listeners = new StampedLockListeners<>(listeners);
         }
 
+        if (prioritized_ && listeners instanceof ListenersWrapper) {
+            listeners = new PrioritizedListenersWrapper<>((ListenersWrapper<I>) listeners);
+        }
         return listeners;
     }
+
+    /**
+     * Build a collection of listeners ordered by priority.
+     * <p>
+     * The method sets the prioritized flag, see {@link #setPrioritized(boolean)}, and calls {@link #build()}.
+     *
+     * @return new {@link PrioritizedListeners} instance.
+     * @throws IllegalStateException if mutually exclusive listener store options are set.
+     * @since 0.9.0
+     */
+    public PrioritizedListeners<I> buildPrioritized() {
+        prioritized_ = true;
+        return (PrioritizedListeners<I>) build();
+    }
 }
\ No newline at end of file
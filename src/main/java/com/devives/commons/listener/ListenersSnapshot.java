@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.listener;
+
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * Immutable list view of an array of listeners, returned by {@link Listeners#snapshot()}.
+ * <p>
+ * The view does not copy the array, so caching collections can hand out the same instance on every call.
+ * Indexed access and {@link #forEach(Consumer)} do not allocate.
+ *
+ * @param <I> the type of listener.
+ * @since 0.9.0
+ */
+final class ListenersSnapshot<I> extends AbstractList<I> implements RandomAccess {
+
+    private final Object[] array_;
+    private final long version_;
+
+    /**
+     * Constructs a new ListenersSnapshot over the specified array.
+     *
+     * @param array the array of listeners, which must not be modified afterwards.
+     */
+    ListenersSnapshot(Object[] array) {
+        this(array, Listeners.UNVERSIONED);
+    }
+
+    /**
+     * Constructs a new ListenersSnapshot over the specified array taken at the specified version of the collection.
+     *
+     * @param array   the array of listeners, which must not be modified afterwards.
+     * @param version the version of the collection read before the array was taken.
+     */
+    ListenersSnapshot(Object[] array, long version) {
+        array_ = Objects.requireNonNull(array, "array");
+        version_ = version;
+    }
+
+    /**
+     * Returns the version of the collection the snapshot was taken at.
+     *
+     * @return the version, or {@link Listeners#UNVERSIONED}.
+     */
+    long version() {
+        return version_;
+    }
+
+    /**
+     * Returns the array of listeners backing this view.
+     *
+     * @return the array, which must not be modified.
+     */
+    Object[] array() {
+        return array_;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public I get(int index) {
+        return (I) array_[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return array_.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super I> action) {
+        Objects.requireNonNull(action, "action");
+        for (Object item : array_) {
+            action.accept((I) item);
+        }
+    }
+}
@@ -16,11 +16,17 @@
  */
 package com.devives.commons.listener;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Objects;
 
 /**
  * A class that implements the Listeners interface and provides a store for listeners.
+ * <p>
+ * The store tracks its modifications in {@link #getVersion()} and keeps the snapshot returned by {@link #snapshot()}
+ * until the next modification. Modifications made directly to the underlying list are not tracked and are not
+ * reflected in the snapshot.
  *
  * @param <I> the type of listener.
  *
@@ -29,6 +35,14 @@ import java.util.Objects;
 public final class ListenersStore<I> implements Listeners<I> {
 
     private final List<I> list_;
+    private final boolean identity_;
+    private volatile long version_;
+    private final RemovalLog removals_ = new RemovalLog();
+    /**
+     * The last snapshot, which is current while its version equals the version of the store. The snapshot is
+     * immutable and published through its final fields, so concurrent readers may replace it without locking.
+     */
+    private ListenersSnapshot<I> snapshot_;
 
     /**
      * Constructs a new ListenersStore with the specified list.
@@ -36,7 +50,19 @@ public final class ListenersStore<I> implements Listeners<I> {
      * @param list the list of listeners.
      */
     public ListenersStore(List<I> list) {
+        this(list, false);
+    }
+
+    /**
+     * Constructs a new ListenersStore with the specified list and comparison mode.
+     *
+     * @param list     the list of listeners.
+     * @param identity if {@code true}, listeners are compared by identity instead of {@link Object#equals(Object)}.
+     * @since 0.9.0
+     */
+    public ListenersStore(List<I> list, boolean identity) {
         list_ = Objects.requireNonNull(list);
+        identity_ = identity;
     }
 
     /**
@@ -46,6 +72,7 @@ public final class ListenersStore<I> implements Listeners<I> {
     public void add(I item) {
         Objects.requireNonNull(item, "item");
         list_.add(item);
+        version_++;
     }
 
     /**
@@ -55,6 +82,7 @@ public final class ListenersStore<I> implements Listeners<I> {
     public void addFirst(I item) {
         Objects.requireNonNull(item, "item");
         list_.add(0, item);
+        version_++;
     }
 
     /**
@@ -64,11 +92,12 @@ public final class ListenersStore<I> implements Listeners<I> {
     public void addBefore(I item, I prior) {
         Objects.requireNonNull(item, "item");
         Objects.requireNonNull(prior, "prior");
-        int priorIndex = list_.indexOf(prior);
+        int priorIndex = indexOf(prior);
         if (priorIndex < 0) {
             throw new IndexOutOfBoundsException(String.valueOf(priorIndex));
         }
         list_.add(priorIndex, item);
+        version_++;
     }
 
     /**
@@ -78,11 +107,47 @@ public final class ListenersStore<I> implements Listeners<I> {
     public void addAfter(I item, I next) {
         Objects.requireNonNull(item, "item");
         Objects.requireNonNull(next, "next");
-        int priorIndex = list_.indexOf(next);
+        int priorIndex = indexOf(next);
         if (priorIndex < 0) {
             throw new IndexOutOfBoundsException(String.valueOf(priorIndex));
         }
         list_.add(priorIndex + 1, item);
+        version_++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addAll(Collection<? extends I> items) {
+        Objects.requireNonNull(items, "items");
+        for (I item : items) {
+            Objects.requireNonNull(item, "item");
+        }
+        if (list_.addAll(items)) {
+            version_++;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Closing the handle removes the registered instance found by identity in linear time, without calling
+     * {@link Object#equals}. If the same instance is registered several times, its first registration is removed.
+     */
+    @Override
+    public Subscription subscribe(I item) {
+        add(item);
+        return new OnceSubscription(() -> {
+            ListIterator<I> iterator = list_.listIterator();
+            while (iterator.hasNext()) {
+                if (iterator.next() == item) {
+                    iterator.remove();
+                    removals_.add(item, ++version_);
+                    return;
+                }
+            }
+        });
     }
 
     /**
@@ -91,7 +156,7 @@ public final class ListenersStore<I> implements Listeners<I> {
     @Override
     public boolean contains(I item) {
         Objects.requireNonNull(item, "item");
-        return list_.contains(item);
+        return indexOf(item) >= 0;
     }
 
     /**
@@ -100,7 +165,10 @@ public final class ListenersStore<I> implements Listeners<I> {
     @Override
     public void remove(I item) {
         Objects.requireNonNull(item, "item");
-        list_.remove(item);
+        int index = indexOf(item);
+        if (index >= 0) {
+            removals_.add(list_.remove(index), ++version_);
+        }
     }
 
     /**
@@ -109,6 +177,7 @@ public final class ListenersStore<I> implements Listeners<I> {
     @Override
     public void clear() {
         list_.clear();
+        removals_.clear(++version_);
     }
 
     /**
@@ -127,4 +196,54 @@ public final class ListenersStore<I> implements Listeners<I> {
         return list_.toArray();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getVersion() {
+        return version_;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The removals are looked up in the log of the last removals, the collection is searched only if the log
+     * contains a listener with the same identity hash code, or does not cover the version.
+     */
+    @Override
+    public boolean isRemovedSince(I item, long version) {
+        Objects.requireNonNull(item, "item");
+        return removals_.mayBeRemovedSince(item, version) && !contains(item);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The snapshot is kept until the next modification, so traversals of an unmodified collection do not allocate.
+     */
+    @Override
+    public List<I> snapshot() {
+        ListenersSnapshot<I> snapshot = snapshot_;
+        long version = version_;
+        if (snapshot == null || snapshot.version() != version) {
+            snapshot = new ListenersSnapshot<>(toArray(), version);
+            snapshot_ = snapshot;
+        }
+        return snapshot;
+    }
+
+    private int indexOf(Object item) {
+        if (!identity_) {
+            return list_.indexOf(item);
+        }
+        int index = 0;
+        for (I listener : list_) {
+            if (listener == item) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
 }
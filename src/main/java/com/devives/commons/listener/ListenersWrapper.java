@@ -18,6 +18,7 @@ package com.devives.commons.listener;
 
 import com.devives.commons.lang.Wrapper;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -40,6 +41,64 @@ abstract class ListenersWrapper<I> implements Listeners<I>, Wrapper {
         listeners_ = Objects.requireNonNull(listeners);
     }
 
+    /**
+     * Adds a listener with the specified priority to the decorated collection.
+     * <p>
+     * Decorators override the method to apply their logic to prioritized registrations,
+     * {@link PrioritizedListenersWrapper} exposes it as {@link PrioritizedListeners#add(Object, int)}.
+     *
+     * @param item     the listener to add.
+     * @param priority the priority of the listener.
+     */
+    void addWithPriority(I item, int priority) {
+        if (listeners_ instanceof ListenersWrapper) {
+            ((ListenersWrapper<I>) listeners_).addWithPriority(item, priority);
+        } else {
+            ((PrioritizedListeners<I>) listeners_).add(item, priority);
+        }
+    }
+
+    /**
+     * Adds a listener with the specified priority to the decorated collection and returns the handle of the
+     * registration.
+     *
+     * @param item     the listener to add.
+     * @param priority the priority of the listener.
+     * @return the handle of the registration.
+     * @see #addWithPriority(Object, int)
+     */
+    Subscription subscribeWithPriority(I item, int priority) {
+        if (listeners_ instanceof ListenersWrapper) {
+            return ((ListenersWrapper<I>) listeners_).subscribeWithPriority(item, priority);
+        } else {
+            return ((PrioritizedListeners<I>) listeners_).subscribe(item, priority);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<I> snapshot() {
+        return listeners_.snapshot();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getVersion() {
+        return listeners_.getVersion();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRemovedSince(I item, long version) {
+        return listeners_.isRemovedSince(item, version);
+    }
+
     /**
      * {@inheritDoc}
      */
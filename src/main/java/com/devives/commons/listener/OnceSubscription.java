@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.listener;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The subscription which runs the unsubscribe action only once.
+ *
+ * @since 0.9.0
+ */
+final class OnceSubscription implements Subscription {
+
+    private final AtomicBoolean closed_ = new AtomicBoolean();
+    private final Runnable unsubscribeAction_;
+
+    /**
+     * Constructs a new OnceSubscription with the specified unsubscribe action.
+     *
+     * @param unsubscribeAction the action which unregisters the listener.
+     */
+    OnceSubscription(Runnable unsubscribeAction) {
+        unsubscribeAction_ = Objects.requireNonNull(unsubscribeAction, "unsubscribeAction");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        if (closed_.compareAndSet(false, true)) {
+            unsubscribeAction_.run();
+        }
+    }
+}
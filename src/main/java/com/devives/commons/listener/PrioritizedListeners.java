@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.listener;
+
+/**
+ * A collection of listeners ordered by priority.
+ * <p>
+ * Listeners with a higher priority are placed before listeners with a lower priority, listeners with equal
+ * priorities keep the order of registration. Instances are returned by {@link ListenersBuilder#buildPrioritized()}
+ * and by {@link ListenersBuilder#build()} when {@link ListenersBuilder#setPrioritized()} is set.
+ *
+ * @param <I> the type of listener.
+ * @see PrioritizedListenersStore
+ * @since 0.9.0
+ */
+public interface PrioritizedListeners<I> extends Listeners<I> {
+
+    /**
+     * Adds a listener with the specified priority.
+     *
+     * @param item     the listener to add.
+     * @param priority the priority of the listener.
+     */
+    void add(I item, int priority);
+
+    /**
+     * Adds a listener with the specified priority and returns the handle of the registration.
+     *
+     * @param item     the listener to add.
+     * @param priority the priority of the listener.
+     * @return the handle of the registration.
+     * @see #add(Object, int)
+     * @see Subscription
+     */
+    Subscription subscribe(I item, int priority);
+}
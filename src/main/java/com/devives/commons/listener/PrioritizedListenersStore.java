@@ -0,0 +1,351 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.listener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A store of listeners ordered by priority.
+ * <p>
+ * Listeners with a higher priority are placed before listeners with a lower priority, listeners with equal priorities
+ * keep the order of registration. The position of a new listener is found by a binary search over the priorities.
+ * <p>
+ * Listeners added without a priority get {@link #DEFAULT_PRIORITY}, except positional operations:
+ * {@link #addFirst(Object)}, {@link #addBefore(Object, Object)} and {@link #addAfter(Object, Object)} give the new
+ * listener the priority of its neighbour, so the order stays sorted.
+ * <p>
+ * The class is not thread-safe, use {@link SynchronizedListeners} for concurrent access.
+ *
+ * @param <I> the type of listener.
+ * @see ListenersBuilder#setPrioritized()
+ * @since 0.9.0
+ */
+public final class PrioritizedListenersStore<I> implements PrioritizedListeners<I> {
+
+    /**
+     * The priority of listeners added without a priority.
+     */
+    public static final int DEFAULT_PRIORITY = 0;
+
+    private final List<Entry<I>> entries_ = new ArrayList<>();
+    private final boolean identity_;
+    private volatile long version_;
+    private final RemovalLog removals_ = new RemovalLog();
+    /**
+     * The last snapshot, which is current while its version equals the version of the store. The snapshot is
+     * immutable and published through its final fields, so concurrent readers may replace it without locking.
+     */
+    private ListenersSnapshot<I> snapshot_;
+
+    /**
+     * Constructs a new empty PrioritizedListenersStore.
+     */
+    public PrioritizedListenersStore() {
+        this(Collections.emptyList(), false);
+    }
+
+    /**
+     * Constructs a new PrioritizedListenersStore with the specified initial listeners and comparison mode.
+     * The initial listeners get {@link #DEFAULT_PRIORITY}.
+     *
+     * @param listeners the initial listeners.
+     * @param identity  if {@code true}, listeners are compared by identity instead of {@link Object#equals(Object)}.
+     */
+    public PrioritizedListenersStore(Collection<? extends I> listeners, boolean identity) {
+        Objects.requireNonNull(listeners, "listeners");
+        identity_ = identity;
+        addAll(listeners);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The listener gets {@link #DEFAULT_PRIORITY}.
+     */
+    @Override
+    public void add(I item) {
+        add(item, DEFAULT_PRIORITY);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(I item, int priority) {
+        Objects.requireNonNull(item, "item");
+        insert(upperBound(priority), new Entry<>(item, priority));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The listener gets the priority of the first listener, or {@link #DEFAULT_PRIORITY} if the collection is empty.
+     */
+    @Override
+    public void addFirst(I item) {
+        Objects.requireNonNull(item, "item");
+        int priority = entries_.isEmpty() ? DEFAULT_PRIORITY : entries_.get(0).priority;
+        insert(0, new Entry<>(item, priority));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The listener gets the priority of {@code prior}.
+     */
+    @Override
+    public void addBefore(I item, I prior) {
+        Objects.requireNonNull(item, "item");
+        Objects.requireNonNull(prior, "prior");
+        int priorIndex = indexOf(prior);
+        if (priorIndex < 0) {
+            throw new IndexOutOfBoundsException(String.valueOf(priorIndex));
+        }
+        insert(priorIndex, new Entry<>(item, entries_.get(priorIndex).priority));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The listener gets the priority of {@code next}.
+     */
+    @Override
+    public void addAfter(I item, I next) {
+        Objects.requireNonNull(item, "item");
+        Objects.requireNonNull(next, "next");
+        int nextIndex = indexOf(next);
+        if (nextIndex < 0) {
+            throw new IndexOutOfBoundsException(String.valueOf(nextIndex));
+        }
+        insert(nextIndex + 1, new Entry<>(item, entries_.get(nextIndex).priority));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The listeners get {@link #DEFAULT_PRIORITY} and are inserted with a single binary search.
+     */
+    @Override
+    public void addAll(Collection<? extends I> items) {
+        Objects.requireNonNull(items, "items");
+        List<Entry<I>> entries = new ArrayList<>(items.size());
+        for (I item : items) {
+            entries.add(new Entry<>(Objects.requireNonNull(item, "item"), DEFAULT_PRIORITY));
+        }
+        if (!entries.isEmpty()) {
+            entries_.addAll(upperBound(DEFAULT_PRIORITY), entries);
+            version_++;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The listener gets {@link #DEFAULT_PRIORITY}.
+     */
+    @Override
+    public Subscription subscribe(I item) {
+        return subscribe(item, DEFAULT_PRIORITY);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Closing the handle removes exactly this registration, which is searched among the listeners of the same
+     * priority only.
+     */
+    @Override
+    public Subscription subscribe(I item, int priority) {
+        Objects.requireNonNull(item, "item");
+        Entry<I> entry = new Entry<>(item, priority);
+        insert(upperBound(priority), entry);
+        return new OnceSubscription(() -> {
+            for (int i = lowerBound(priority), end = upperBound(priority); i < end; i++) {
+                if (entries_.get(i) == entry) {
+                    entries_.remove(i);
+                    removals_.add(item, ++version_);
+                    return;
+                }
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(I item) {
+        Objects.requireNonNull(item, "item");
+        return indexOf(item) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void remove(I item) {
+        Objects.requireNonNull(item, "item");
+        int index = indexOf(item);
+        if (index >= 0) {
+            removals_.add(entries_.remove(index).item, ++version_);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        entries_.clear();
+        removals_.clear(++version_);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return entries_.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[entries_.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = entries_.get(i).item;
+        }
+        return array;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getVersion() {
+        return version_;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The removals are looked up in the log of the last removals, the collection is searched only if the log
+     * contains a listener with the same identity hash code, or does not cover the version.
+     */
+    @Override
+    public boolean isRemovedSince(I item, long version) {
+        Objects.requireNonNull(item, "item");
+        return removals_.mayBeRemovedSince(item, version) && !contains(item);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The snapshot is kept until the next modification, so traversals of an unmodified collection do not allocate.
+     */
+    @Override
+    public List<I> snapshot() {
+        ListenersSnapshot<I> snapshot = snapshot_;
+        long version = version_;
+        if (snapshot == null || snapshot.version() != version) {
+            snapshot = new ListenersSnapshot<>(toArray(), version);
+            snapshot_ = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the priority of the first occurrence of the specified listener.
+     *
+     * @param item the listener.
+     * @return the priority of the listener.
+     * @throws IndexOutOfBoundsException if the listener is not registered.
+     */
+    public int getPriority(I item) {
+        Objects.requireNonNull(item, "item");
+        int index = indexOf(item);
+        if (index < 0) {
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+        return entries_.get(index).priority;
+    }
+
+    private void insert(int index, Entry<I> entry) {
+        entries_.add(index, entry);
+        version_++;
+    }
+
+    /**
+     * Returns the index of the first entry with a priority lower than or equal to the specified one.
+     */
+    private int lowerBound(int priority) {
+        int low = 0;
+        int high = entries_.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (entries_.get(middle).priority > priority) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first entry with a priority lower than the specified one.
+     */
+    private int upperBound(int priority) {
+        int low = 0;
+        int high = entries_.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (entries_.get(middle).priority >= priority) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int indexOf(I item) {
+        for (int i = 0, size = entries_.size(); i < size; i++) {
+            I listener = entries_.get(i).item;
+            if (identity_ ? listener == item : item.equals(listener)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class Entry<I> {
+        private final I item;
+        private final int priority;
+
+        private Entry(I item, int priority) {
+            this.item = item;
+            this.priority = priority;
+        }
+    }
+}
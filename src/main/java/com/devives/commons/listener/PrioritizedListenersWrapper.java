@@ -0,0 +1,157 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.listener;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Exposes the priority registration of a decorated {@link PrioritizedListenersStore}.
+ * <p>
+ * The wrapper is placed by {@link ListenersBuilder} on top of the decorators, prioritized registrations are passed
+ * through the decorators, so they apply their locking, caching and uniqueness logic.
+ *
+ * @param <I> the type of listener.
+ * @since 0.9.0
+ */
+final class PrioritizedListenersWrapper<I> extends ListenersWrapper<I> implements PrioritizedListeners<I> {
+
+    PrioritizedListenersWrapper(ListenersWrapper<I> listeners) {
+        super(listeners);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(I item) {
+        listeners_.add(item);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(I item, int priority) {
+        addWithPriority(item, priority);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addFirst(I item) {
+        listeners_.addFirst(item);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addBefore(I item, I prior) {
+        listeners_.addBefore(item, prior);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addAfter(I item, I next) {
+        listeners_.addAfter(item, next);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addAll(Collection<? extends I> items) {
+        listeners_.addAll(items);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Subscription subscribe(I item) {
+        return listeners_.subscribe(item);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Subscription subscribe(I item, int priority) {
+        return subscribeWithPriority(item, priority);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(I item) {
+        return listeners_.contains(item);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void remove(I item) {
+        listeners_.remove(item);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeAll(Collection<? extends I> items) {
+        listeners_.removeAll(items);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void batch(Consumer<? super Listeners<I>> action) {
+        listeners_.batch(action);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        listeners_.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return listeners_.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] toArray() {
+        return listeners_.toArray();
+    }
+
+}
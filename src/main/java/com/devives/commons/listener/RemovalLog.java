@@ -0,0 +1,116 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.listener;
+
+/**
+ * A bounded log of the listeners removed from a store, which lets the store answer
+ * {@link Listeners#isRemovedSince(Object, long)} without searching its listeners.
+ * <p>
+ * The log keeps the identity hash codes of the last {@value #CAPACITY} removed listeners with the versions
+ * of the store after their removal, so it does not keep removed listeners reachable. A listener whose hash code
+ * is not logged after the version was not removed since; a logged hash code may belong to another listener
+ * and is confirmed by the store with {@link Listeners#contains(Object)}. If older removals were evicted, or the store
+ * was cleared after the version, the log can not answer and the store falls back to {@link Listeners#contains(Object)}.
+ * <p>
+ * The class is not thread-safe, the log is guarded by the synchronization of the store. A copy-on-write store
+ * keeps a log in each of its immutable states and modifies a {@link #copy()} before publishing the next state.
+ *
+ * @since 0.9.0
+ */
+final class RemovalLog {
+
+    /**
+     * The number of the last removals kept in the log.
+     */
+    static final int CAPACITY = 32;
+
+    private final int[] hashes_ = new int[CAPACITY];
+    private final long[] versions_ = new long[CAPACITY];
+    private int next_;
+    private int size_;
+    /**
+     * The log holds all removals made after this version of the store.
+     */
+    private long coveredVersion_ = Listeners.UNVERSIONED;
+
+    /**
+     * Returns a copy of the log.
+     *
+     * @return a new log with the same removals.
+     */
+    RemovalLog copy() {
+        RemovalLog copy = new RemovalLog();
+        System.arraycopy(hashes_, 0, copy.hashes_, 0, CAPACITY);
+        System.arraycopy(versions_, 0, copy.versions_, 0, CAPACITY);
+        copy.next_ = next_;
+        copy.size_ = size_;
+        copy.coveredVersion_ = coveredVersion_;
+        return copy;
+    }
+
+    /**
+     * Records the removal of a listener.
+     *
+     * @param item    the removed listener.
+     * @param version the version of the store after the removal.
+     */
+    void add(Object item, long version) {
+        if (size_ == CAPACITY) {
+            coveredVersion_ = versions_[next_];
+        } else {
+            size_++;
+        }
+        hashes_[next_] = System.identityHashCode(item);
+        versions_[next_] = version;
+        next_ = (next_ + 1) % CAPACITY;
+    }
+
+    /**
+     * Records the removal of all listeners.
+     *
+     * @param version the version of the store after the removal.
+     */
+    void clear(long version) {
+        size_ = 0;
+        coveredVersion_ = version;
+    }
+
+    /**
+     * Checks if a listener may have been removed after the version.
+     *
+     * @param item    the listener of a snapshot taken at the version.
+     * @param version the version of the store read before taking the snapshot.
+     * @return {@code false} if the listener was certainly not removed, {@code true} if it must be checked
+     * with {@link Listeners#contains(Object)}.
+     */
+    boolean mayBeRemovedSince(Object item, long version) {
+        if (version == Listeners.UNVERSIONED || version < coveredVersion_) {
+            return true;
+        }
+        int hash = System.identityHashCode(item);
+        for (int i = 0, index = next_; i < size_; i++) {
+            index = (index == 0 ? CAPACITY : index) - 1;
+            if (versions_[index] <= version) {
+                return false;
+            }
+            if (hashes_[index] == hash) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,352 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.listener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * A class that extends ListenersWrapper and provides thread-safe access to listeners with a {@link StampedLock}.
+ * <p>
+ * Modifications take the exclusive write lock. {@link #contains(Object)} and {@link #size()} are first performed as
+ * optimistic reads without locking; if a modification interferes, the result is discarded and the query is repeated
+ * under the read lock. {@link #toArray()} takes the read lock, since the wrapped collection may cache the array.
+ * The snapshot returned by {@link #snapshot()} is cached in a volatile field until the next modification,
+ * so distribution does not lock at all while the collection is not modified.
+ * <p>
+ * The lock is not reentrant: the actions passed to {@link #batch(Consumer)} must use the collection passed to them,
+ * not this collection. The wrapped collection must not modify itself on queries, so {@link WeakListenersStore}
+ * can not be wrapped.
+ *
+ * @param <I> the type of listener.
+ * @see ListenersBuilder#setStampedLock()
+ * @since 0.9.0
+ */
+public final class StampedLockListeners<I> extends ListenersWrapper<I> {
+
+    private final StampedLock lock_ = new StampedLock();
+    /**
+     * The cached snapshot, {@code null} if the collection was modified.
+     */
+    private volatile List<I> snapshot_;
+
+    /**
+     * Constructs a new StampedLockListeners with the specified listeners.
+     *
+     * @param listeners the collection of listeners.
+     */
+    public StampedLockListeners(Listeners<I> listeners) {
+        super(listeners);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(I item) {
+        long stamp = lock_.writeLock();
+        try {
+            listeners_.add(item);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void addWithPriority(I item, int priority) {
+        long stamp = lock_.writeLock();
+        try {
+            super.addWithPriority(item, priority);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addFirst(I item) {
+        long stamp = lock_.writeLock();
+        try {
+            listeners_.addFirst(item);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addBefore(I item, I prior) {
+        long stamp = lock_.writeLock();
+        try {
+            listeners_.addBefore(item, prior);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addAfter(I item, I next) {
+        long stamp = lock_.writeLock();
+        try {
+            listeners_.addAfter(item, next);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addAll(Collection<? extends I> items) {
+        long stamp = lock_.writeLock();
+        try {
+            listeners_.addAll(items);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Subscription subscribe(I item) {
+        final Subscription subscription;
+        long stamp = lock_.writeLock();
+        try {
+            subscription = listeners_.subscribe(item);
+        } finally {
+            unlockWrite(stamp);
+        }
+        return () -> close(subscription);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    Subscription subscribeWithPriority(I item, int priority) {
+        final Subscription subscription;
+        long stamp = lock_.writeLock();
+        try {
+            subscription = super.subscribeWithPriority(item, priority);
+        } finally {
+            unlockWrite(stamp);
+        }
+        return () -> close(subscription);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(I item) {
+        long stamp = lock_.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                boolean result = listeners_.contains(item);
+                if (lock_.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // The read overlapped a modification and observed an inconsistent state, repeat it under the lock.
+                if (lock_.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = lock_.readLock();
+        try {
+            return listeners_.contains(item);
+        } finally {
+            lock_.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The check is made under the read lock: it is called only after the collection was modified during
+     * a distribution.
+     */
+    @Override
+    public boolean isRemovedSince(I item, long version) {
+        long stamp = lock_.readLock();
+        try {
+            return listeners_.isRemovedSince(item, version);
+        } finally {
+            lock_.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void remove(I item) {
+        long stamp = lock_.writeLock();
+        try {
+            listeners_.remove(item);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeAll(Collection<? extends I> items) {
+        long stamp = lock_.writeLock();
+        try {
+            listeners_.removeAll(items);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The whole batch is applied under a single write lock acquisition.
+     */
+    @Override
+    public void batch(Consumer<? super Listeners<I>> action) {
+        long stamp = lock_.writeLock();
+        try {
+            listeners_.batch(action);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        long stamp = lock_.writeLock();
+        try {
+            listeners_.clear();
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        long stamp = lock_.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                int result = listeners_.size();
+                if (lock_.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // The read overlapped a modification and observed an inconsistent state, repeat it under the lock.
+                if (lock_.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = lock_.readLock();
+        try {
+            return listeners_.size();
+        } finally {
+            lock_.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] toArray() {
+        long stamp = lock_.readLock();
+        try {
+            return listeners_.toArray();
+        } finally {
+            lock_.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The snapshot is cached until the next modification and returned without locking.
+     */
+    @Override
+    public List<I> snapshot() {
+        List<I> snapshot = snapshot_;
+        if (snapshot == null) {
+            long stamp = lock_.readLock();
+            try {
+                snapshot = listeners_.snapshot();
+                snapshot_ = snapshot;
+            } finally {
+                lock_.unlockRead(stamp);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The version is read without locking: the built-in stores publish it through a volatile field.
+     */
+    @Override
+    public long getVersion() {
+        return listeners_.getVersion();
+    }
+
+    private void close(Subscription subscription) {
+        long stamp = lock_.writeLock();
+        try {
+            subscription.close();
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Invalidates the cached snapshot and releases the write lock.
+     * <p>
+     * The snapshot is invalidated while the lock is held, so a reader can not cache a snapshot taken before
+     * the modification after it is invalidated.
+     */
+    private void unlockWrite(long stamp) {
+        snapshot_ = null;
+        lock_.unlockWrite(stamp);
+    }
+}
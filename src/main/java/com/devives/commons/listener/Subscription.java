@@ -0,0 +1,45 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.listener;
+
+/**
+ * A handle of a listener registration returned by {@link Listeners#subscribe(Object)}.
+ * <p>
+ * Closing the handle unregisters the registration it was returned for, without calling {@link Object#equals}.
+ * Stores that keep listeners in nodes, such as {@link LinkedListenersStore} and {@link WeakListenersStore},
+ * remove the node of the registration in constant time. Array based stores, such as {@link ListenersStore}
+ * and {@link ConcurrentListeners}, search the registered instance by identity in linear time, so if the same
+ * instance is registered several times, the first registration of the instance is removed.
+ * {@link IndexedListeners} removes the listener from its index in constant time.
+ * <pre>{@code
+ * Subscription subscription = listeners.subscribe(listener);
+ * ...
+ * subscription.close();
+ * }</pre>
+ *
+ * @since 0.9.0
+ */
+@FunctionalInterface
+public interface Subscription extends AutoCloseable {
+
+    /**
+     * Unregisters the listener. Repeated calls have no effect.
+     */
+    @Override
+    void close();
+
+}
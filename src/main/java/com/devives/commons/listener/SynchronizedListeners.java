@@ -16,6 +16,10 @@
  */
 package com.devives.commons.listener;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
 /**
  * A class that extends ListenersWrapper and provides a way to synchronize access to listeners.
  *
@@ -46,6 +50,16 @@ public final class SynchronizedListeners<I> extends ListenersWrapper<I> {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void addWithPriority(I item, int priority) {
+        synchronized (mutex_) {
+            super.addWithPriority(item, priority);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -76,6 +90,48 @@ public final class SynchronizedListeners<I> extends ListenersWrapper<I> {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addAll(Collection<? extends I> items) {
+        synchronized (mutex_) {
+            listeners_.addAll(items);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Subscription subscribe(I item) {
+        final Subscription subscription;
+        synchronized (mutex_) {
+            subscription = listeners_.subscribe(item);
+        }
+        return () -> {
+            synchronized (mutex_) {
+                subscription.close();
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    Subscription subscribeWithPriority(I item, int priority) {
+        final Subscription subscription;
+        synchronized (mutex_) {
+            subscription = super.subscribeWithPriority(item, priority);
+        }
+        return () -> {
+            synchronized (mutex_) {
+                subscription.close();
+            }
+        };
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -86,6 +142,16 @@ public final class SynchronizedListeners<I> extends ListenersWrapper<I> {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRemovedSince(I item, long version) {
+        synchronized (mutex_) {
+            return listeners_.isRemovedSince(item, version);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -96,6 +162,28 @@ public final class SynchronizedListeners<I> extends ListenersWrapper<I> {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeAll(Collection<? extends I> items) {
+        synchronized (mutex_) {
+            listeners_.removeAll(items);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The whole batch is applied under a single lock acquisition.
+     */
+    @Override
+    public void batch(Consumer<? super Listeners<I>> action) {
+        synchronized (mutex_) {
+            listeners_.batch(action);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -125,4 +213,25 @@ public final class SynchronizedListeners<I> extends ListenersWrapper<I> {
             return listeners_.toArray();
         }
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<I> snapshot() {
+        synchronized (mutex_) {
+            return listeners_.snapshot();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The version is read without locking: the built-in stores publish it through a volatile field, so a reader
+     * observes either the version before a modification or the version after it.
+     */
+    @Override
+    public long getVersion() {
+        return listeners_.getVersion();
+    }
 }
@@ -0,0 +1,356 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.listener;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A store of listeners that holds listeners by weak references.
+ * <p>
+ * A listener that is no longer strongly reachable from anywhere else is garbage collected and disappears
+ * from the collection, even if its owner never called {@link #remove(Object)}. The references of collected
+ * listeners are enqueued by the garbage collector and purged incrementally from the {@link ReferenceQueue}
+ * at the beginning of every operation, without scanning the collection.
+ * <p>
+ * The store keeps its own snapshot of references, which is rebuilt only after a mutation or a purge.
+ * {@link #toArray()} resolves the references of the snapshot into a new array, so the store must not be
+ * decorated with {@link CachedListeners}: the cached array would keep the listeners strongly reachable.
+ * <p>
+ * Lambdas and anonymous classes which are referenced only by the store are collected at the next GC,
+ * so the owner must keep a strong reference to the listener as long as it should be notified.
+ * <p>
+ * The class is not thread-safe, use {@link SynchronizedListeners} for concurrent access.
+ *
+ * @param <I> the type of listener.
+ * @see ListenersBuilder#setWeak()
+ * @since 0.9.0
+ */
+public final class WeakListenersStore<I> implements Listeners<I> {
+
+    private static final Node<?>[] EMPTY_SNAPSHOT = new Node<?>[0];
+
+    private final ReferenceQueue<I> queue_ = new ReferenceQueue<>();
+    private final boolean identity_;
+    private Node<I> head_;
+    private Node<I> tail_;
+    private int size_;
+    private volatile long version_;
+    private final RemovalLog removals_ = new RemovalLog();
+    /**
+     * The cached snapshot of nodes, {@code null} if the collection was modified.
+     */
+    private Node<I>[] snapshot_;
+
+    /**
+     * Constructs a new empty WeakListenersStore.
+     */
+    public WeakListenersStore() {
+        this(false);
+    }
+
+    /**
+     * Constructs a new empty WeakListenersStore with the specified comparison mode.
+     *
+     * @param identity if {@code true}, listeners are compared by identity instead of {@link Object#equals(Object)}.
+     */
+    public WeakListenersStore(boolean identity) {
+        identity_ = identity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(I item) {
+        Objects.requireNonNull(item, "item");
+        expunge();
+        linkBefore(new Node<>(item, queue_), null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addFirst(I item) {
+        Objects.requireNonNull(item, "item");
+        expunge();
+        linkBefore(new Node<>(item, queue_), head_);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addBefore(I item, I prior) {
+        Objects.requireNonNull(item, "item");
+        Objects.requireNonNull(prior, "prior");
+        expunge();
+        Node<I> priorNode = find(prior);
+        if (priorNode == null) {
+            throw new IndexOutOfBoundsException(String.valueOf(-1));
+        }
+        linkBefore(new Node<>(item, queue_), priorNode);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addAfter(I item, I next) {
+        Objects.requireNonNull(item, "item");
+        Objects.requireNonNull(next, "next");
+        expunge();
+        Node<I> nextNode = find(next);
+        if (nextNode == null) {
+            throw new IndexOutOfBoundsException(String.valueOf(-1));
+        }
+        linkBefore(new Node<>(item, queue_), nextNode.next);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Closing the handle unlinks the node of the registration in constant time.
+     */
+    @Override
+    public Subscription subscribe(I item) {
+        Objects.requireNonNull(item, "item");
+        expunge();
+        Node<I> node = new Node<>(item, queue_);
+        linkBefore(node, null);
+        return new OnceSubscription(() -> {
+            expunge();
+            if (node.linked) {
+                unlink(node);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(I item) {
+        Objects.requireNonNull(item, "item");
+        expunge();
+        return find(item) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void remove(I item) {
+        Objects.requireNonNull(item, "item");
+        expunge();
+        Node<I> node = find(item);
+        if (node != null) {
+            unlink(node);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        for (Node<I> node = head_; node != null; node = node.next) {
+            node.linked = false;
+        }
+        head_ = null;
+        tail_ = null;
+        size_ = 0;
+        removals_.clear(++version_);
+        snapshot_ = null;
+        expunge();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The value includes listeners which are already collected, but whose references are not enqueued yet.
+     */
+    @Override
+    public int size() {
+        expunge();
+        return size_;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return new instance of array containing the listeners which are not collected.
+     */
+    @Override
+    public Object[] toArray() {
+        expunge();
+        Node<I>[] snapshot = getSnapshot();
+        Object[] array = new Object[snapshot.length];
+        int count = 0;
+        for (Node<I> node : snapshot) {
+            I listener = node.get();
+            if (listener != null) {
+                array[count++] = listener;
+            }
+        }
+        if (count < array.length) {
+            Object[] trimmed = new Object[count];
+            System.arraycopy(array, 0, trimmed, 0, count);
+            array = trimmed;
+        }
+        return array;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getVersion() {
+        return version_;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The removals are looked up in the log of the last removals, the collection is searched only if the log
+     * contains a listener with the same identity hash code, or does not cover the version.
+     */
+    @Override
+    public boolean isRemovedSince(I item, long version) {
+        Objects.requireNonNull(item, "item");
+        return removals_.mayBeRemovedSince(item, version) && !contains(item);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The traversal walks the cached snapshot of references and does not allocate.
+     */
+    @Override
+    public void forEach(Consumer<? super I> action) {
+        Objects.requireNonNull(action, "action");
+        expunge();
+        for (Node<I> node : getSnapshot()) {
+            I listener = node.get();
+            if (listener != null) {
+                action.accept(listener);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<I>[] getSnapshot() {
+        if (snapshot_ == null) {
+            if (size_ == 0) {
+                snapshot_ = (Node<I>[]) EMPTY_SNAPSHOT;
+            } else {
+                Node<I>[] snapshot = (Node<I>[]) new Node<?>[size_];
+                int i = 0;
+                for (Node<I> node = head_; node != null; node = node.next) {
+                    snapshot[i++] = node;
+                }
+                snapshot_ = snapshot;
+            }
+        }
+        return snapshot_;
+    }
+
+    /**
+     * Purges the nodes of collected listeners enqueued by the garbage collector.
+     */
+    @SuppressWarnings("unchecked")
+    private void expunge() {
+        Reference<? extends I> reference;
+        while ((reference = queue_.poll()) != null) {
+            Node<I> node = (Node<I>) reference;
+            if (node.linked) {
+                unlink(node);
+            }
+        }
+    }
+
+    private Node<I> find(I item) {
+        for (Node<I> node = head_; node != null; node = node.next) {
+            if (identity_ ? item == node.get() : item.equals(node.get())) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    private void linkBefore(Node<I> node, Node<I> successor) {
+        Node<I> predecessor = successor != null ? successor.prev : tail_;
+        node.linked = true;
+        node.prev = predecessor;
+        node.next = successor;
+        if (predecessor != null) {
+            predecessor.next = node;
+        } else {
+            head_ = node;
+        }
+        if (successor != null) {
+            successor.prev = node;
+        } else {
+            tail_ = node;
+        }
+        size_++;
+        version_++;
+        snapshot_ = null;
+    }
+
+    private void unlink(Node<I> node) {
+        node.linked = false;
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            head_ = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        } else {
+            tail_ = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+        size_--;
+        version_++;
+        I listener = node.get();
+        if (listener != null) {
+            removals_.add(listener, version_);
+        }
+        snapshot_ = null;
+    }
+
+    /**
+     * Node of the linked list, which refers to the listener weakly.
+     *
+     * @param <I> the type of listener.
+     */
+    private static final class Node<I> extends WeakReference<I> {
+        private boolean linked;
+        private Node<I> prev;
+        private Node<I> next;
+
+        private Node(I item, ReferenceQueue<? super I> queue) {
+            super(item, queue);
+        }
+    }
+}
@@ -16,9 +16,15 @@
  */
 package com.devives.commons.publisher;
 
+import com.devives.commons.lang.ExceptionUtils;
 import com.devives.commons.listener.Listeners;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 
@@ -28,7 +34,10 @@ import java.util.function.Consumer;
  * @param <I> the type of listener.
  */
 public abstract class AbstractDistributor<I> implements Distributor<I> {
+    private static final BiConsumer<Object, Consumer<Object>> ACCEPT = (listener, consumer) -> consumer.accept(listener);
+
     private final BiPredicate<I, Listeners<I>> listenerPresenceChecker_;
+    private final boolean versionedPresenceCheck_;
     private final Consumer<Exception> errorHandler_;
 
     /**
@@ -39,6 +48,28 @@ public abstract class AbstractDistributor<I> implements Distributor<I> {
      */
     protected AbstractDistributor(BiPredicate<I, Listeners<I>> listenerPresenceChecker, Consumer<Exception> errorHandler) {
         listenerPresenceChecker_ = Objects.requireNonNull(listenerPresenceChecker);
+        versionedPresenceCheck_ = false;
+        errorHandler_ = Objects.requireNonNull(errorHandler);
+    }
+
+    /**
+     * Constructs a new AbstractDistributor with the specified listener presence check mode and error handler.
+     * <p>
+     * If the presence check is enabled, the distributor relies on {@link Listeners#getVersion()}: while the version
+     * of the collection remains the one read before taking the snapshot, the listeners of the snapshot are known to be
+     * present. After the collection is modified during the distribution, the remaining listeners are checked with
+     * {@link Listeners#isRemovedSince(Object, long)}, and {@link Listeners#contains(Object)} is called only if
+     * the collection does not track modifications.
+     *
+     * @param listenerPresenceCheck if {@code true}, listeners removed during the distribution are skipped.
+     * @param errorHandler the error handler.
+     * @since 0.9.0
+     */
+    protected AbstractDistributor(boolean listenerPresenceCheck, Consumer<Exception> errorHandler) {
+        listenerPresenceChecker_ = listenerPresenceCheck
+                ? ((listener, listeners) -> listeners.contains(listener))
+                : ((listener, listeners) -> true);
+        versionedPresenceCheck_ = listenerPresenceCheck;
         errorHandler_ = Objects.requireNonNull(errorHandler);
     }
 
@@ -55,6 +86,41 @@ public abstract class AbstractDistributor<I> implements Distributor<I> {
         return listenerPresenceChecker_.test(listener, listeners);
     }
 
+    /**
+     * Returns the version of the collection to pass to {@link #isListenerPresent(Object, Listeners, long)}.
+     * <p>
+     * The version must be read before taking the snapshot of the collection.
+     *
+     * @param listeners the collection of listeners.
+     * @return the version of the collection, or {@link Listeners#UNVERSIONED} if the version based presence check
+     * is not enabled.
+     * @since 0.9.0
+     */
+    protected final long getListenersVersion(Listeners<I> listeners) {
+        return versionedPresenceCheck_ ? listeners.getVersion() : Listeners.UNVERSIONED;
+    }
+
+    /**
+     * Checks if a listener of the snapshot is still present in the collection.
+     * <p>
+     * If the collection was not modified since the {@code version} was read, the listener is present. Otherwise
+     * the collection is asked by {@link Listeners#isRemovedSince(Object, long)} whether the listener was removed
+     * since the version, which the built-in stores answer from the log of their removals, without searching
+     * the collection. The presence checker is called only for collections which do not track modifications.
+     *
+     * @param listener the listener to check.
+     * @param listeners the collection of listeners.
+     * @param version the version returned by {@link #getListenersVersion(Listeners)} before taking the snapshot.
+     * @return true if the listener is present, false otherwise.
+     * @since 0.9.0
+     */
+    protected final boolean isListenerPresent(I listener, Listeners<I> listeners, long version) {
+        if (version != Listeners.UNVERSIONED) {
+            return version == listeners.getVersion() || !listeners.isRemovedSince(listener, version);
+        }
+        return listenerPresenceChecker_.test(listener, listeners);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -67,6 +133,51 @@ public abstract class AbstractDistributor<I> implements Distributor<I> {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @since 0.9.0
+     */
+    @Override
+    public final <A> void distribute(BiConsumer<I, A> consumer, A argument, Listeners<I> listeners) {
+        try {
+            doDistribution(consumer, argument, listeners);
+        } catch (Exception exception) {
+            errorHandler_.accept(exception);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 0.9.0
+     */
+    @Override
+    public final <A> void distributeAll(BiConsumer<I, A> consumer, Collection<? extends A> arguments, Listeners<I> listeners) {
+        try {
+            doDistributionAll(consumer, arguments, listeners);
+        } catch (Exception exception) {
+            errorHandler_.accept(exception);
+        }
+    }
+
+    /**
+     * Passes an exception raised outside of {@link #distribute(Consumer, Listeners)} to the error handler.
+     * <p>
+     * Intended for distributors that call listeners on other threads. If the error handler throws an exception,
+     * the exception is passed to the uncaught exception handler of the current thread, so that thread keeps running.
+     *
+     * @param exception the exception.
+     * @since 0.9.0
+     */
+    protected final void handleError(Exception exception) {
+        try {
+            errorHandler_.accept(exception);
+        } catch (RuntimeException e) {
+            ExceptionUtils.handleUncaught(e);
+        }
+    }
+
     /**
      * Distributes an event to all listeners in the collection.
      *
@@ -75,5 +186,124 @@ public abstract class AbstractDistributor<I> implements Distributor<I> {
      */
     protected abstract void doDistribution(Consumer<I> consumer, Listeners<I> listeners);
 
+    /**
+     * Distributes an event to all listeners in the collection by applying the consumer with the argument.
+     * <p>
+     * The default implementation wraps the consumer and calls {@link #doDistribution(Consumer, Listeners)}.
+     * Implementations which override the method to avoid the wrapper can implement
+     * {@link #doDistribution(Consumer, Listeners)} as {@code doDistribution(acceptor(), consumer, listeners)}.
+     *
+     * @param consumer the consumer that will be called for each listener and the argument.
+     * @param argument the argument passed to the consumer.
+     * @param listeners the collection of listeners.
+     * @param <A> the type of argument.
+     * @since 0.9.0
+     */
+    protected <A> void doDistribution(BiConsumer<I, A> consumer, A argument, Listeners<I> listeners) {
+        doDistribution(listener -> consumer.accept(listener, argument), listeners);
+    }
+
+    /**
+     * Distributes a batch of events to all listeners in the collection by applying the consumer with each argument.
+     * <p>
+     * The default implementation calls {@link #doDistribution(BiConsumer, Object, Listeners)} for each argument,
+     * so the batch is delivered as the distributor delivers single events, and collects the exceptions
+     * into an {@link com.devives.commons.lang.exception.AggregateException} thrown after the last argument.
+     * Synchronous distributors override the method with {@link #doListenerMajorDistribution}.
+     *
+     * @param consumer the consumer that will be called for each listener and argument.
+     * @param arguments the arguments passed to the consumer.
+     * @param listeners the collection of listeners.
+     * @param <A> the type of argument.
+     * @since 0.9.0
+     */
+    protected <A> void doDistributionAll(BiConsumer<I, A> consumer, Collection<? extends A> arguments, Listeners<I> listeners) {
+        List<Exception> exceptionList = null;
+        for (A argument : arguments) {
+            try {
+                doDistribution(consumer, argument, listeners);
+            } catch (Exception e) {
+                if (exceptionList == null) {
+                    exceptionList = new ArrayList<>();
+                }
+                exceptionList.add(e);
+            }
+        }
+        if (exceptionList != null) {
+            ExceptionUtils.throwCollected(exceptionList);
+        }
+    }
+
+    /**
+     * Delivers a batch of events on the current thread, listener by listener.
+     * <p>
+     * One snapshot of the collection is taken for the batch. Each listener of the snapshot receives all arguments
+     * in the iteration order of the collection before the next listener is called, and stops receiving them
+     * once it is removed from the collection. Exceptions thrown by the consumer are collected into
+     * an {@link com.devives.commons.lang.exception.AggregateException} thrown after the whole batch is delivered.
+     *
+     * @param consumer the consumer that will be called for each listener and argument.
+     * @param arguments the arguments passed to the consumer.
+     * @param listeners the collection of listeners.
+     * @param <A> the type of argument.
+     * @since 0.9.0
+     */
+    protected final <A> void doListenerMajorDistribution(BiConsumer<I, A> consumer, Collection<? extends A> arguments,
+                                                          Listeners<I> listeners) {
+        List<? extends A> list = toRandomAccessList(arguments);
+        int count = list.size();
+        List<Exception> exceptionList = null;
+        long version = getListenersVersion(listeners);
+        List<I> snapshot = listeners.snapshot();
+        for (int i = 0, size = snapshot.size(); i < size; i++) {
+            I listener = snapshot.get(i);
+            for (int j = 0; j < count; j++) {
+                try {
+                    if (!isListenerPresent(listener, listeners, version)) {
+                        break;
+                    }
+                    consumer.accept(listener, list.get(j));
+                } catch (Exception e) {
+                    if (exceptionList == null) {
+                        exceptionList = new ArrayList<>();
+                    }
+                    exceptionList.add(e);
+                }
+            }
+        }
+        if (exceptionList != null) {
+            ExceptionUtils.throwCollected(exceptionList);
+        }
+    }
+
+    /**
+     * Returns the arguments as a list with constant time positional access, copying them if necessary,
+     * so that the batch can be walked by index for every listener.
+     *
+     * @param arguments the arguments.
+     * @param <A> the type of argument.
+     * @return the list of arguments.
+     * @since 0.9.0
+     */
+    protected static <A> List<? extends A> toRandomAccessList(Collection<? extends A> arguments) {
+        Objects.requireNonNull(arguments, "arguments");
+        if (arguments instanceof List && arguments instanceof RandomAccess) {
+            return (List<? extends A>) arguments;
+        }
+        return new ArrayList<>(arguments);
+    }
+
+    /**
+     * Returns the shared consumer which applies its argument, a {@link Consumer} of listener, to the listener.
+     *
+     * @param <I> the type of listener.
+     * @return the shared consumer.
+     * @since 0.9.0
+     */
+    @SuppressWarnings("unchecked")
+    protected static <I> BiConsumer<I, Consumer<I>> acceptor() {
+        return (BiConsumer<I, Consumer<I>>) (BiConsumer<?, ?>) ACCEPT;
+    }
+
 }
 
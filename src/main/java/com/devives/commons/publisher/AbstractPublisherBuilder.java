@@ -17,12 +17,15 @@
 package com.devives.commons.publisher;
 
 import com.devives.commons.lang.ExceptionUtils;
+import com.devives.commons.lang.Validate;
 import com.devives.commons.listener.Listeners;
 import com.devives.commons.listener.ListenersBuilder;
 
 import java.util.Objects;
-import java.util.function.BiPredicate;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Abstract {@link Publisher} builder.
@@ -39,6 +42,17 @@ public abstract class AbstractPublisherBuilder<I, B, SELF extends AbstractPublis
     private final ListenersBuilder<I> listenersBuilder_ = Listeners.builder();
     private boolean listenerPresenceCheck_ = false;
     private boolean independentDelivery_ = false;
+    private Executor asyncExecutor_ = null;
+    private int parallelThreshold_ = 0;
+    private ForkJoinPool parallelPool_ = null;
+    private RingBuffer ringBuffer_ = null;
+    private boolean virtualThreadDelivery_ = false;
+    private PartitionLanes partitionLanes_ = null;
+    private Function<Object, ?> partitionKeyExtractor_ = null;
+    private QuarantinePolicy quarantinePolicy_ = null;
+    private String metricsPublisher_ = null;
+    private ListenerMetricsSink metricsSink_ = null;
+    private int metricsSampleInterval_ = 1;
     private Consumer<Exception> errorHandler_ = DEFAULT_ERROR_HANDLER;
 
     protected AbstractPublisherBuilder() {
@@ -57,6 +71,9 @@ public abstract class AbstractPublisherBuilder<I, B, SELF extends AbstractPublis
 
     /**
      * Enables checking the presence of a listener in the collection {@link Publisher#getListeners()}, before calling the handler.
+     * <p>
+     * The check calls {@link Listeners#contains(Object)} only if the collection was modified during the distribution,
+     * see {@link Listeners#getVersion()}.
      *
      * @param value new value.
      * @return this builder.
@@ -101,6 +118,176 @@ public abstract class AbstractPublisherBuilder<I, B, SELF extends AbstractPublis
         return setIndependentDelivery(true);
     }
 
+    /**
+     * Make delivery of events asynchronous.
+     * <p>
+     * The listeners are called on the specified executor. Each listener receives events one at a time, in the order
+     * of publication, and the publishing thread does not wait for listeners. Delivery to different listeners is
+     * independent, so {@link #setIndependentDelivery(boolean)} is ignored.
+     * <p>
+     * Exceptions thrown by listeners are passed to the error handler on the executor threads. If the error handler
+     * throws, the exception is passed to the uncaught exception handler of the executor thread.
+     *
+     * @param executor the executor which calls the listeners.
+     * @return this builder.
+     * @see AsyncDistributor
+     * @since 0.9.0
+     */
+    public SELF setAsyncDelivery(Executor executor) {
+        asyncExecutor_ = Objects.requireNonNull(executor, "executor");
+        return (SELF) this;
+    }
+
+    /**
+     * Make delivery of events parallel on the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param threshold the maximum number of listeners delivered sequentially on the publishing thread.
+     * @return this builder.
+     * @see #setParallelDelivery(int, ForkJoinPool)
+     * @since 0.9.0
+     */
+    public SELF setParallelDelivery(int threshold) {
+        return setParallelDelivery(threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Make delivery of events parallel.
+     * <p>
+     * If the collection has more listeners than the threshold, the listeners are split into subtasks executed by the
+     * pool, and the publication returns when all listeners have been called. Smaller collections are delivered
+     * sequentially. Delivery is independent, so {@link #setIndependentDelivery(boolean)} is ignored.
+     * Can not be combined with {@link #setAsyncDelivery(Executor)}.
+     *
+     * @param threshold the maximum number of listeners delivered sequentially on the publishing thread.
+     * @param pool the pool which calls the listeners.
+     * @return this builder.
+     * @see ParallelDistributor
+     * @since 0.9.0
+     */
+    public SELF setParallelDelivery(int threshold, ForkJoinPool pool) {
+        parallelThreshold_ = Validate.greater(threshold, 0);
+        parallelPool_ = Objects.requireNonNull(pool, "pool");
+        return (SELF) this;
+    }
+
+    /**
+     * Make delivery of events go through a ring buffer.
+     * <p>
+     * The publishing thread stores the event into a preallocated slot of the ring buffer and returns, the consumer
+     * thread of the ring buffer calls the listeners in the order of publication. If the ring is full, the publishing
+     * thread waits according to the {@link RingBuffer.WaitStrategy wait strategy} of the ring buffer.
+     * {@link #setIndependentDelivery(boolean)} is respected. Exceptions are passed to the error handler on the consumer
+     * thread. Can not be combined with {@link #setAsyncDelivery(Executor)} and {@link #setParallelDelivery(int)}.
+     *
+     * @param ringBuffer the ring buffer, which is owned and closed by the caller.
+     * @return this builder.
+     * @see RingBufferDistributor
+     * @since 0.9.0
+     */
+    public SELF setRingBufferDelivery(RingBuffer ringBuffer) {
+        ringBuffer_ = Objects.requireNonNull(ringBuffer, "ringBuffer");
+        return (SELF) this;
+    }
+
+    /**
+     * Make delivery of events run each listener on its own virtual thread.
+     * <p>
+     * On Java 21 and later the publication starts a virtual thread per listener and returns when all listeners
+     * have been called, on earlier versions listeners are called sequentially on the publishing thread.
+     * Delivery is independent on every version, so {@link #setIndependentDelivery(boolean)} is ignored.
+     * Can not be combined with {@link #setAsyncDelivery(Executor)}, {@link #setParallelDelivery(int)}
+     * and {@link #setRingBufferDelivery(RingBuffer)}.
+     *
+     * @return this builder.
+     * @see VirtualThreadDistributor
+     * @since 0.9.0
+     */
+    public SELF setVirtualThreadDelivery() {
+        virtualThreadDelivery_ = true;
+        return (SELF) this;
+    }
+
+    /**
+     * Make delivery of events partitioned by key.
+     * <p>
+     * The key extracted from the argument of each publication, the event for event sources, selects a lane of the
+     * specified lanes. Each lane calls the listeners on the executor of the lanes, one event at a time and in the order
+     * of publication, so events with the same key are delivered in order, while events with different keys may be
+     * delivered concurrently and listeners must be thread-safe. Publications without an argument use the lane of the
+     * {@code null} key. If the lane is full, the publishing thread waits. {@link #setIndependentDelivery(boolean)}
+     * is respected. Exceptions are passed to the error handler on the lane thread.
+     * Can not be combined with {@link #setAsyncDelivery(Executor)}, {@link #setParallelDelivery(int)},
+     * {@link #setRingBufferDelivery(RingBuffer)} and {@link #setVirtualThreadDelivery()}.
+     *
+     * @param keyExtractor the function which returns the key of the argument of a publication.
+     * @param lanes the lanes, which are owned and closed by the caller.
+     * @param <A> the type of argument.
+     * @return this builder.
+     * @see PartitionedDistributor
+     * @since 0.9.0
+     */
+    public <A> SELF setPartitionedDelivery(Function<? super A, ?> keyExtractor, PartitionLanes lanes) {
+        partitionKeyExtractor_ = (Function<Object, ?>) Objects.requireNonNull(keyExtractor, "keyExtractor");
+        partitionLanes_ = Objects.requireNonNull(lanes, "lanes");
+        return (SELF) this;
+    }
+
+    /**
+     * Make delivery of events independent and isolate misbehaving listeners.
+     * <p>
+     * Listeners which exceed the time budget of the policy or keep failing are skipped for an exponentially growing
+     * quarantine, and each quarantine is reported to the error handler by {@link ListenerQuarantinedException}.
+     * Implies {@link #setIndependentDelivery(boolean)}. Can not be combined with {@link #setAsyncDelivery(Executor)},
+     * {@link #setParallelDelivery(int)}, {@link #setRingBufferDelivery(RingBuffer)}, {@link #setVirtualThreadDelivery()}
+     * and {@link #setPartitionedDelivery(Function, PartitionLanes)}.
+     *
+     * @param quarantinePolicy the quarantine policy.
+     * @return this builder.
+     * @see IndependentDistributor#IndependentDistributor(boolean, QuarantinePolicy, Consumer)
+     * @since 0.9.0
+     */
+    public SELF setQuarantinePolicy(QuarantinePolicy quarantinePolicy) {
+        quarantinePolicy_ = Objects.requireNonNull(quarantinePolicy, "quarantinePolicy");
+        return (SELF) this;
+    }
+
+    /**
+     * Record the metrics of listener calls.
+     * <p>
+     * The distributor is decorated by {@link InstrumentedDistributor}, which reports the duration and the outcome
+     * of every listener call to the sink, per listener class and publisher name. Without metrics the distributor
+     * is not decorated.
+     *
+     * @param publisher the name of the publisher reported to the sink.
+     * @param sink the receiver of the metrics, for example {@link InMemoryListenerMetricsSink}.
+     * @return this builder.
+     * @since 0.9.0
+     */
+    public SELF setMetrics(String publisher, ListenerMetricsSink sink) {
+        return setMetrics(publisher, sink, 1);
+    }
+
+    /**
+     * Record the metrics of listener calls, measuring the duration of a sample of the calls.
+     * <p>
+     * Every call is counted, the duration of one call in {@code sampleInterval} on average is measured, so the cost
+     * of the two {@link System#nanoTime()} calls is paid for the sampled calls only. The latency histogram counts
+     * the sampled calls.
+     *
+     * @param publisher the name of the publisher reported to the sink.
+     * @param sink the receiver of the metrics, for example {@link InMemoryListenerMetricsSink}.
+     * @param sampleInterval the average number of calls per measured call, {@code 1} measures every call.
+     * @return this builder.
+     * @see InstrumentedDistributor#InstrumentedDistributor(Distributor, String, ListenerMetricsSink, int)
+     * @since 0.9.0
+     */
+    public SELF setMetrics(String publisher, ListenerMetricsSink sink, int sampleInterval) {
+        metricsPublisher_ = Objects.requireNonNull(publisher, "publisher");
+        metricsSink_ = Objects.requireNonNull(sink, "sink");
+        metricsSampleInterval_ = Validate.greater(sampleInterval, 0);
+        return (SELF) this;
+    }
+
     /**
      * Set an error handler.
      *
@@ -116,21 +303,58 @@ public abstract class AbstractPublisherBuilder<I, B, SELF extends AbstractPublis
      * Build {@link Publisher} instance.
      *
      * @return new {@link Publisher} instance.
+     * @throws IllegalStateException if mutually exclusive delivery options are set.
      */
     public B build() {
+        if ((asyncExecutor_ != null ? 1 : 0) + (parallelPool_ != null ? 1 : 0) + (ringBuffer_ != null ? 1 : 0)
+                + (virtualThreadDelivery_ ? 1 : 0) + (partitionLanes_ != null ? 1 : 0) > 1) {
+            throw new IllegalStateException("The asynchronous, parallel, ring buffer, virtual thread and partitioned delivery can not be combined.");
+        }
+        if (quarantinePolicy_ != null && (asyncExecutor_ != null || parallelPool_ != null || ringBuffer_ != null || virtualThreadDelivery_
+                || partitionLanes_ != null)) {
+            throw new IllegalStateException("The quarantine policy can only be combined with the independent delivery.");
+        }
         Listeners<I> listeners = listenersBuilder_.build();
 
-        BiPredicate<I, Listeners<I>> listenerPresenceChecker = listenerPresenceCheck_
-                ? ((aListener, aListeners) -> aListeners.contains(aListener))
-                : ((aListener, aListeners) -> true);
-
-        Distributor<I> distributor = independentDelivery_
-                ? new IndependentDistributor<>(listenerPresenceChecker, errorHandler_)
-                : new DefaultDistributor<>(listenerPresenceChecker, errorHandler_);
+        Distributor<I> distributor;
+        if (asyncExecutor_ != null) {
+            distributor = new AsyncDistributor<>(asyncExecutor_, listenerPresenceCheck_, errorHandler_);
+        } else if (ringBuffer_ != null) {
+            distributor = new RingBufferDistributor<>(ringBuffer_, independentDelivery_, listenerPresenceCheck_, errorHandler_);
+        } else if (virtualThreadDelivery_) {
+            distributor = new VirtualThreadDistributor<>(listenerPresenceCheck_, errorHandler_);
+        } else if (partitionLanes_ != null) {
+            distributor = new PartitionedDistributor<>(partitionLanes_, partitionKeyExtractor_, independentDelivery_,
+                    listenerPresenceCheck_, errorHandler_);
+        } else if (parallelPool_ != null) {
+            distributor = new ParallelDistributor<>(parallelThreshold_, parallelPool_, listenerPresenceCheck_, errorHandler_);
+        } else if (quarantinePolicy_ != null) {
+            distributor = new IndependentDistributor<>(listenerPresenceCheck_, quarantinePolicy_, errorHandler_);
+        } else if (independentDelivery_) {
+            distributor = new IndependentDistributor<>(listenerPresenceCheck_, errorHandler_);
+        } else {
+            distributor = new DefaultDistributor<>(listenerPresenceCheck_, errorHandler_);
+        }
+        if (metricsSink_ != null) {
+            distributor = new InstrumentedDistributor<>(distributor, metricsPublisher_, metricsSink_,
+                    metricsSampleInterval_);
+        }
 
         return newInstance(listeners, distributor);
     }
 
+    /**
+     * Returns whether the configured delivery calls the listeners on the publishing thread, that is whether none of
+     * the asynchronous, parallel, ring buffer, virtual thread and partitioned delivery is set.
+     *
+     * @return {@code true} if listeners are called on the publishing thread.
+     * @since 0.9.0
+     */
+    protected boolean isPublishingThreadDelivery() {
+        return asyncExecutor_ == null && parallelPool_ == null && ringBuffer_ == null && !virtualThreadDelivery_
+                && partitionLanes_ == null;
+    }
+
     protected abstract B newInstance(Listeners<I> listeners, Distributor<I> distributor);
 }
 
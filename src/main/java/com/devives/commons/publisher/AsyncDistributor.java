@@ -0,0 +1,199 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.listener.Listeners;
+import com.devives.commons.util.concurrent.SerialDrain;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Distributor} implementation that delivers events to listeners asynchronously on an {@link Executor}.
+ * <p>
+ * Each listener has its own mailbox: events are delivered to a listener one at a time, in the order they were
+ * distributed, while different listeners are served by the executor in parallel. The distributing thread only
+ * enqueues the events and never waits for listeners.
+ * <p>
+ * A mailbox is drained by a single executor task, which yields the executor thread after {@value SerialDrain#DRAIN_LIMIT} events
+ * and reschedules itself, so a busy listener does not monopolize a thread. Drained mailboxes are discarded.
+ * <p>
+ * Exceptions thrown by listeners and rejections of the executor are passed to the error handler. If the error handler
+ * throws an exception on an executor thread, the exception is passed to the uncaught exception handler of that thread.
+ * If the listener presence check is enabled, listeners removed from the collection before an event is delivered
+ * to them are skipped.
+ *
+ * @param <I> the type of listeners receiving events
+ * @see PublisherBuilder#setAsyncDelivery(Executor)
+ * @since 0.9.0
+ */
+public final class AsyncDistributor<I> extends AbstractDistributor<I> {
+
+    private final Executor executor_;
+    private final ConcurrentMap<I, Mailbox> mailboxes_ = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an asynchronous distributor.
+     *
+     * @param executor the executor which calls the listeners (non-null)
+     * @param listenerPresenceCheck if {@code true}, listeners removed from the collection before the delivery
+     *        are not notified
+     * @param errorHandler consumer to process exceptions thrown by listeners (non-null)
+     */
+    public AsyncDistributor(Executor executor, boolean listenerPresenceCheck, Consumer<Exception> errorHandler) {
+        super(listenerPresenceCheck, errorHandler);
+        executor_ = Objects.requireNonNull(executor, "executor");
+    }
+
+    /**
+     * Enqueues the event into the mailboxes of all listeners of the snapshot.
+     *
+     * @param consumer the operation to apply to each listener (non-null)
+     * @param listeners the listener collection (non-null)
+     */
+    @Override
+    protected void doDistribution(Consumer<I> consumer, Listeners<I> listeners) {
+        doDistribution(acceptor(), consumer, listeners);
+    }
+
+    /**
+     * Enqueues the event into the mailboxes of all listeners of the snapshot.
+     *
+     * @param consumer the operation to apply to each listener and the argument (non-null)
+     * @param argument the argument passed to the consumer
+     * @param listeners the listener collection (non-null)
+     * @since 0.9.0
+     */
+    @Override
+    protected <A> void doDistribution(BiConsumer<I, A> consumer, A argument, Listeners<I> listeners) {
+        Objects.requireNonNull(consumer, "consumer");
+        List<I> snapshot = listeners.snapshot();
+        for (int i = 0, size = snapshot.size(); i < size; i++) {
+            I listener = snapshot.get(i);
+            Runnable delivery = () -> {
+                if (isListenerPresent(listener, listeners, Listeners.UNVERSIONED)) {
+                    consumer.accept(listener, argument);
+                }
+            };
+            while (!mailboxes_.computeIfAbsent(listener, Mailbox::new).offer(delivery)) {
+                // The mailbox was drained and discarded concurrently, a new one is created on the next attempt.
+            }
+        }
+    }
+
+    /**
+     * Returns the number of events waiting for delivery.
+     *
+     * @return the number of undelivered events.
+     */
+    public int getPendingCount() {
+        int count = 0;
+        for (Mailbox mailbox : mailboxes_.values()) {
+            count += mailbox.size();
+        }
+        return count;
+    }
+
+    /**
+     * The queue of events of one listener.
+     */
+    private final class Mailbox extends SerialDrain {
+        private final I listener_;
+        private final ArrayDeque<Runnable> deliveries_ = new ArrayDeque<>();
+        private boolean scheduled_;
+        private boolean closed_;
+
+        private Mailbox(I listener) {
+            super(executor_);
+            listener_ = listener;
+        }
+
+        /**
+         * Enqueues the delivery and schedules the mailbox, if it is not scheduled yet.
+         *
+         * @return {@code false} if the mailbox is discarded.
+         */
+        boolean offer(Runnable delivery) {
+            synchronized (this) {
+                if (closed_) {
+                    return false;
+                }
+                deliveries_.add(delivery);
+                if (scheduled_) {
+                    return true;
+                }
+                scheduled_ = true;
+            }
+            try {
+                schedule();
+            } catch (RuntimeException e) {
+                onRejected(e);
+            }
+            return true;
+        }
+
+        synchronized int size() {
+            return deliveries_.size();
+        }
+
+        @Override
+        protected boolean runNext() {
+            Runnable delivery;
+            synchronized (this) {
+                delivery = deliveries_.poll();
+                if (delivery == null) {
+                    close();
+                    return false;
+                }
+            }
+            delivery.run();
+            return true;
+        }
+
+        @Override
+        protected void onError(RuntimeException exception) {
+            handleError(exception);
+        }
+
+        /**
+         * Discards the pending deliveries and passes the rejection to the error handler.
+         */
+        @Override
+        protected void onRejected(RuntimeException exception) {
+            synchronized (this) {
+                deliveries_.clear();
+                close();
+            }
+            handleError(exception);
+        }
+
+        /**
+         * Discards the mailbox. Must be called while holding the monitor of the mailbox.
+         */
+        private void close() {
+            scheduled_ = false;
+            closed_ = true;
+            mailboxes_.remove(listener_, this);
+        }
+    }
+}
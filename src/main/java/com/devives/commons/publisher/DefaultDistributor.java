@@ -18,6 +18,9 @@ package com.devives.commons.publisher;
 
 import com.devives.commons.listener.Listeners;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 
@@ -44,30 +47,74 @@ public final class DefaultDistributor<I> extends AbstractDistributor<I> {
         super(listenerPresenceChecker, errorHandler);
     }
 
+    /**
+     * Constructs a new distributor with the version based listener presence check.
+     *
+     * @param listenerPresenceCheck if {@code true}, listeners removed from the collection during the distribution
+     *        are not notified
+     * @param errorHandler consumer that processes exceptions during distribution (non-null)
+     * @see AbstractDistributor#AbstractDistributor(boolean, Consumer)
+     * @since 0.9.0
+     */
+    public DefaultDistributor(boolean listenerPresenceCheck, Consumer<Exception> errorHandler) {
+        super(listenerPresenceCheck, errorHandler);
+    }
+
     /**
      * Sequentially delivers the event to all valid listeners, stopping on first error.
      * <p>
      * Implementation notes:
      * <ol>
-     *   <li>Obtains a snapshot of listeners via {@link Listeners#toArray()}</li>
+     *   <li>Obtains a snapshot of listeners via {@link Listeners#snapshot()}</li>
      *   <li>Validates each listener using the presence checker</li>
-     *   <li>Applies the consumer to valid listeners in array order</li>
+     *   <li>Applies the consumer to valid listeners in snapshot order</li>
      *   <li>Stops and delegates to error handler on first exception</li>
      * </ol>
+     * The snapshot is walked by index, so the distribution does not allocate if the collection caches its snapshot.
      *
      * @param consumer the operation to apply to each listener (non-null)
      * @param listeners the collection of listeners (non-null)
      */
     @Override
-    @SuppressWarnings("unchecked")
     protected void doDistribution(Consumer<I> consumer, Listeners<I> listeners) {
-        Object[] listenerArray = listeners.toArray();
-        for (Object oListener : listenerArray) {
-            if (isListenerPresent((I) oListener, listeners)) {
-                consumer.accept((I) oListener);
+        doDistribution(acceptor(), consumer, listeners);
+    }
+
+    /**
+     * Sequentially delivers the event to all valid listeners, stopping on first error.
+     *
+     * @param consumer the operation to apply to each listener and the argument (non-null)
+     * @param argument the argument passed to the consumer
+     * @param listeners the collection of listeners (non-null)
+     * @since 0.9.0
+     */
+    @Override
+    protected <A> void doDistribution(BiConsumer<I, A> consumer, A argument, Listeners<I> listeners) {
+        long version = getListenersVersion(listeners);
+        List<I> snapshot = listeners.snapshot();
+        for (int i = 0, size = snapshot.size(); i < size; i++) {
+            I listener = snapshot.get(i);
+            if (isListenerPresent(listener, listeners, version)) {
+                consumer.accept(listener, argument);
             }
         }
     }
 
-}
+    /**
+     * Delivers the batch of events listener by listener, with one snapshot of the collection.
+     * <p>
+     * Unlike single events, an exception thrown by a listener does not stop the delivery of the batch, the exceptions
+     * are collected and passed to the error handler after the batch is delivered.
+     *
+     * @param consumer the operation to apply to each listener and argument (non-null)
+     * @param arguments the arguments passed to the consumer (non-null)
+     * @param listeners the collection of listeners (non-null)
+     * @see #doListenerMajorDistribution(BiConsumer, Collection, Listeners)
+     * @since 0.9.0
+     */
+    @Override
+    protected <A> void doDistributionAll(BiConsumer<I, A> consumer, Collection<? extends A> arguments, Listeners<I> listeners) {
+        doListenerMajorDistribution(consumer, arguments, listeners);
+    }
 
+}
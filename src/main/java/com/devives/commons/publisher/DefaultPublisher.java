@@ -18,6 +18,9 @@ package com.devives.commons.publisher;
 
 import com.devives.commons.listener.Listeners;
 
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 /**
@@ -47,6 +50,22 @@ final class DefaultPublisher<I> extends AbstractPublisher<I> implements Publishe
         getDistributor().distribute(consumer, getListeners());
     }
 
-}
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <A> void publish(BiConsumer<I, A> consumer, A argument) {
+        getDistributor().distribute(consumer, argument, getListeners());
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <A> void publishAll(BiConsumer<I, A> consumer, Collection<? extends A> arguments) {
+        Objects.requireNonNull(consumer, "consumer");
+        Objects.requireNonNull(arguments, "arguments");
+        getDistributor().distributeAll(consumer, arguments, getListeners());
+    }
 
+}
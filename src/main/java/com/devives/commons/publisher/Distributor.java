@@ -18,6 +18,8 @@ package com.devives.commons.publisher;
 
 import com.devives.commons.listener.Listeners;
 
+import java.util.Collection;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 /**
@@ -47,4 +49,51 @@ public interface Distributor<I> {
      * @throws RuntimeException if implementation-specific error handling allows it to propagate
      */
     void distribute(final Consumer<I> consumer, final Listeners<I> listeners);
+
+    /**
+     * Distributes an event to all listeners in the collection by applying the given consumer with the argument.
+     * <p>
+     * The consumer receives the event as the argument instead of capturing it, so a single static consumer serves
+     * all events, and the distribution does not allocate a consumer per event:
+     * <pre>{@code
+     * private static final BiConsumer<EventListener, Event> HANDLE_EVENT = EventListener::handleEvent;
+     * ...
+     * distributor.distribute(HANDLE_EVENT, event, listeners);
+     * }</pre>
+     * The default implementation wraps the consumer and calls {@link #distribute(Consumer, Listeners)}.
+     *
+     * @param consumer  the operation to apply to each listener and the argument (non-null)
+     * @param argument  the argument passed to the consumer with each listener
+     * @param listeners the collection of listeners to notify (non-null)
+     * @param <A>       the type of argument
+     * @throws RuntimeException if implementation-specific error handling allows it to propagate
+     * @since 0.9.0
+     */
+    default <A> void distribute(final BiConsumer<I, A> consumer, final A argument, final Listeners<I> listeners) {
+        distribute(listener -> consumer.accept(listener, argument), listeners);
+    }
+
+    /**
+     * Distributes a batch of events to all listeners in the collection by applying the given consumer with each
+     * argument of the batch.
+     * <p>
+     * Each listener receives the arguments in the iteration order of the collection. Synchronous distributors take
+     * one snapshot of the collection and deliver the whole batch listener by listener, which keeps the code and
+     * the data of a listener hot in the cache; exceptions thrown by a listener do not stop the delivery to the
+     * other listeners and of the other arguments, and are collected as by {@link IndependentDistributor}.
+     * The default implementation distributes the arguments one by one.
+     *
+     * @param consumer  the operation to apply to each listener and argument (non-null)
+     * @param arguments the arguments passed to the consumer with each listener (non-null)
+     * @param listeners the collection of listeners to notify (non-null)
+     * @param <A>       the type of argument
+     * @throws RuntimeException if implementation-specific error handling allows it to propagate
+     * @since 0.9.0
+     */
+    default <A> void distributeAll(final BiConsumer<I, A> consumer, final Collection<? extends A> arguments,
+                                   final Listeners<I> listeners) {
+        for (A argument : arguments) {
+            distribute(consumer, argument, listeners);
+        }
+    }
 }
@@ -0,0 +1,149 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ListenerMetricsSink} which accumulates the metrics in memory.
+ * <p>
+ * Counters are {@link LongAdder} instances and the latency histogram is a preallocated array of
+ * {@value ListenerMetrics#BUCKET_COUNT} buckets, so recording a call does not allocate and does not lock.
+ * {@link #snapshot()} reads the counters without stopping the recorders, so a snapshot taken during
+ * distributions may be inconsistent by the calls in progress.
+ *
+ * @see PublisherBuilder#setMetrics(String, ListenerMetricsSink)
+ * @since 0.9.0
+ */
+public final class InMemoryListenerMetricsSink implements ListenerMetricsSink {
+
+    private final ConcurrentMap<Key, MetricsRecorder> recorders_ = new ConcurrentHashMap<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Recorder getRecorder(String publisher, Class<?> listenerClass) {
+        Key key = new Key(Objects.requireNonNull(publisher, "publisher"), Objects.requireNonNull(listenerClass, "listenerClass"));
+        return recorders_.computeIfAbsent(key, MetricsRecorder::new);
+    }
+
+    /**
+     * Returns the snapshot of the metrics of all publishers and listener classes.
+     *
+     * @return the immutable list of metrics.
+     */
+    public List<ListenerMetrics> snapshot() {
+        List<ListenerMetrics> list = new ArrayList<>(recorders_.size());
+        for (MetricsRecorder recorder : recorders_.values()) {
+            list.add(recorder.snapshot());
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Returns the snapshot of the metrics of the listener class in the publisher.
+     *
+     * @param publisher     the name of the publisher.
+     * @param listenerClass the class of listeners.
+     * @return the metrics, or {@code null} if no call was recorded.
+     */
+    public ListenerMetrics snapshot(String publisher, Class<?> listenerClass) {
+        MetricsRecorder recorder = recorders_.get(new Key(publisher, listenerClass));
+        return recorder != null ? recorder.snapshot() : null;
+    }
+
+    /**
+     * Discards all recorded metrics. Recorders obtained before the call keep recording into the discarded metrics.
+     */
+    public void clear() {
+        recorders_.clear();
+    }
+
+    private static final class Key {
+        private final String publisher_;
+        private final Class<?> listenerClass_;
+
+        private Key(String publisher, Class<?> listenerClass) {
+            publisher_ = publisher;
+            listenerClass_ = listenerClass;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return publisher_.equals(other.publisher_) && listenerClass_ == other.listenerClass_;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * publisher_.hashCode() + listenerClass_.hashCode();
+        }
+    }
+
+    private static final class MetricsRecorder implements Recorder {
+        private final Key key_;
+        private final LongAdder invocationCount_ = new LongAdder();
+        private final LongAdder errorCount_ = new LongAdder();
+        private final LongAdder totalNanos_ = new LongAdder();
+        private final AtomicLongArray histogram_ = new AtomicLongArray(ListenerMetrics.BUCKET_COUNT);
+
+        private MetricsRecorder(Key key) {
+            key_ = key;
+        }
+
+        @Override
+        public void record(long durationNanos, boolean failed) {
+            invocationCount_.increment();
+            if (failed) {
+                errorCount_.increment();
+            }
+            totalNanos_.add(durationNanos);
+            histogram_.incrementAndGet(ListenerMetrics.bucketOf(durationNanos));
+        }
+
+        @Override
+        public void recordUnsampled(boolean failed) {
+            invocationCount_.increment();
+            if (failed) {
+                errorCount_.increment();
+            }
+        }
+
+        private ListenerMetrics snapshot() {
+            long[] histogram = new long[ListenerMetrics.BUCKET_COUNT];
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = histogram_.get(i);
+            }
+            return new ListenerMetrics(key_.publisher_, key_.listenerClass_, invocationCount_.sum(), errorCount_.sum(),
+                    totalNanos_.sum(), histogram);
+        }
+    }
+}
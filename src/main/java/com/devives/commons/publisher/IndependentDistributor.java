@@ -21,13 +21,23 @@ import com.devives.commons.lang.exception.AggregateException;
 import com.devives.commons.listener.Listeners;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 
 /**
  * A {@link Distributor} implementation that delivers events to all listeners independently,
  * continuing distribution even if some listeners throw exceptions.
+ * <p>
+ * If a {@link QuarantinePolicy} is specified, listeners which exceed the time budget or keep failing are quarantined
+ * and skipped, so they do not delay the other listeners on every distribution. Each quarantine is reported
+ * to the error handler by a {@link ListenerQuarantinedException} collected with the exceptions of the distribution.
  *
  * @param <I> the type of listeners receiving events
  * @see PublisherBuilder#setIndependentDelivery()
@@ -36,6 +46,13 @@ import java.util.function.Consumer;
  */
 public final class IndependentDistributor<I> extends AbstractDistributor<I> {
 
+    private final QuarantinePolicy quarantinePolicy_;
+    private final LongSupplier nanoClock_;
+    /**
+     * The records of listeners which have failed or have been quarantined.
+     */
+    private final ConcurrentMap<I, ListenerRecord> records_ = new ConcurrentHashMap<>();
+
     /**
      * Constructs an independent distributor with validation and error handling.
      *
@@ -44,6 +61,56 @@ public final class IndependentDistributor<I> extends AbstractDistributor<I> {
      */
     public IndependentDistributor(BiPredicate<I, Listeners<I>> listenerPresenceChecker, Consumer<Exception> errorHandler) {
         super(listenerPresenceChecker, errorHandler);
+        quarantinePolicy_ = null;
+        nanoClock_ = System::nanoTime;
+    }
+
+    /**
+     * Constructs a new distributor with the version based listener presence check.
+     *
+     * @param listenerPresenceCheck if {@code true}, listeners removed from the collection during the distribution
+     *        are not notified
+     * @param errorHandler consumer to process all encountered exceptions (non-null)
+     * @see AbstractDistributor#AbstractDistributor(boolean, Consumer)
+     * @since 0.9.0
+     */
+    public IndependentDistributor(boolean listenerPresenceCheck, Consumer<Exception> errorHandler) {
+        super(listenerPresenceCheck, errorHandler);
+        quarantinePolicy_ = null;
+        nanoClock_ = System::nanoTime;
+    }
+
+    /**
+     * Constructs a new distributor which quarantines misbehaving listeners.
+     *
+     * @param listenerPresenceCheck if {@code true}, listeners removed from the collection during the distribution
+     *        are not notified
+     * @param quarantinePolicy the quarantine policy (non-null)
+     * @param errorHandler consumer to process all encountered exceptions (non-null)
+     * @since 0.9.0
+     */
+    public IndependentDistributor(boolean listenerPresenceCheck, QuarantinePolicy quarantinePolicy, Consumer<Exception> errorHandler) {
+        this(listenerPresenceCheck, quarantinePolicy, System::nanoTime, errorHandler);
+    }
+
+    IndependentDistributor(boolean listenerPresenceCheck, QuarantinePolicy quarantinePolicy, LongSupplier nanoClock,
+                           Consumer<Exception> errorHandler) {
+        super(listenerPresenceCheck, errorHandler);
+        quarantinePolicy_ = Objects.requireNonNull(quarantinePolicy, "quarantinePolicy");
+        nanoClock_ = Objects.requireNonNull(nanoClock, "nanoClock");
+    }
+
+    /**
+     * Checks if a listener is quarantined.
+     *
+     * @param listener the listener to check.
+     * @return {@code true} if the listener is skipped by distributions.
+     * @since 0.9.0
+     */
+    public boolean isQuarantined(I listener) {
+        Objects.requireNonNull(listener, "listener");
+        ListenerRecord record = records_.get(listener);
+        return record != null && record.isQuarantined(nanoClock_.getAsLong());
     }
 
     /**
@@ -54,12 +121,31 @@ public final class IndependentDistributor<I> extends AbstractDistributor<I> {
      */
     @Override
     protected void doDistribution(Consumer<I> consumer, Listeners<I> listeners) {
+        doDistribution(acceptor(), consumer, listeners);
+    }
+
+    /**
+     * Delivers events to all valid listeners, collecting any exceptions into an {@link AggregateException}.
+     *
+     * @param consumer the operation to apply to each listener and the argument (non-null)
+     * @param argument the argument passed to the consumer
+     * @param listeners the listener collection (non-null)
+     * @since 0.9.0
+     */
+    @Override
+    protected <A> void doDistribution(BiConsumer<I, A> consumer, A argument, Listeners<I> listeners) {
+        if (quarantinePolicy_ != null) {
+            doQuarantinedDistribution(consumer, argument, listeners);
+            return;
+        }
         List<Exception> exceptionList = null;
-        Object[] listenerArray = listeners.toArray();
-        for (Object oListener : listenerArray) {
+        long version = getListenersVersion(listeners);
+        List<I> snapshot = listeners.snapshot();
+        for (int i = 0, size = snapshot.size(); i < size; i++) {
+            I listener = snapshot.get(i);
             try {
-                if (isListenerPresent((I) oListener, listeners)) {
-                    consumer.accept((I) oListener);
+                if (isListenerPresent(listener, listeners, version)) {
+                    consumer.accept(listener, argument);
                 }
             } catch (Exception e) {
                 if (exceptionList == null) {
@@ -73,5 +159,148 @@ public final class IndependentDistributor<I> extends AbstractDistributor<I> {
         }
     }
 
-}
+    /**
+     * Delivers the batch of events to all valid listeners listener by listener, with one snapshot of the collection,
+     * collecting any exceptions into an {@link AggregateException}.
+     * <p>
+     * Each call is checked against the quarantine policy as in a single distribution, so a listener quarantined
+     * during the batch is skipped for the rest of it while the quarantine lasts.
+     *
+     * @param consumer the operation to apply to each listener and argument (non-null)
+     * @param arguments the arguments passed to the consumer (non-null)
+     * @param listeners the listener collection (non-null)
+     * @since 0.9.0
+     */
+    @Override
+    protected <A> void doDistributionAll(BiConsumer<I, A> consumer, Collection<? extends A> arguments, Listeners<I> listeners) {
+        if (quarantinePolicy_ == null) {
+            doListenerMajorDistribution(consumer, arguments, listeners);
+            return;
+        }
+        List<? extends A> list = toRandomAccessList(arguments);
+        List<Exception> exceptionList = null;
+        long version = getListenersVersion(listeners);
+        List<I> snapshot = listeners.snapshot();
+        int size = snapshot.size();
+        for (int i = 0; i < size; i++) {
+            I listener = snapshot.get(i);
+            for (int j = 0, count = list.size(); j < count; j++) {
+                exceptionList = deliverQuarantined(consumer, list.get(j), listener, listeners, version, exceptionList);
+            }
+        }
+        purgeRecords(listeners, size);
+        if (exceptionList != null) {
+            ExceptionUtils.throwCollected(exceptionList);
+        }
+    }
+
+    private <A> void doQuarantinedDistribution(BiConsumer<I, A> consumer, A argument, Listeners<I> listeners) {
+        List<Exception> exceptionList = null;
+        long version = getListenersVersion(listeners);
+        List<I> snapshot = listeners.snapshot();
+        int size = snapshot.size();
+        for (int i = 0; i < size; i++) {
+            exceptionList = deliverQuarantined(consumer, argument, snapshot.get(i), listeners, version, exceptionList);
+        }
+        purgeRecords(listeners, size);
+        if (exceptionList != null) {
+            ExceptionUtils.throwCollected(exceptionList);
+        }
+    }
 
+    /**
+     * Calls the listener unless it is quarantined or removed, and records the outcome of the call.
+     *
+     * @return the list of exceptions of the distribution, created on the first exception.
+     */
+    private <A> List<Exception> deliverQuarantined(BiConsumer<I, A> consumer, A argument, I listener, Listeners<I> listeners,
+                                                   long version, List<Exception> exceptionList) {
+        ListenerRecord record = records_.get(listener);
+        if (record != null && record.isQuarantined(nanoClock_.getAsLong())) {
+            return exceptionList;
+        }
+        long timeBudget = quarantinePolicy_.getTimeBudgetNanos();
+        Exception failure = null;
+        long start = timeBudget > 0 ? nanoClock_.getAsLong() : 0;
+        try {
+            if (!isListenerPresent(listener, listeners, version)) {
+                return exceptionList;
+            }
+            consumer.accept(listener, argument);
+        } catch (Exception e) {
+            failure = e;
+            if (exceptionList == null) {
+                exceptionList = new ArrayList<>();
+            }
+            exceptionList.add(e);
+        }
+        long now = failure != null || timeBudget > 0 ? nanoClock_.getAsLong() : 0;
+        boolean overBudget = timeBudget > 0 && now - start > timeBudget;
+        if (failure == null && !overBudget) {
+            if (record != null) {
+                record.recordSuccess();
+            }
+            return exceptionList;
+        }
+        if (record == null) {
+            record = records_.computeIfAbsent(listener, key -> new ListenerRecord());
+        }
+        long quarantine = record.recordViolation(now, overBudget);
+        if (quarantine > 0) {
+            if (exceptionList == null) {
+                exceptionList = new ArrayList<>();
+            }
+            exceptionList.add(new ListenerQuarantinedException(overBudget
+                    ? "Listener quarantined for exceeding the time budget."
+                    : "Listener quarantined for repeated failures.", listener, quarantine, failure));
+        }
+        return exceptionList;
+    }
+
+    /**
+     * Forgets the records of listeners removed from the collection.
+     */
+    private void purgeRecords(Listeners<I> listeners, int size) {
+        if (records_.size() > size) {
+            records_.keySet().removeIf(listener -> !listeners.contains(listener));
+        }
+    }
+
+    /**
+     * The failures and quarantines of one listener.
+     */
+    private final class ListenerRecord {
+        private int consecutiveFailures_;
+        private int quarantines_;
+        private boolean probation_;
+        private long quarantinedUntil_;
+
+        synchronized boolean isQuarantined(long now) {
+            return quarantines_ > 0 && now - quarantinedUntil_ < 0;
+        }
+
+        synchronized void recordSuccess() {
+            consecutiveFailures_ = 0;
+            quarantines_ = 0;
+            probation_ = false;
+        }
+
+        /**
+         * Records a failed or overlong call and quarantines the listener if the policy requires it.
+         *
+         * @return the duration of the quarantine in nanoseconds, or {@code 0} if the listener is not quarantined.
+         */
+        synchronized long recordViolation(long now, boolean overBudget) {
+            consecutiveFailures_++;
+            if (!overBudget && !probation_ && consecutiveFailures_ < quarantinePolicy_.getFailureThreshold()) {
+                return 0;
+            }
+            long duration = quarantinePolicy_.getQuarantineNanos(quarantines_);
+            quarantines_++;
+            quarantinedUntil_ = now + duration;
+            consecutiveFailures_ = 0;
+            probation_ = true;
+            return duration;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.lang.Validate;
+import com.devives.commons.listener.Listeners;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Distributor} decorator which records the duration and the outcome of every listener call
+ * into a {@link ListenerMetricsSink}.
+ * <p>
+ * The decorator wraps the consumer of the distribution, so the calls are measured on the threads where the decorated
+ * distributor makes them, including asynchronous and parallel distributors. The recorder of a listener class is
+ * requested from the sink once per class and cached by the distributor in a map, which is read once per call. The measurement costs two {@link System#nanoTime()} calls
+ * per measured listener call and one wrapper allocation per distribution; publishers built without metrics are not
+ * decorated and do not pay for it. With a sample interval of {@code n}, one call in {@code n} on average is measured,
+ * the other calls are only counted, see {@link ListenerMetricsSink.Recorder#recordUnsampled(boolean)}.
+ *
+ * @param <I> the type of listeners receiving events
+ * @see PublisherBuilder#setMetrics(String, ListenerMetricsSink)
+ * @since 0.9.0
+ */
+public final class InstrumentedDistributor<I> implements Distributor<I> {
+
+    /**
+     * The start time of a call which is not measured.
+     */
+    private static final long UNSAMPLED = Long.MIN_VALUE;
+
+    private final Distributor<I> distributor_;
+    private final String publisher_;
+    private final ListenerMetricsSink sink_;
+    private final ConcurrentMap<Class<?>, ListenerMetricsSink.Recorder> recorders_ = new ConcurrentHashMap<>();
+    private final int sampleInterval_;
+
+    /**
+     * Constructs an instrumented distributor, which measures every call.
+     *
+     * @param distributor the decorated distributor (non-null)
+     * @param publisher the name of the publisher reported to the sink (non-null)
+     * @param sink the receiver of the metrics (non-null)
+     */
+    public InstrumentedDistributor(Distributor<I> distributor, String publisher, ListenerMetricsSink sink) {
+        this(distributor, publisher, sink, 1);
+    }
+
+    /**
+     * Constructs an instrumented distributor, which measures one call in {@code sampleInterval} on average.
+     *
+     * @param distributor the decorated distributor (non-null)
+     * @param publisher the name of the publisher reported to the sink (non-null)
+     * @param sink the receiver of the metrics (non-null)
+     * @param sampleInterval the average number of calls per measured call, {@code 1} measures every call.
+     */
+    public InstrumentedDistributor(Distributor<I> distributor, String publisher, ListenerMetricsSink sink,
+                                   int sampleInterval) {
+        distributor_ = Objects.requireNonNull(distributor, "distributor");
+        sampleInterval_ = Validate.greater(sampleInterval, 0);
+        publisher_ = Objects.requireNonNull(publisher, "publisher");
+        sink_ = Objects.requireNonNull(sink, "sink");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void distribute(Consumer<I> consumer, Listeners<I> listeners) {
+        Objects.requireNonNull(consumer, "consumer");
+        distributor_.distribute(listener -> {
+            long start = isSampled() ? System.nanoTime() : UNSAMPLED;
+            boolean failed = true;
+            try {
+                consumer.accept(listener);
+                failed = false;
+            } finally {
+                record(listener, start, failed);
+            }
+        }, listeners);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <A> void distribute(BiConsumer<I, A> consumer, A argument, Listeners<I> listeners) {
+        distributor_.distribute(instrument(consumer), argument, listeners);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Every call of the batch is measured, the batch costs one wrapper allocation.
+     */
+    @Override
+    public <A> void distributeAll(BiConsumer<I, A> consumer, Collection<? extends A> arguments, Listeners<I> listeners) {
+        distributor_.distributeAll(instrument(consumer), arguments, listeners);
+    }
+
+    private <A> BiConsumer<I, A> instrument(BiConsumer<I, A> consumer) {
+        Objects.requireNonNull(consumer, "consumer");
+        return (listener, value) -> {
+            long start = isSampled() ? System.nanoTime() : UNSAMPLED;
+            boolean failed = true;
+            try {
+                consumer.accept(listener, value);
+                failed = false;
+            } finally {
+                record(listener, start, failed);
+            }
+        };
+    }
+
+    private boolean isSampled() {
+        return sampleInterval_ == 1 || ThreadLocalRandom.current().nextInt(sampleInterval_) == 0;
+    }
+
+    private void record(I listener, long start, boolean failed) {
+        if (start != UNSAMPLED) {
+            long duration = System.nanoTime() - start;
+            getRecorder(listener.getClass()).record(duration, failed);
+        } else {
+            getRecorder(listener.getClass()).recordUnsampled(failed);
+        }
+    }
+
+    private ListenerMetricsSink.Recorder getRecorder(Class<?> listenerClass) {
+        ListenerMetricsSink.Recorder recorder = recorders_.get(listenerClass);
+        if (recorder == null) {
+            recorder = recorders_.computeIfAbsent(listenerClass,
+                    type -> Objects.requireNonNull(sink_.getRecorder(publisher_, type), "recorder"));
+        }
+        return recorder;
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An immutable snapshot of the metrics of the calls of listeners of one class in one publisher.
+ * <p>
+ * Latencies are counted in a base 2 logarithmic histogram: the bucket {@code i} counts the calls which lasted
+ * from {@code 2^(i-1)} to {@code 2^i - 1} nanoseconds, the bucket {@code 0} counts the calls measured as zero.
+ *
+ * @see InMemoryListenerMetricsSink#snapshot()
+ * @since 0.9.0
+ */
+public final class ListenerMetrics {
+
+    /**
+     * The number of buckets of the latency histogram.
+     */
+    public static final int BUCKET_COUNT = 64;
+
+    private final String publisher_;
+    private final Class<?> listenerClass_;
+    private final long invocationCount_;
+    private final long errorCount_;
+    private final long totalNanos_;
+    private final long[] histogram_;
+
+    ListenerMetrics(String publisher, Class<?> listenerClass, long invocationCount, long errorCount, long totalNanos, long[] histogram) {
+        publisher_ = Objects.requireNonNull(publisher, "publisher");
+        listenerClass_ = Objects.requireNonNull(listenerClass, "listenerClass");
+        invocationCount_ = invocationCount;
+        errorCount_ = errorCount;
+        totalNanos_ = totalNanos;
+        histogram_ = histogram;
+    }
+
+    /**
+     * Returns the index of the histogram bucket which counts the specified duration.
+     *
+     * @param durationNanos the duration in nanoseconds.
+     * @return the index of the bucket.
+     */
+    static int bucketOf(long durationNanos) {
+        return durationNanos <= 0 ? 0 : Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(durationNanos));
+    }
+
+    /**
+     * Returns the name of the publisher.
+     *
+     * @return the name of the publisher.
+     */
+    public String getPublisher() {
+        return publisher_;
+    }
+
+    /**
+     * Returns the class of listeners.
+     *
+     * @return the class of listeners.
+     */
+    public Class<?> getListenerClass() {
+        return listenerClass_;
+    }
+
+    /**
+     * Returns the number of calls.
+     *
+     * @return the number of calls.
+     */
+    public long getInvocationCount() {
+        return invocationCount_;
+    }
+
+    /**
+     * Returns the number of calls which threw an exception.
+     *
+     * @return the number of failed calls.
+     */
+    public long getErrorCount() {
+        return errorCount_;
+    }
+
+    /**
+     * Returns the total duration of the measured calls. If the distributor measures a sample of the calls,
+     * the histogram counts the measured calls only.
+     *
+     * @return the total duration in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return totalNanos_;
+    }
+
+    /**
+     * Returns the latency histogram.
+     *
+     * @return new array of {@value #BUCKET_COUNT} bucket counts.
+     */
+    public long[] getHistogram() {
+        return histogram_.clone();
+    }
+
+    /**
+     * Returns the upper bound of the latency of the specified fraction of calls.
+     * <p>
+     * The value is the upper bound of the histogram bucket, so it overestimates the latency by less than a factor of two.
+     *
+     * @param quantile the fraction of calls, from 0 to 1.
+     * @return the latency in nanoseconds, or {@code 0} if there were no calls.
+     */
+    public long getQuantileNanos(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("The quantile must be from 0 to 1. Actual value: " + quantile);
+        }
+        long count = 0;
+        for (long bucket : histogram_) {
+            count += bucket;
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < histogram_.length; i++) {
+            seen += histogram_[i];
+            if (seen >= rank) {
+                return i == 0 ? 0 : i >= 63 ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "ListenerMetrics{publisher=" + publisher_ + ", listenerClass=" + listenerClass_.getName()
+                + ", invocationCount=" + invocationCount_ + ", errorCount=" + errorCount_
+                + ", totalNanos=" + totalNanos_ + ", histogram=" + Arrays.toString(histogram_) + "}";
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+/**
+ * A receiver of the metrics of listener calls recorded by {@link InstrumentedDistributor}.
+ * <p>
+ * The distributor asks the sink for a {@link Recorder} once per publisher and listener class, and reports every call
+ * of a listener of that class to the recorder. Recorders are called concurrently from the distributing threads, so
+ * they must be thread-safe and should not block. {@link InMemoryListenerMetricsSink} keeps the metrics in memory
+ * and exposes their snapshot, other implementations may forward the calls to a monitoring system.
+ *
+ * @see PublisherBuilder#setMetrics(String, ListenerMetricsSink)
+ * @since 0.9.0
+ */
+public interface ListenerMetricsSink {
+
+    /**
+     * Returns the recorder of the calls of listeners of the specified class in the specified publisher.
+     *
+     * @param publisher     the name of the publisher.
+     * @param listenerClass the class of listeners.
+     * @return the recorder (non-null).
+     */
+    Recorder getRecorder(String publisher, Class<?> listenerClass);
+
+    /**
+     * A recorder of the calls of listeners of one class in one publisher.
+     */
+    @FunctionalInterface
+    interface Recorder {
+
+        /**
+         * Records a call of a listener.
+         *
+         * @param durationNanos the duration of the call in nanoseconds.
+         * @param failed        {@code true} if the call threw an exception.
+         */
+        void record(long durationNanos, boolean failed);
+
+        /**
+         * Records a call of a listener whose duration was not measured, because the distributor measures a sample
+         * of the calls. The default implementation ignores the call, sinks which count the calls override it.
+         *
+         * @param failed {@code true} if the call threw an exception.
+         * @see PublisherBuilder#setMetrics(String, ListenerMetricsSink, int)
+         */
+        default void recordUnsampled(boolean failed) {
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+/**
+ * The exception informs that a listener was quarantined by {@link IndependentDistributor}.
+ * <p>
+ * The cause is the exception thrown by the last call of the listener, or {@code null} if the listener
+ * was quarantined for exceeding the time budget.
+ *
+ * @see QuarantinePolicy
+ * @since 0.9.0
+ */
+public class ListenerQuarantinedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Object listener_;
+    private final long quarantineNanos_;
+
+    /**
+     * Constructs the exception.
+     *
+     * @param message         the detail message.
+     * @param listener        the quarantined listener, which is not serialized.
+     * @param quarantineNanos the duration of the quarantine in nanoseconds.
+     * @param cause           the exception thrown by the last call of the listener, or {@code null} if the listener
+     *                        exceeded the time budget.
+     */
+    public ListenerQuarantinedException(String message, Object listener, long quarantineNanos, Throwable cause) {
+        super(message, cause);
+        listener_ = listener;
+        quarantineNanos_ = quarantineNanos;
+    }
+
+    /**
+     * Returns the quarantined listener.
+     *
+     * @return the listener.
+     */
+    public Object getListener() {
+        return listener_;
+    }
+
+    /**
+     * Returns the duration of the quarantine.
+     *
+     * @return the duration in nanoseconds.
+     */
+    public long getQuarantineNanos() {
+        return quarantineNanos_;
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.lang.ExceptionUtils;
+import com.devives.commons.lang.Validate;
+import com.devives.commons.lang.exception.AggregateException;
+import com.devives.commons.listener.Listeners;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Distributor} implementation that delivers events to large sets of listeners in parallel
+ * on a {@link ForkJoinPool}.
+ * <p>
+ * If the snapshot of listeners is larger than the threshold, it is split into {@link RecursiveAction} subtasks of
+ * at most threshold listeners each, and the distribution returns when all listeners have been called. Smaller
+ * snapshots are delivered sequentially on the calling thread, so the latency of small publications does not change.
+ * <p>
+ * Delivery is independent: all listeners are called, and the exceptions they throw are collected into an
+ * {@link AggregateException}, as {@link IndependentDistributor} does. Listeners must be thread-safe, and no order
+ * of delivery is guaranteed above the threshold.
+ *
+ * @param <I> the type of listeners receiving events
+ * @see PublisherBuilder#setParallelDelivery(int)
+ * @since 0.9.0
+ */
+public final class ParallelDistributor<I> extends AbstractDistributor<I> {
+
+    private final int threshold_;
+    private final ForkJoinPool pool_;
+
+    /**
+     * Constructs a parallel distributor which uses the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param threshold the maximum number of listeners delivered sequentially, must be positive
+     * @param listenerPresenceCheck if {@code true}, listeners removed from the collection during the distribution
+     *        are not notified
+     * @param errorHandler consumer to process all encountered exceptions (non-null)
+     */
+    public ParallelDistributor(int threshold, boolean listenerPresenceCheck, Consumer<Exception> errorHandler) {
+        this(threshold, ForkJoinPool.commonPool(), listenerPresenceCheck, errorHandler);
+    }
+
+    /**
+     * Constructs a parallel distributor.
+     *
+     * @param threshold the maximum number of listeners delivered sequentially, must be positive
+     * @param pool the pool which calls the listeners (non-null)
+     * @param listenerPresenceCheck if {@code true}, listeners removed from the collection during the distribution
+     *        are not notified
+     * @param errorHandler consumer to process all encountered exceptions (non-null)
+     */
+    public ParallelDistributor(int threshold, ForkJoinPool pool, boolean listenerPresenceCheck, Consumer<Exception> errorHandler) {
+        super(listenerPresenceCheck, errorHandler);
+        threshold_ = Validate.greater(threshold, 0);
+        pool_ = Objects.requireNonNull(pool, "pool");
+    }
+
+    /**
+     * Delivers the event to all valid listeners, collecting any exceptions into an {@link AggregateException}.
+     *
+     * @param consumer the operation to apply to each listener (non-null)
+     * @param listeners the listener collection (non-null)
+     */
+    @Override
+    protected void doDistribution(Consumer<I> consumer, Listeners<I> listeners) {
+        doDistribution(acceptor(), consumer, listeners);
+    }
+
+    /**
+     * Delivers the event to all valid listeners, collecting any exceptions into an {@link AggregateException}.
+     *
+     * @param consumer the operation to apply to each listener and the argument (non-null)
+     * @param argument the argument passed to the consumer
+     * @param listeners the listener collection (non-null)
+     * @since 0.9.0
+     */
+    @Override
+    protected <A> void doDistribution(BiConsumer<I, A> consumer, A argument, Listeners<I> listeners) {
+        long version = getListenersVersion(listeners);
+        List<I> snapshot = listeners.snapshot();
+        int size = snapshot.size();
+        if (size <= threshold_) {
+            List<Exception> exceptionList = null;
+            for (int i = 0; i < size; i++) {
+                I listener = snapshot.get(i);
+                try {
+                    if (isListenerPresent(listener, listeners, version)) {
+                        consumer.accept(listener, argument);
+                    }
+                } catch (Exception e) {
+                    if (exceptionList == null) {
+                        exceptionList = new ArrayList<>();
+                    }
+                    exceptionList.add(e);
+                }
+            }
+            if (exceptionList != null) {
+                ExceptionUtils.throwCollected(exceptionList);
+            }
+        } else {
+            Collection<Exception> exceptions = new ConcurrentLinkedQueue<>();
+            DeliveryTask<A> task = new DeliveryTask<>(consumer, argument, listeners, version, snapshot, 0, size, exceptions);
+            if (ForkJoinTask.getPool() == pool_) {
+                task.invoke();
+            } else {
+                pool_.invoke(task);
+            }
+            if (!exceptions.isEmpty()) {
+                ExceptionUtils.throwCollected(exceptions);
+            }
+        }
+    }
+
+    private <A> void deliver(BiConsumer<I, A> consumer, A argument, Listeners<I> listeners, long version, List<I> snapshot,
+                             int from, int to, Collection<Exception> exceptions) {
+        for (int i = from; i < to; i++) {
+            I listener = snapshot.get(i);
+            try {
+                if (isListenerPresent(listener, listeners, version)) {
+                    consumer.accept(listener, argument);
+                }
+            } catch (Exception e) {
+                exceptions.add(e);
+            }
+        }
+    }
+
+    /**
+     * Delivers the event to a range of the snapshot, splitting the range in halves above the threshold.
+     */
+    private final class DeliveryTask<A> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final BiConsumer<I, A> consumer_;
+        private final A argument_;
+        private final Listeners<I> listeners_;
+        private final long version_;
+        private final List<I> snapshot_;
+        private final int from_;
+        private final int to_;
+        private final Collection<Exception> exceptions_;
+
+        private DeliveryTask(BiConsumer<I, A> consumer, A argument, Listeners<I> listeners, long version, List<I> snapshot,
+                             int from, int to, Collection<Exception> exceptions) {
+            consumer_ = consumer;
+            argument_ = argument;
+            listeners_ = listeners;
+            version_ = version;
+            snapshot_ = snapshot;
+            from_ = from;
+            to_ = to;
+            exceptions_ = exceptions;
+        }
+
+        @Override
+        protected void compute() {
+            if (to_ - from_ <= threshold_) {
+                deliver(consumer_, argument_, listeners_, version_, snapshot_, from_, to_, exceptions_);
+            } else {
+                int middle = (from_ + to_) >>> 1;
+                invokeAll(new DeliveryTask<>(consumer_, argument_, listeners_, version_, snapshot_, from_, middle, exceptions_),
+                        new DeliveryTask<>(consumer_, argument_, listeners_, version_, snapshot_, middle, to_, exceptions_));
+            }
+        }
+    }
+}
@@ -0,0 +1,270 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.lang.ExceptionUtils;
+import com.devives.commons.lang.Validate;
+import com.devives.commons.util.concurrent.SerialDrain;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * A fixed set of serial lanes which run tasks on an {@link Executor}, used to deliver events partitioned by key.
+ * <p>
+ * A key is hashed onto a lane. Each lane runs its tasks one at a time, in the order they were submitted, while
+ * different lanes run in parallel on the executor. So events with the same key are delivered in order,
+ * and events with different keys are delivered concurrently, as the partitions of a message broker are consumed.
+ * <p>
+ * Each lane holds at most {@code laneCapacity} pending tasks. A publisher which submits to a full lane waits until
+ * the lane frees a slot, except the thread which runs the tasks of that lane, which can not wait for itself and
+ * exceeds the capacity. A lane is drained by a single executor task, which yields the executor thread after
+ * {@value SerialDrain#DRAIN_LIMIT} tasks and reschedules itself. If the executor rejects the rescheduling, the lane
+ * runs its pending tasks on the current thread and the rejection is passed to the uncaught exception handler.
+ * If the executor rejects the first scheduling of a lane, the task of the submitting thread is not run and
+ * the rejection is rethrown to it, while the tasks submitted meanwhile by other threads are run on the submitting
+ * thread before.
+ * <p>
+ * The lanes are a resource owned by the application: they can be shared by several publishers, which are built
+ * with {@link PublisherBuilder#setPartitionedDelivery(java.util.function.Function, PartitionLanes)}, and should be
+ * closed when no longer needed. The executor is owned by the caller.
+ *
+ * @see PartitionedDistributor
+ * @since 0.9.0
+ */
+public final class PartitionLanes implements AutoCloseable {
+
+    private final Lane[] lanes_;
+    private final int laneCapacity_;
+    private final Executor executor_;
+    private volatile boolean closed_;
+
+    /**
+     * Constructs the lanes.
+     *
+     * @param laneCount    the number of lanes.
+     * @param laneCapacity the maximum number of pending tasks of a lane.
+     * @param executor     the executor which runs the lanes, owned by the caller.
+     */
+    public PartitionLanes(int laneCount, int laneCapacity, Executor executor) {
+        Validate.greater(laneCount, 0);
+        laneCapacity_ = Validate.greater(laneCapacity, 0);
+        executor_ = Objects.requireNonNull(executor, "executor");
+        lanes_ = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes_[i] = new Lane();
+        }
+    }
+
+    /**
+     * Returns the number of lanes.
+     *
+     * @return the number of lanes.
+     */
+    public int getLaneCount() {
+        return lanes_.length;
+    }
+
+    /**
+     * Returns the maximum number of pending tasks of a lane.
+     *
+     * @return the capacity of a lane.
+     */
+    public int getLaneCapacity() {
+        return laneCapacity_;
+    }
+
+    /**
+     * Returns the lane of the key.
+     *
+     * @param key the key, may be {@code null}.
+     * @return the index of the lane, the lane of the {@code null} key is zero.
+     */
+    public int getLane(Object key) {
+        if (key == null) {
+            return 0;
+        }
+        int hash = key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), lanes_.length);
+    }
+
+    /**
+     * Returns the number of pending tasks of the lane.
+     *
+     * @param lane the index of the lane.
+     * @return the number of tasks waiting in the lane.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public int getDepth(int lane) {
+        return lanes_[lane].size();
+    }
+
+    /**
+     * Returns the number of pending tasks of all lanes.
+     *
+     * @return the number of tasks waiting in the lanes.
+     */
+    public int getBacklog() {
+        int backlog = 0;
+        for (Lane lane : lanes_) {
+            backlog += lane.size();
+        }
+        return backlog;
+    }
+
+    /**
+     * Closes the lanes.
+     * <p>
+     * Further submissions are rejected with {@link IllegalStateException}. The method waits until the tasks submitted
+     * before are run, unless it is called by a thread which runs the tasks of a lane.
+     */
+    @Override
+    public void close() {
+        closed_ = true;
+        for (Lane lane : lanes_) {
+            lane.awaitDrained();
+        }
+    }
+
+    /**
+     * Submits the task to the lane of the key, waiting for a free slot if the lane is full.
+     *
+     * @param key  the key.
+     * @param task the task.
+     * @throws IllegalStateException if the lanes are closed, or the thread is interrupted while waiting.
+     */
+    void submit(Object key, Runnable task) {
+        lanes_[getLane(key)].submit(task);
+    }
+
+    /**
+     * The queue of tasks of one lane.
+     */
+    private final class Lane extends SerialDrain {
+        private final ArrayDeque<Runnable> tasks_ = new ArrayDeque<>();
+        private boolean scheduled_;
+        private Thread drainer_;
+        private int waiters_;
+
+        Lane() {
+            super(executor_);
+        }
+
+        synchronized int size() {
+            return tasks_.size();
+        }
+
+        void submit(Runnable task) {
+            synchronized (this) {
+                while (true) {
+                    if (closed_) {
+                        throw new IllegalStateException("The partition lanes are closed.");
+                    }
+                    if (tasks_.size() < laneCapacity_ || drainer_ == Thread.currentThread()) {
+                        break;
+                    }
+                    waiters_++;
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while waiting for a free slot of the lane.", e);
+                    } finally {
+                        waiters_--;
+                    }
+                }
+                tasks_.add(task);
+                if (scheduled_) {
+                    return;
+                }
+                scheduled_ = true;
+            }
+            try {
+                schedule();
+            } catch (RuntimeException e) {
+                boolean pending;
+                synchronized (this) {
+                    tasks_.removeLastOccurrence(task);
+                    pending = !tasks_.isEmpty();
+                    if (!pending) {
+                        scheduled_ = false;
+                        notifyAll();
+                    }
+                }
+                if (pending) {
+                    // The publishers which found the lane scheduled have returned, their tasks are run here.
+                    drainInline();
+                }
+                throw e;
+            }
+        }
+
+        @Override
+        protected boolean runNext() {
+            Runnable task;
+            synchronized (this) {
+                task = tasks_.poll();
+                if (task == null) {
+                    scheduled_ = false;
+                    drainer_ = null;
+                    notifyAll();
+                    return false;
+                }
+                drainer_ = Thread.currentThread();
+                if (waiters_ > 0) {
+                    notifyAll();
+                }
+            }
+            task.run();
+            return true;
+        }
+
+        @Override
+        protected synchronized void onYield() {
+            drainer_ = null;
+        }
+
+        /**
+         * Runs the pending tasks on the current thread, so {@link #close()} does not return while they are pending.
+         */
+        @Override
+        protected void onRejected(RuntimeException exception) {
+            ExceptionUtils.handleUncaught(exception);
+            drainInline();
+        }
+
+        /**
+         * Waits until the lane runs its pending tasks, or the executor rejects the lane.
+         */
+        synchronized void awaitDrained() {
+            // Wake up the publishers waiting for a free slot, they are rejected.
+            notifyAll();
+            boolean interrupted = false;
+            while (scheduled_ && drainer_ != Thread.currentThread()) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
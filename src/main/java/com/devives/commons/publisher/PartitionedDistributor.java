@@ -0,0 +1,135 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.lang.ExceptionUtils;
+import com.devives.commons.listener.Listeners;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A {@link Distributor} implementation that delivers events on the lanes of {@link PartitionLanes},
+ * chosen by the key of the event.
+ * <p>
+ * The key is extracted from the argument of {@link #distribute(BiConsumer, Object, Listeners)}, which is the event
+ * for event sources. Events with the same key are delivered to all listeners in the order of distribution,
+ * events with different keys may be delivered concurrently, so listeners must be thread-safe.
+ * Distributions made with {@link #distribute(Consumer, Listeners)} have no argument and use the lane
+ * of the {@code null} key.
+ * <p>
+ * The distributing thread takes the snapshot of listeners and submits the delivery to the lane, waiting if
+ * the lane is full. The lane delivers the event with the semantics of {@link DefaultDistributor} or, if delivery is
+ * independent, of {@link IndependentDistributor}. Exceptions are passed to the error handler on the lane thread;
+ * if the error handler throws, the exception is passed to the uncaught exception handler of the lane thread.
+ *
+ * @param <I> the type of listeners receiving events
+ * @see PublisherBuilder#setPartitionedDelivery(Function, PartitionLanes)
+ * @since 0.9.0
+ */
+public final class PartitionedDistributor<I> extends AbstractDistributor<I> {
+
+    private final PartitionLanes lanes_;
+    private final Function<Object, ?> keyExtractor_;
+    private final boolean independent_;
+
+    /**
+     * Constructs a partitioned distributor.
+     *
+     * @param lanes the lanes (non-null)
+     * @param keyExtractor the function which returns the key of the argument of a distribution (non-null)
+     * @param independent if {@code true}, listeners are called even if previous listeners throw exceptions
+     * @param listenerPresenceCheck if {@code true}, listeners removed from the collection before the delivery
+     *        are not notified
+     * @param errorHandler consumer to process exceptions thrown by listeners (non-null)
+     * @param <A> the type of argument
+     */
+    @SuppressWarnings("unchecked")
+    public <A> PartitionedDistributor(PartitionLanes lanes, Function<? super A, ?> keyExtractor, boolean independent,
+                                      boolean listenerPresenceCheck, Consumer<Exception> errorHandler) {
+        super(listenerPresenceCheck, errorHandler);
+        lanes_ = Objects.requireNonNull(lanes, "lanes");
+        keyExtractor_ = (Function<Object, ?>) Objects.requireNonNull(keyExtractor, "keyExtractor");
+        independent_ = independent;
+    }
+
+    /**
+     * Submits the delivery of the event to the lane of the {@code null} key.
+     *
+     * @param consumer the operation to apply to each listener (non-null)
+     * @param listeners the listener collection (non-null)
+     * @throws IllegalStateException if the lanes are closed.
+     */
+    @Override
+    protected void doDistribution(Consumer<I> consumer, Listeners<I> listeners) {
+        submit(null, acceptor(), consumer, listeners);
+    }
+
+    /**
+     * Submits the delivery of the event to the lane of the key of the argument.
+     *
+     * @param consumer the operation to apply to each listener and the argument (non-null)
+     * @param argument the argument passed to the consumer
+     * @param listeners the listener collection (non-null)
+     * @throws IllegalStateException if the lanes are closed.
+     */
+    @Override
+    protected <A> void doDistribution(BiConsumer<I, A> consumer, A argument, Listeners<I> listeners) {
+        submit(keyExtractor_.apply(argument), consumer, argument, listeners);
+    }
+
+    private <A> void submit(Object key, BiConsumer<I, A> consumer, A argument, Listeners<I> listeners) {
+        Objects.requireNonNull(consumer, "consumer");
+        long version = getListenersVersion(listeners);
+        List<I> snapshot = listeners.snapshot();
+        lanes_.submit(key, () -> deliver(consumer, argument, listeners, snapshot, version));
+    }
+
+    /**
+     * Delivers an event on the lane.
+     */
+    private <A> void deliver(BiConsumer<I, A> consumer, A argument, Listeners<I> listeners, List<I> snapshot, long version) {
+        try {
+            List<Exception> exceptionList = null;
+            for (int i = 0, size = snapshot.size(); i < size; i++) {
+                I listener = snapshot.get(i);
+                try {
+                    if (isListenerPresent(listener, listeners, version)) {
+                        consumer.accept(listener, argument);
+                    }
+                } catch (Exception e) {
+                    if (!independent_) {
+                        throw e;
+                    }
+                    if (exceptionList == null) {
+                        exceptionList = new ArrayList<>();
+                    }
+                    exceptionList.add(e);
+                }
+            }
+            if (exceptionList != null) {
+                ExceptionUtils.throwCollected(exceptionList);
+            }
+        } catch (Exception exception) {
+            handleError(exception);
+        }
+    }
+}
@@ -19,6 +19,9 @@ package com.devives.commons.publisher;
 
 import com.devives.commons.listener.Listeners;
 
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 /**
@@ -66,6 +69,54 @@ public interface Publisher<I> {
      */
     void publish(Consumer<I> consumer);
 
+    /**
+     * Publishes an event to all registered listeners using the provided consumer and argument.
+     * <p>
+     * The consumer receives the event as the argument instead of capturing it, so a static consumer can be reused
+     * for all events and the publication does not allocate a consumer per event. For example:
+     * <pre>{@code
+     * private static final BiConsumer<ChangeListener, ChangeEvent> ON_CHANGE = ChangeListener::onChange;
+     * ...
+     * publisher.publish(ON_CHANGE, event);
+     * }</pre>
+     * The default implementation wraps the consumer and calls {@link #publish(Consumer)}.
+     *
+     * @param consumer the operation to perform on each listener with the argument (non-null)
+     * @param argument the argument passed to the consumer with each listener
+     * @param <A> the type of argument
+     * @throws NullPointerException if the consumer is null
+     * @throws RuntimeException if configured error handling allows it to propagate
+     * @since 0.9.0
+     */
+    default <A> void publish(BiConsumer<I, A> consumer, A argument) {
+        Objects.requireNonNull(consumer, "consumer");
+        publish(listener -> consumer.accept(listener, argument));
+    }
+
+    /**
+     * Publishes a batch of events to all registered listeners using the provided consumer and each argument.
+     * <p>
+     * Each listener receives the arguments in the iteration order of the collection. Publishers with synchronous
+     * delivery take one snapshot of the listeners and deliver the whole batch listener by listener; exceptions
+     * thrown by listeners are collected as by {@link IndependentDistributor}, see
+     * {@link Distributor#distributeAll(BiConsumer, Collection, Listeners)}.
+     * The default implementation publishes the arguments one by one.
+     *
+     * @param consumer the operation to perform on each listener with each argument (non-null)
+     * @param arguments the arguments passed to the consumer (non-null)
+     * @param <A> the type of argument
+     * @throws NullPointerException if the consumer or the arguments are null
+     * @throws RuntimeException if configured error handling allows it to propagate
+     * @since 0.9.0
+     */
+    default <A> void publishAll(BiConsumer<I, A> consumer, Collection<? extends A> arguments) {
+        Objects.requireNonNull(consumer, "consumer");
+        Objects.requireNonNull(arguments, "arguments");
+        for (A argument : arguments) {
+            publish(consumer, argument);
+        }
+    }
+
     /**
      * Creates and returns a new {@link PublisherBuilder} for the specified listener type.
      * <p>
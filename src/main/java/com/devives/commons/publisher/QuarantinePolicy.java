@@ -0,0 +1,189 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.lang.Validate;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The policy of isolating misbehaving listeners in {@link IndependentDistributor}.
+ * <p>
+ * A listener is quarantined when a single call exceeds the time budget, or when the number of consecutive calls
+ * which threw an exception reaches the failure threshold. A quarantined listener is skipped until the quarantine
+ * expires. It is then re-admitted on probation: a successful call within the budget clears its record, while
+ * another violation quarantines it again for twice the previous duration, up to the maximum duration.
+ * <p>
+ * The time budget is checked when the call returns, since a call on the distributing thread can not be preempted.
+ * <pre>{@code
+ * QuarantinePolicy policy = QuarantinePolicy.builder()
+ *     .setTimeBudget(50, TimeUnit.MILLISECONDS)
+ *     .setFailureThreshold(3)
+ *     .setQuarantineDuration(1, 60, TimeUnit.SECONDS)
+ *     .build();
+ * }</pre>
+ *
+ * @see PublisherBuilder#setQuarantinePolicy(QuarantinePolicy)
+ * @see ListenerQuarantinedException
+ * @since 0.9.0
+ */
+public final class QuarantinePolicy {
+
+    private final long timeBudgetNanos_;
+    private final int failureThreshold_;
+    private final long initialQuarantineNanos_;
+    private final long maxQuarantineNanos_;
+
+    private QuarantinePolicy(Builder builder) {
+        timeBudgetNanos_ = builder.timeBudgetNanos_;
+        failureThreshold_ = builder.failureThreshold_;
+        initialQuarantineNanos_ = builder.initialQuarantineNanos_;
+        maxQuarantineNanos_ = builder.maxQuarantineNanos_;
+    }
+
+    /**
+     * Returns the maximum duration of a listener call.
+     *
+     * @return the time budget in nanoseconds, or {@code 0} if the duration of calls is not checked.
+     */
+    public long getTimeBudgetNanos() {
+        return timeBudgetNanos_;
+    }
+
+    /**
+     * Returns the number of consecutive failed calls which quarantines a listener.
+     *
+     * @return the failure threshold.
+     */
+    public int getFailureThreshold() {
+        return failureThreshold_;
+    }
+
+    /**
+     * Returns the duration of the first quarantine of a listener.
+     *
+     * @return the duration in nanoseconds.
+     */
+    public long getInitialQuarantineNanos() {
+        return initialQuarantineNanos_;
+    }
+
+    /**
+     * Returns the maximum duration of a quarantine.
+     *
+     * @return the duration in nanoseconds.
+     */
+    public long getMaxQuarantineNanos() {
+        return maxQuarantineNanos_;
+    }
+
+    /**
+     * Returns the duration of a quarantine, doubled for each previous quarantine since the last successful call.
+     *
+     * @param previousQuarantines the number of previous quarantines.
+     * @return the duration in nanoseconds.
+     */
+    long getQuarantineNanos(int previousQuarantines) {
+        long duration = initialQuarantineNanos_;
+        for (int i = 0; i < previousQuarantines && duration < maxQuarantineNanos_; i++) {
+            duration = duration > Long.MAX_VALUE / 2 ? Long.MAX_VALUE : duration * 2;
+        }
+        return Math.min(duration, maxQuarantineNanos_);
+    }
+
+    /**
+     * Returns the new instance of {@link Builder}.
+     *
+     * @return new instance of builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder of {@link QuarantinePolicy}.
+     */
+    public static final class Builder {
+        private long timeBudgetNanos_ = 0;
+        private int failureThreshold_ = Integer.MAX_VALUE;
+        private long initialQuarantineNanos_ = TimeUnit.SECONDS.toNanos(1);
+        private long maxQuarantineNanos_ = TimeUnit.MINUTES.toNanos(1);
+
+        private Builder() {
+        }
+
+        /**
+         * Set the maximum duration of a listener call. Not checked by default.
+         *
+         * @param timeBudget the maximum duration.
+         * @param unit       the time unit of the duration.
+         * @return this builder.
+         */
+        public Builder setTimeBudget(long timeBudget, TimeUnit unit) {
+            timeBudgetNanos_ = toPositiveNanos(timeBudget, unit, "timeBudget");
+            return this;
+        }
+
+        /**
+         * Set the number of consecutive failed calls which quarantines a listener. Unlimited by default.
+         *
+         * @param failureThreshold the failure threshold.
+         * @return this builder.
+         */
+        public Builder setFailureThreshold(int failureThreshold) {
+            failureThreshold_ = Validate.greater(failureThreshold, 0);
+            return this;
+        }
+
+        /**
+         * Set the durations of quarantine. By default a quarantine lasts from one second to one minute.
+         *
+         * @param initial the duration of the first quarantine.
+         * @param max     the maximum duration of a quarantine, not less than the initial duration.
+         * @param unit    the time unit of the durations.
+         * @return this builder.
+         */
+        public Builder setQuarantineDuration(long initial, long max, TimeUnit unit) {
+            long initialNanos = toPositiveNanos(initial, unit, "initial");
+            long maxNanos = toPositiveNanos(max, unit, "max");
+            if (maxNanos < initialNanos) {
+                throw new IllegalArgumentException(String.format(Validate.DEFAULT_GREATER_OR_EQUAL_MESSAGE, "max", initial, max));
+            }
+            initialQuarantineNanos_ = initialNanos;
+            maxQuarantineNanos_ = maxNanos;
+            return this;
+        }
+
+        /**
+         * Build {@link QuarantinePolicy} instance.
+         *
+         * @return new {@link QuarantinePolicy} instance.
+         */
+        public QuarantinePolicy build() {
+            return new QuarantinePolicy(this);
+        }
+
+        private static long toPositiveNanos(long value, TimeUnit unit, String name) {
+            Objects.requireNonNull(unit, "unit");
+            if (value <= 0) {
+                throw new IllegalArgumentException(String.format(Validate.DEFAULT_GREATER_MESSAGE, name, 0, value));
+            }
+            return unit.toNanos(value);
+        }
+    }
+}
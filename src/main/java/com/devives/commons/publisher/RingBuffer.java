@@ -0,0 +1,295 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.lang.ExceptionUtils;
+import com.devives.commons.lang.Validate;
+import com.devives.commons.listener.Listeners;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+
+/**
+ * A bounded ring of preallocated event slots, drained by a dedicated consumer thread.
+ * <p>
+ * Publishers claim slots by incrementing a sequence counter with a compare-and-set, fill the claimed slot and mark
+ * it available; no locks are taken. If the ring is full, publishers wait until the consumer frees a slot.
+ * The consumer delivers all contiguous available slots as one batch and then releases the whole batch at once.
+ * <p>
+ * A listener may publish into the ring on the consumer thread. If the ring is full, the consumer can not wait for
+ * a free slot, which only it can release, so it delivers the event itself at once, ahead of the events waiting
+ * in the ring.
+ * <p>
+ * A ring buffer is a resource owned by the application: it can be shared by several publishers, which are built
+ * with {@link PublisherBuilder#setRingBufferDelivery(RingBuffer)}, and must be closed when no longer needed.
+ * Events published before {@link #close()} are delivered before the consumer thread stops.
+ *
+ * @see RingBufferDistributor
+ * @since 0.9.0
+ */
+public final class RingBuffer implements AutoCloseable {
+
+    /**
+     * The strategy of waiting for events by the consumer, and for free slots by publishers.
+     */
+    public enum WaitStrategy {
+        /**
+         * Spin in a loop. The lowest latency, occupies a processor core.
+         */
+        BUSY_SPIN,
+        /**
+         * Spin in a loop, yielding the processor on each iteration.
+         */
+        YIELD,
+        /**
+         * Park the waiting thread until it is signaled. The highest latency, no processor usage while idle.
+         */
+        PARK
+    }
+
+    private static final long CLOSED = Long.MIN_VALUE;
+    private static final long PUBLISHER_PARK_NANOS = 1_000L;
+
+    private final int bufferSize_;
+    private final int mask_;
+    private final Slot[] slots_;
+    /**
+     * The sequence published into each slot, {@code -1} if nothing was published.
+     */
+    private final AtomicLongArray available_;
+    /**
+     * The next sequence to claim. The sign bit is set when the ring buffer is closed.
+     */
+    private final AtomicLong next_ = new AtomicLong();
+    private final WaitStrategy waitStrategy_;
+    private final Thread consumerThread_;
+    /**
+     * The last sequence delivered by the consumer.
+     */
+    private volatile long consumed_ = -1L;
+    private volatile boolean consumerParked_;
+
+    /**
+     * Constructs a new ring buffer and starts its consumer daemon thread.
+     *
+     * @param bufferSize   the number of slots, must be a positive power of two.
+     * @param waitStrategy the wait strategy.
+     */
+    public RingBuffer(int bufferSize, WaitStrategy waitStrategy) {
+        this(bufferSize, waitStrategy, runnable -> {
+            Thread thread = new Thread(runnable, "ring-buffer-consumer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Constructs a new ring buffer and starts its consumer thread.
+     *
+     * @param bufferSize    the number of slots, must be a positive power of two.
+     * @param waitStrategy  the wait strategy.
+     * @param threadFactory the factory of the consumer thread.
+     */
+    public RingBuffer(int bufferSize, WaitStrategy waitStrategy, ThreadFactory threadFactory) {
+        Validate.greater(bufferSize, 0);
+        if (Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("The buffer size must be a power of two. Actual value: " + bufferSize);
+        }
+        waitStrategy_ = Objects.requireNonNull(waitStrategy, "waitStrategy");
+        Objects.requireNonNull(threadFactory, "threadFactory");
+        bufferSize_ = bufferSize;
+        mask_ = bufferSize - 1;
+        slots_ = new Slot[bufferSize];
+        available_ = new AtomicLongArray(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            slots_[i] = new Slot();
+            available_.set(i, -1L);
+        }
+        consumerThread_ = Objects.requireNonNull(threadFactory.newThread(this::consume), "thread");
+        consumerThread_.start();
+    }
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return the number of slots.
+     */
+    public int getBufferSize() {
+        return bufferSize_;
+    }
+
+    /**
+     * Returns the number of claimed slots, which are not delivered yet.
+     *
+     * @return the number of undelivered events.
+     */
+    public long getBacklog() {
+        return (next_.get() & ~CLOSED) - 1 - consumed_;
+    }
+
+    /**
+     * Closes the ring buffer.
+     * <p>
+     * Further publications are rejected with {@link IllegalStateException}. The method waits until the events
+     * published before are delivered, unless it is called by the consumer thread itself.
+     */
+    @Override
+    public void close() {
+        long current;
+        do {
+            current = next_.get();
+            if (current < 0) {
+                break;
+            }
+        } while (!next_.compareAndSet(current, current | CLOSED));
+        LockSupport.unpark(consumerThread_);
+        if (Thread.currentThread() != consumerThread_) {
+            try {
+                consumerThread_.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Publishes an event into the next free slot, waiting for a free slot if the ring is full. If the ring is full
+     * and the current thread is the consumer thread, the event is delivered on it at once.
+     *
+     * @throws IllegalStateException if the ring buffer is closed.
+     */
+    @SuppressWarnings("unchecked")
+    <I, A> void publish(RingBufferDistributor<I> distributor, BiConsumer<I, A> consumer, A argument,
+                        Listeners<I> listeners, List<I> snapshot, long version) {
+        long sequence;
+        for (;;) {
+            long current = next_.get();
+            if (current < 0) {
+                throw new IllegalStateException("The ring buffer is closed.");
+            }
+            if (current - bufferSize_ > consumed_) {
+                if (Thread.currentThread() == consumerThread_) {
+                    distributor.deliver(consumer, argument, listeners, snapshot, version);
+                    return;
+                }
+                awaitSlot();
+            } else if (next_.compareAndSet(current, current + 1)) {
+                sequence = current;
+                break;
+            }
+        }
+        int index = (int) (sequence & mask_);
+        Slot slot = slots_[index];
+        slot.distributor = (RingBufferDistributor<Object>) distributor;
+        slot.consumer = (BiConsumer<Object, Object>) consumer;
+        slot.argument = argument;
+        slot.listeners = (Listeners<Object>) listeners;
+        slot.snapshot = (List<Object>) snapshot;
+        slot.version = version;
+        available_.set(index, sequence);
+        if (consumerParked_) {
+            LockSupport.unpark(consumerThread_);
+        }
+    }
+
+    private void consume() {
+        long sequence = 0L;
+        for (;;) {
+            if (available_.get((int) (sequence & mask_)) == sequence) {
+                long last = sequence;
+                while (available_.get((int) ((last + 1) & mask_)) == last + 1) {
+                    last++;
+                }
+                for (long s = sequence; s <= last; s++) {
+                    slots_[(int) (s & mask_)].deliver();
+                }
+                consumed_ = last;
+                sequence = last + 1;
+            } else if (next_.get() == (sequence | CLOSED)) {
+                return;
+            } else {
+                awaitEvent(sequence);
+            }
+        }
+    }
+
+    private void awaitSlot() {
+        switch (waitStrategy_) {
+            case BUSY_SPIN:
+                break;
+            case YIELD:
+                Thread.yield();
+                break;
+            case PARK:
+                LockSupport.parkNanos(this, PUBLISHER_PARK_NANOS);
+                break;
+            default:
+                throw new IllegalStateException(String.valueOf(waitStrategy_));
+        }
+    }
+
+    private void awaitEvent(long sequence) {
+        switch (waitStrategy_) {
+            case BUSY_SPIN:
+                break;
+            case YIELD:
+                Thread.yield();
+                break;
+            case PARK:
+                // Publishers unpark the consumer if they observe the flag after making a slot available.
+                consumerParked_ = true;
+                if (available_.get((int) (sequence & mask_)) != sequence && next_.get() >= 0) {
+                    LockSupport.park(this);
+                }
+                consumerParked_ = false;
+                break;
+            default:
+                throw new IllegalStateException(String.valueOf(waitStrategy_));
+        }
+    }
+
+    /**
+     * A preallocated slot of the ring.
+     */
+    private static final class Slot {
+        private RingBufferDistributor<Object> distributor;
+        private BiConsumer<Object, Object> consumer;
+        private Object argument;
+        private Listeners<Object> listeners;
+        private List<Object> snapshot;
+        private long version;
+
+        private void deliver() {
+            try {
+                distributor.deliver(consumer, argument, listeners, snapshot, version);
+            } catch (Throwable throwable) {
+                ExceptionUtils.handleUncaught(throwable);
+            } finally {
+                distributor = null;
+                consumer = null;
+                argument = null;
+                listeners = null;
+                snapshot = null;
+            }
+        }
+    }
+}
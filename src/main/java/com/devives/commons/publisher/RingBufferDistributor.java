@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.lang.ExceptionUtils;
+import com.devives.commons.listener.Listeners;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Distributor} implementation that hands events over to the consumer thread of a {@link RingBuffer}.
+ * <p>
+ * The publishing thread takes the snapshot of listeners and stores it with the event in a preallocated slot of the
+ * ring, so a publication does not allocate if the collection caches its snapshot. The consumer thread delivers
+ * the events in the order of publication, with the semantics of {@link DefaultDistributor} or, if delivery is
+ * independent, of {@link IndependentDistributor}, except the events which listeners publish on the consumer thread
+ * into the full ring, which are delivered at once, see {@link RingBuffer}. Exceptions are passed to the error handler on the consumer thread;
+ * if the error handler throws, the exception is passed to the uncaught exception handler of the consumer thread.
+ *
+ * @param <I> the type of listeners receiving events
+ * @see PublisherBuilder#setRingBufferDelivery(RingBuffer)
+ * @since 0.9.0
+ */
+public final class RingBufferDistributor<I> extends AbstractDistributor<I> {
+
+    private final RingBuffer ringBuffer_;
+    private final boolean independent_;
+
+    /**
+     * Constructs a ring buffer distributor.
+     *
+     * @param ringBuffer the ring buffer (non-null)
+     * @param independent if {@code true}, listeners are called even if previous listeners throw exceptions
+     * @param listenerPresenceCheck if {@code true}, listeners removed from the collection before the delivery
+     *        are not notified
+     * @param errorHandler consumer to process exceptions thrown by listeners (non-null)
+     */
+    public RingBufferDistributor(RingBuffer ringBuffer, boolean independent, boolean listenerPresenceCheck,
+                                 Consumer<Exception> errorHandler) {
+        super(listenerPresenceCheck, errorHandler);
+        ringBuffer_ = Objects.requireNonNull(ringBuffer, "ringBuffer");
+        independent_ = independent;
+    }
+
+    /**
+     * Publishes the event with the snapshot of listeners into the ring buffer.
+     *
+     * @param consumer the operation to apply to each listener (non-null)
+     * @param listeners the listener collection (non-null)
+     * @throws IllegalStateException if the ring buffer is closed.
+     */
+    @Override
+    protected void doDistribution(Consumer<I> consumer, Listeners<I> listeners) {
+        doDistribution(acceptor(), consumer, listeners);
+    }
+
+    /**
+     * Publishes the event with the snapshot of listeners into the ring buffer.
+     *
+     * @param consumer the operation to apply to each listener and the argument (non-null)
+     * @param argument the argument passed to the consumer
+     * @param listeners the listener collection (non-null)
+     * @throws IllegalStateException if the ring buffer is closed.
+     * @since 0.9.0
+     */
+    @Override
+    protected <A> void doDistribution(BiConsumer<I, A> consumer, A argument, Listeners<I> listeners) {
+        Objects.requireNonNull(consumer, "consumer");
+        long version = getListenersVersion(listeners);
+        ringBuffer_.publish(this, consumer, argument, listeners, listeners.snapshot(), version);
+    }
+
+    /**
+     * Delivers an event on the consumer thread of the ring buffer.
+     */
+    <A> void deliver(BiConsumer<I, A> consumer, A argument, Listeners<I> listeners, List<I> snapshot, long version) {
+        try {
+            if (independent_) {
+                deliverIndependently(consumer, argument, listeners, snapshot, version);
+            } else {
+                for (int i = 0, size = snapshot.size(); i < size; i++) {
+                    I listener = snapshot.get(i);
+                    if (isListenerPresent(listener, listeners, version)) {
+                        consumer.accept(listener, argument);
+                    }
+                }
+            }
+        } catch (Exception exception) {
+            handleError(exception);
+        }
+    }
+
+    private <A> void deliverIndependently(BiConsumer<I, A> consumer, A argument, Listeners<I> listeners, List<I> snapshot, long version) {
+        List<Exception> exceptionList = null;
+        for (int i = 0, size = snapshot.size(); i < size; i++) {
+            I listener = snapshot.get(i);
+            try {
+                if (isListenerPresent(listener, listeners, version)) {
+                    consumer.accept(listener, argument);
+                }
+            } catch (Exception e) {
+                if (exceptionList == null) {
+                    exceptionList = new ArrayList<>();
+                }
+                exceptionList.add(e);
+            }
+        }
+        if (exceptionList != null) {
+            ExceptionUtils.throwCollected(exceptionList);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.lang.ExceptionUtils;
+import com.devives.commons.lang.exception.AggregateException;
+import com.devives.commons.listener.Listeners;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Distributor} implementation that calls each listener on its own virtual thread, which suits listeners
+ * performing blocking I/O.
+ * <p>
+ * Virtual threads are available on Java 21 and later, where the library uses the version of this class from
+ * the multi-release section of the jar. On earlier versions listeners are called sequentially on the distributing
+ * thread. Delivery is independent on every version: all listeners are called, and the exceptions they throw are
+ * collected into an {@link AggregateException}, as {@link IndependentDistributor} does.
+ * {@link #isVirtualThreadSupported()} tells which implementation is in use.
+ *
+ * @param <I> the type of listeners receiving events
+ * @see PublisherBuilder#setVirtualThreadDelivery()
+ * @since 0.9.0
+ */
+public final class VirtualThreadDistributor<I> extends AbstractDistributor<I> {
+
+    /**
+     * Constructs a virtual thread distributor.
+     *
+     * @param listenerPresenceCheck if {@code true}, listeners removed from the collection during the distribution
+     *        are not notified
+     * @param errorHandler consumer to process exceptions during distribution (non-null)
+     */
+    public VirtualThreadDistributor(boolean listenerPresenceCheck, Consumer<Exception> errorHandler) {
+        super(listenerPresenceCheck, errorHandler);
+    }
+
+    /**
+     * Returns whether listeners are called on virtual threads.
+     *
+     * @return {@code true} on Java 21 and later, {@code false} otherwise.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return false;
+    }
+
+    /**
+     * Sequentially delivers the event to all valid listeners, collecting any exceptions
+     * into an {@link AggregateException}.
+     *
+     * @param consumer the operation to apply to each listener (non-null)
+     * @param listeners the collection of listeners (non-null)
+     */
+    @Override
+    protected void doDistribution(Consumer<I> consumer, Listeners<I> listeners) {
+        doDistribution(acceptor(), consumer, listeners);
+    }
+
+    /**
+     * Sequentially delivers the event to all valid listeners, collecting any exceptions
+     * into an {@link AggregateException}.
+     *
+     * @param consumer the operation to apply to each listener and the argument (non-null)
+     * @param argument the argument passed to the consumer
+     * @param listeners the collection of listeners (non-null)
+     */
+    @Override
+    protected <A> void doDistribution(BiConsumer<I, A> consumer, A argument, Listeners<I> listeners) {
+        List<Exception> exceptionList = null;
+        long version = getListenersVersion(listeners);
+        List<I> snapshot = listeners.snapshot();
+        for (int i = 0, size = snapshot.size(); i < size; i++) {
+            I listener = snapshot.get(i);
+            try {
+                if (isListenerPresent(listener, listeners, version)) {
+                    consumer.accept(listener, argument);
+                }
+            } catch (Exception e) {
+                if (exceptionList == null) {
+                    exceptionList = new ArrayList<>();
+                }
+                exceptionList.add(e);
+            }
+        }
+        if (exceptionList != null) {
+            ExceptionUtils.throwCollected(exceptionList);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.util.concurrent;
+
+import com.devives.commons.lang.ExceptionUtils;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * A task which runs the units of work of a queue one at a time on an {@link Executor}.
+ * <p>
+ * The subclass owns the queue and a scheduled flag: it marks itself scheduled before calling {@link #schedule()},
+ * and clears the flag in {@link #runNext()} under the same lock as it finds the queue empty. So at most one instance
+ * of the task runs at a time, and the units are run serially. The task yields the executor thread after
+ * {@value #DRAIN_LIMIT} units and reschedules itself, so a long queue does not monopolize a thread.
+ * <p>
+ * Exceptions thrown by a unit are passed to {@link #onError(RuntimeException)}, and the drain goes on with the next
+ * unit. If the executor rejects the rescheduling, {@link #onRejected(RuntimeException)} decides what happens to the
+ * units left in the queue.
+ *
+ * @since 0.9.0
+ */
+public abstract class SerialDrain implements Runnable {
+
+    /**
+     * The maximum number of units run by one executor task.
+     */
+    public static final int DRAIN_LIMIT = 64;
+
+    private final Executor executor_;
+
+    /**
+     * Constructs a new SerialDrain.
+     *
+     * @param executor the executor which runs the task.
+     */
+    protected SerialDrain(Executor executor) {
+        executor_ = Objects.requireNonNull(executor, "executor");
+    }
+
+    /**
+     * Runs the next unit of work.
+     *
+     * @return {@code false} if the queue is empty and the task is marked not scheduled.
+     */
+    protected abstract boolean runNext();
+
+    /**
+     * Handles the rejection of the rescheduling after {@value #DRAIN_LIMIT} units, the task is still marked
+     * scheduled. The implementation either drains the queue with {@link #drainInline()} or discards the queue
+     * and reports the rejection.
+     *
+     * @param exception the exception thrown by the executor.
+     */
+    protected abstract void onRejected(RuntimeException exception);
+
+    /**
+     * Handles an exception thrown by {@link #runNext()}. The default implementation passes the exception to
+     * the uncaught exception handler of the executor thread.
+     *
+     * @param exception the exception.
+     */
+    protected void onError(RuntimeException exception) {
+        ExceptionUtils.handleUncaught(exception);
+    }
+
+    /**
+     * Called on the executor thread before the task yields it and reschedules itself.
+     */
+    protected void onYield() {
+    }
+
+    /**
+     * Submits the task to the executor. The caller must have marked the task scheduled.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if the executor rejects the task.
+     */
+    public final void schedule() {
+        executor_.execute(this);
+    }
+
+    /**
+     * Runs the units on the current thread until the queue is empty.
+     */
+    protected final void drainInline() {
+        while (runNextHandled()) {
+            // Run the next unit.
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Runs up to {@value #DRAIN_LIMIT} units and reschedules the task if the queue is not empty.
+     */
+    @Override
+    public final void run() {
+        boolean drained = false;
+        try {
+            for (int i = 0; i < DRAIN_LIMIT; i++) {
+                if (!runNextHandled()) {
+                    drained = true;
+                    return;
+                }
+            }
+        } finally {
+            if (!drained) {
+                // Yield the executor thread after the drain limit, or go on after an error thrown by onError().
+                onYield();
+                try {
+                    schedule();
+                } catch (RuntimeException e) {
+                    onRejected(e);
+                }
+            }
+        }
+    }
+
+    private boolean runNextHandled() {
+        try {
+            return runNext();
+        } catch (RuntimeException e) {
+            onError(e);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.lang.ExceptionUtils;
+import com.devives.commons.lang.exception.AggregateException;
+import com.devives.commons.listener.Listeners;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Distributor} implementation that calls each listener on its own virtual thread, which suits listeners
+ * performing blocking I/O.
+ * <p>
+ * The distribution starts a virtual thread per listener of the snapshot and returns when all listeners have been
+ * called, so listeners blocked on I/O do not occupy platform threads and do not delay one another. A snapshot of
+ * a single listener is delivered on the distributing thread.
+ * <p>
+ * Delivery is independent: all listeners are called, and the exceptions they throw are collected into an
+ * {@link AggregateException}, as {@link IndependentDistributor} does. Listeners must be thread-safe, and no order
+ * of delivery is guaranteed. If the distributing thread is interrupted, it still waits for the listeners
+ * and restores the interrupt status before returning.
+ *
+ * @param <I> the type of listeners receiving events
+ * @see PublisherBuilder#setVirtualThreadDelivery()
+ * @since 0.9.0
+ */
+public final class VirtualThreadDistributor<I> extends AbstractDistributor<I> {
+
+    private static final ThreadFactory THREAD_FACTORY = Thread.ofVirtual().name("virtual-thread-distributor").factory();
+
+    /**
+     * Constructs a virtual thread distributor.
+     *
+     * @param listenerPresenceCheck if {@code true}, listeners removed from the collection during the distribution
+     *        are not notified
+     * @param errorHandler consumer to process all encountered exceptions (non-null)
+     */
+    public VirtualThreadDistributor(boolean listenerPresenceCheck, Consumer<Exception> errorHandler) {
+        super(listenerPresenceCheck, errorHandler);
+    }
+
+    /**
+     * Returns whether listeners are called on virtual threads.
+     *
+     * @return {@code true} on Java 21 and later, {@code false} otherwise.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return true;
+    }
+
+    /**
+     * Delivers the event to all valid listeners on virtual threads, collecting any exceptions
+     * into an {@link AggregateException}.
+     *
+     * @param consumer the operation to apply to each listener (non-null)
+     * @param listeners the collection of listeners (non-null)
+     */
+    @Override
+    protected void doDistribution(Consumer<I> consumer, Listeners<I> listeners) {
+        doDistribution(acceptor(), consumer, listeners);
+    }
+
+    /**
+     * Delivers the event to all valid listeners on virtual threads, collecting any exceptions
+     * into an {@link AggregateException}.
+     *
+     * @param consumer the operation to apply to each listener and the argument (non-null)
+     * @param argument the argument passed to the consumer
+     * @param listeners the collection of listeners (non-null)
+     */
+    @Override
+    protected <A> void doDistribution(BiConsumer<I, A> consumer, A argument, Listeners<I> listeners) {
+        long version = getListenersVersion(listeners);
+        List<I> snapshot = listeners.snapshot();
+        int size = snapshot.size();
+        if (size == 0) {
+            return;
+        }
+        if (size == 1) {
+            I listener = snapshot.get(0);
+            if (isListenerPresent(listener, listeners, version)) {
+                consumer.accept(listener, argument);
+            }
+            return;
+        }
+        Collection<Exception> exceptions = new ConcurrentLinkedQueue<>();
+        Thread[] threads = new Thread[size];
+        for (int i = 0; i < size; i++) {
+            I listener = snapshot.get(i);
+            threads[i] = THREAD_FACTORY.newThread(() -> {
+                try {
+                    if (isListenerPresent(listener, listeners, version)) {
+                        consumer.accept(listener, argument);
+                    }
+                } catch (Exception e) {
+                    exceptions.add(e);
+                }
+            });
+            threads[i].start();
+        }
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (true) {
+                try {
+                    thread.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (!exceptions.isEmpty()) {
+            ExceptionUtils.throwCollected(exceptions);
+        }
+    }
+}
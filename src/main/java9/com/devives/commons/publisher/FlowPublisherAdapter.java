@@ -0,0 +1,397 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.event.Event;
+import com.devives.commons.event.EventListener;
+import com.devives.commons.event.EventSource;
+import com.devives.commons.lang.ExceptionUtils;
+import com.devives.commons.lang.Validate;
+import com.devives.commons.listener.Listeners;
+import com.devives.commons.listener.Subscription;
+import com.devives.commons.util.concurrent.SerialDrain;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * An adapter which exposes a {@link Publisher} or an {@link EventSource} as a {@link Flow.Publisher}.
+ * <p>
+ * The adapter registers one listener in the collection of the publisher and copies every published item into
+ * a bounded buffer of each {@link Flow.Subscriber}. Items are delivered from the buffer on the executor, only as long
+ * as the subscriber has outstanding demand signalled by {@link Flow.Subscription#request(long)}. If the buffer of
+ * a subscriber is full, the item is handled according to the {@link OverflowPolicy overflow policy}, so a slow
+ * subscriber never receives more items than it requested and never makes the adapter hold more than the buffer capacity.
+ * <p>
+ * The signals of a subscriber are serialized: a subscriber is served by a single executor task at a time, which yields
+ * the executor thread after {@value SerialDrain#DRAIN_LIMIT} items and reschedules itself. {@link #close()} unregisters
+ * the listener, and each subscriber receives {@link Flow.Subscriber#onComplete()} after the items left in its buffer.
+ * An exception thrown by a subscriber cancels its subscription and is passed to the uncaught exception handler
+ * of the executor thread.
+ * <p>
+ * The class requires Java 9 or later and is shipped in the separate artifact with the classifier {@code flow}.
+ * <pre>{@code
+ * FlowPublisherAdapter<StateChangedEvent<State>> adapter = FlowPublisherAdapter.of(
+ *     eventSource, 256, FlowPublisherAdapter.OverflowPolicy.DROP_OLDEST, executor);
+ * adapter.subscribe(subscriber);
+ * }</pre>
+ *
+ * @param <T> the type of items.
+ * @since 0.9.0
+ */
+public final class FlowPublisherAdapter<T> implements Flow.Publisher<T>, AutoCloseable {
+
+    /**
+     * The handling of an item published while the buffer of a subscriber is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The oldest buffered item is discarded to make room for the new item.
+         */
+        DROP_OLDEST,
+        /**
+         * The new item is discarded.
+         */
+        DROP_NEWEST,
+        /**
+         * The publishing thread waits until the subscriber requests and receives buffered items, or cancels the
+         * subscription. A subscriber which publishes to the adapter from its own signals, or an executor whose threads
+         * all publish to the adapter, can not make progress under this policy.
+         */
+        BLOCK
+    }
+
+    private final int bufferCapacity_;
+    private final OverflowPolicy overflowPolicy_;
+    private final Executor executor_;
+    private final CopyOnWriteArrayList<BufferedSubscription> subscriptions_ = new CopyOnWriteArrayList<>();
+    private final LongAdder droppedCount_ = new LongAdder();
+    private final Subscription registration_;
+    private volatile boolean closed_;
+
+    private <I> FlowPublisherAdapter(Listeners<I> listeners, Function<? super Consumer<T>, ? extends I> listenerFactory,
+                                     int bufferCapacity, OverflowPolicy overflowPolicy, Executor executor) {
+        Objects.requireNonNull(listeners, "listeners");
+        Objects.requireNonNull(listenerFactory, "listenerFactory");
+        bufferCapacity_ = Validate.greater(bufferCapacity, 0);
+        overflowPolicy_ = Objects.requireNonNull(overflowPolicy, "overflowPolicy");
+        executor_ = Objects.requireNonNull(executor, "executor");
+        Consumer<T> sink = this::offer;
+        I listener = Objects.requireNonNull(listenerFactory.apply(sink), "listener");
+        registration_ = listeners.subscribe(listener);
+    }
+
+    /**
+     * Creates an adapter of the publisher.
+     * <p>
+     * The listener factory receives the sink of the adapter and returns the listener to register, which passes
+     * the published items to the sink. For example, {@code sink -> value -> sink.accept(value)}.
+     *
+     * @param publisher       the publisher.
+     * @param listenerFactory the factory of the listener which passes the items to the adapter.
+     * @param bufferCapacity  the maximum number of items buffered for each subscriber.
+     * @param overflowPolicy  the handling of an item published while the buffer of a subscriber is full.
+     * @param executor        the executor which delivers the items to subscribers.
+     * @param <I>             the type of listener.
+     * @param <T>             the type of items.
+     * @return new adapter.
+     */
+    public static <I, T> FlowPublisherAdapter<T> of(Publisher<I> publisher, Function<? super Consumer<T>, ? extends I> listenerFactory,
+                                                    int bufferCapacity, OverflowPolicy overflowPolicy, Executor executor) {
+        Objects.requireNonNull(publisher, "publisher");
+        return new FlowPublisherAdapter<>(publisher.getListeners(), listenerFactory, bufferCapacity, overflowPolicy, executor);
+    }
+
+    /**
+     * Creates an adapter of the event source, which publishes the sent events.
+     *
+     * @param eventSource    the event source.
+     * @param bufferCapacity the maximum number of events buffered for each subscriber.
+     * @param overflowPolicy the handling of an event sent while the buffer of a subscriber is full.
+     * @param executor       the executor which delivers the events to subscribers.
+     * @param <E>            the type of event.
+     * @return new adapter.
+     */
+    public static <E extends Event> FlowPublisherAdapter<E> of(EventSource<E> eventSource, int bufferCapacity,
+                                                               OverflowPolicy overflowPolicy, Executor executor) {
+        Objects.requireNonNull(eventSource, "eventSource");
+        Function<Consumer<E>, EventListener<E>> listenerFactory = sink -> sink::accept;
+        return new FlowPublisherAdapter<>(eventSource.getListeners(), listenerFactory, bufferCapacity, overflowPolicy, executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the adapter is closed, the subscriber receives {@link Flow.Subscriber#onComplete()} right after
+     * {@link Flow.Subscriber#onSubscribe(Flow.Subscription)}.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        BufferedSubscription subscription = new BufferedSubscription(subscriber);
+        subscriptions_.add(subscription);
+        if (closed_) {
+            subscription.complete();
+        }
+        subscription.submit();
+    }
+
+    /**
+     * Unregisters the listener of the adapter and completes all subscriptions, once their buffered items are delivered.
+     * Repeated calls have no effect.
+     */
+    @Override
+    public void close() {
+        closed_ = true;
+        registration_.close();
+        for (BufferedSubscription subscription : subscriptions_) {
+            subscription.complete();
+        }
+    }
+
+    /**
+     * Returns the number of subscriptions, which are neither cancelled nor terminated.
+     *
+     * @return the number of subscriptions.
+     */
+    public int getSubscriberCount() {
+        return subscriptions_.size();
+    }
+
+    /**
+     * Returns the total number of items discarded by the {@link OverflowPolicy#DROP_OLDEST} and
+     * {@link OverflowPolicy#DROP_NEWEST} policies.
+     *
+     * @return the number of discarded items.
+     */
+    public long getDroppedCount() {
+        return droppedCount_.sum();
+    }
+
+    private void offer(T item) {
+        Objects.requireNonNull(item, "item");
+        for (BufferedSubscription subscription : subscriptions_) {
+            subscription.offer(item);
+        }
+    }
+
+    /**
+     * The subscription of one subscriber with its buffer of items and outstanding demand.
+     */
+    private final class BufferedSubscription extends SerialDrain implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber_;
+        private final ArrayDeque<T> buffer_ = new ArrayDeque<>();
+        private long demand_;
+        private Throwable error_;
+        private boolean subscribed_;
+        private boolean scheduled_ = true;
+        private boolean cancelled_;
+        private boolean completed_;
+        private boolean terminated_;
+
+        private BufferedSubscription(Flow.Subscriber<? super T> subscriber) {
+            super(executor_);
+            subscriber_ = subscriber;
+        }
+
+        /**
+         * Buffers the item according to the overflow policy, and schedules the delivery if there is demand.
+         */
+        void offer(T item) {
+            synchronized (this) {
+                if (cancelled_ || completed_) {
+                    return;
+                }
+                if (buffer_.size() >= bufferCapacity_) {
+                    switch (overflowPolicy_) {
+                        case DROP_OLDEST:
+                            buffer_.poll();
+                            droppedCount_.increment();
+                            break;
+                        case DROP_NEWEST:
+                            droppedCount_.increment();
+                            return;
+                        default:
+                            while (buffer_.size() >= bufferCapacity_ && !cancelled_) {
+                                try {
+                                    wait();
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                    return;
+                                }
+                            }
+                            if (cancelled_) {
+                                return;
+                            }
+                    }
+                }
+                buffer_.add(item);
+                if (!acquireSchedule()) {
+                    return;
+                }
+            }
+            submit();
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p>
+         * A non-positive number cancels the subscription and signals {@link IllegalArgumentException}.
+         */
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (cancelled_) {
+                    return;
+                }
+                if (n <= 0) {
+                    error_ = new IllegalArgumentException("The number of requested items must be positive: " + n);
+                    cancelled_ = true;
+                    buffer_.clear();
+                    notifyAll();
+                } else {
+                    demand_ = demand_ + n < 0 ? Long.MAX_VALUE : demand_ + n;
+                }
+                if (!acquireSchedule()) {
+                    return;
+                }
+            }
+            submit();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                cancelled_ = true;
+                buffer_.clear();
+                notifyAll();
+            }
+            subscriptions_.remove(this);
+        }
+
+        /**
+         * Completes the subscription once the buffered items are delivered.
+         */
+        void complete() {
+            synchronized (this) {
+                if (completed_ || cancelled_) {
+                    return;
+                }
+                completed_ = true;
+                if (!acquireSchedule()) {
+                    return;
+                }
+            }
+            submit();
+        }
+
+        /**
+         * Marks the subscription scheduled, if it is not scheduled yet and has signals to deliver.
+         * Must be called while holding the monitor of the subscription.
+         *
+         * @return {@code true} if the caller must schedule the subscription.
+         */
+        private boolean acquireSchedule() {
+            if (scheduled_ || terminated_) {
+                return false;
+            }
+            if (error_ != null || (demand_ > 0 && !buffer_.isEmpty()) || (completed_ && buffer_.isEmpty())) {
+                scheduled_ = true;
+                return true;
+            }
+            return false;
+        }
+
+        private void submit() {
+            try {
+                schedule();
+            } catch (RuntimeException e) {
+                cancel();
+                throw e;
+            }
+        }
+
+        @Override
+        protected boolean runNext() {
+            if (!subscribed_) {
+                subscribed_ = true;
+                subscriber_.onSubscribe(this);
+                return true;
+            }
+            T item = null;
+            Throwable error = null;
+            synchronized (this) {
+                if (error_ != null) {
+                    error = error_;
+                    error_ = null;
+                    terminated_ = true;
+                } else if (cancelled_ || terminated_) {
+                    scheduled_ = false;
+                    return false;
+                } else if (demand_ > 0 && !buffer_.isEmpty()) {
+                    item = buffer_.poll();
+                    demand_--;
+                    notifyAll();
+                } else if (completed_ && buffer_.isEmpty()) {
+                    terminated_ = true;
+                } else {
+                    scheduled_ = false;
+                    return false;
+                }
+            }
+            if (error != null) {
+                subscriptions_.remove(this);
+                subscriber_.onError(error);
+                return false;
+            }
+            if (item == null) {
+                subscriptions_.remove(this);
+                subscriber_.onComplete();
+                return false;
+            }
+            subscriber_.onNext(item);
+            return true;
+        }
+
+        /**
+         * Cancels the subscription, whose subscriber threw the exception.
+         */
+        @Override
+        protected void onError(RuntimeException exception) {
+            synchronized (this) {
+                terminated_ = true;
+            }
+            cancel();
+            ExceptionUtils.handleUncaught(exception);
+        }
+
+        @Override
+        protected void onRejected(RuntimeException exception) {
+            cancel();
+            ExceptionUtils.handleUncaught(exception);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.event;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class BatchEventSourceTest {
+
+    @Test
+    public void send_MaxBatchSizeReached_BatchDelivered() throws Exception {
+        BatchEventSource<PropertyChangedEvent<String>> eventSource = EventSources.<PropertyChangedEvent<String>>batchBuilder()
+                .setMaxBatchSize(2)
+                .build();
+        List<List<Object>> received = new ArrayList<>();
+        eventSource.getListeners().add(events -> received.add(sources(events)));
+        eventSource.send(new PropertyChangedEvent<>(1, "a"));
+        Assertions.assertTrue(received.isEmpty());
+        eventSource.send(new PropertyChangedEvent<>(2, "a"));
+        eventSource.send(new PropertyChangedEvent<>(3, "a"));
+        Assertions.assertEquals(Arrays.asList(Arrays.asList(1, 2)), received);
+        eventSource.flush();
+        Assertions.assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3)), received);
+        eventSource.flush();
+        Assertions.assertEquals(2, received.size());
+    }
+
+    @Test
+    public void send_MaxDelayElapsed_BatchDelivered() throws Exception {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            List<List<Object>> received = new ArrayList<>();
+            BatchEventSource<PropertyChangedEvent<String>> eventSource = EventSources.<PropertyChangedEvent<String>>batchBuilder()
+                    .setMaxDelay(10, TimeUnit.MILLISECONDS, scheduler)
+                    .build();
+            eventSource.getListeners().add(events -> {
+                received.add(sources(events));
+                latch.countDown();
+            });
+            eventSource.send(new PropertyChangedEvent<>(1, "a"));
+            eventSource.send(new PropertyChangedEvent<>(2, "a"));
+            Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(Arrays.asList(Arrays.asList(1, 2)), received);
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void send_SentDuringDelivery_DeliveredInOrderAfterCurrentBatch() throws Exception {
+        BatchEventSource<PropertyChangedEvent<String>> eventSource = EventSources.<PropertyChangedEvent<String>>batchBuilder()
+                .setMaxBatchSize(1)
+                .build();
+        List<Object> received = new ArrayList<>();
+        eventSource.getListeners().add(events -> {
+            Object source = events.get(0).getSource();
+            if (source.equals(1)) {
+                eventSource.send(new PropertyChangedEvent<>(2, "a"));
+                eventSource.send(new PropertyChangedEvent<>(3, "a"));
+            }
+            received.add(source);
+        });
+        eventSource.send(new PropertyChangedEvent<>(1, "a"));
+        Assertions.assertEquals(Arrays.asList(1, 2, 3), received);
+    }
+
+    @Test
+    public void close_PendingBatch_DeliveredAndFurtherEventsRejected() throws Exception {
+        BatchEventSource<PropertyChangedEvent<String>> eventSource = EventSources.<PropertyChangedEvent<String>>batchBuilder().build();
+        List<List<Object>> received = new ArrayList<>();
+        eventSource.getListeners().add(events -> received.add(sources(events)));
+        eventSource.send(new PropertyChangedEvent<>(1, "a"));
+        eventSource.close();
+        Assertions.assertEquals(Arrays.asList(Arrays.asList(1)), received);
+        Assertions.assertThrows(IllegalStateException.class, () -> eventSource.send(new PropertyChangedEvent<>(2, "a")));
+    }
+
+    @Test
+    public void send_ListenerThrows_NextBatchDelivered() throws Exception {
+        List<Exception> errors = new ArrayList<>();
+        BatchEventSource<PropertyChangedEvent<String>> eventSource = EventSources.<PropertyChangedEvent<String>>batchBuilder()
+                .setMaxBatchSize(1)
+                .setErrorHandler(errors::add)
+                .build();
+        List<Object> received = new ArrayList<>();
+        eventSource.getListeners().add(events -> {
+            received.add(events.get(0).getSource());
+            throw new IllegalArgumentException();
+        });
+        eventSource.send(new PropertyChangedEvent<>(1, "a"));
+        eventSource.send(new PropertyChangedEvent<>(2, "a"));
+        Assertions.assertEquals(Arrays.asList(1, 2), received);
+        Assertions.assertEquals(2, errors.size());
+    }
+
+    @Test
+    public void send_DistributorRethrows_RemainingBatchesDeliveredThenThrown() throws Exception {
+        BatchEventSource<PropertyChangedEvent<String>> eventSource = EventSources.<PropertyChangedEvent<String>>batchBuilder()
+                .setMaxBatchSize(1)
+                .build();
+        List<Object> received = new ArrayList<>();
+        eventSource.getListeners().add(events -> {
+            Object source = events.get(0).getSource();
+            received.add(source);
+            if (source.equals(1)) {
+                eventSource.send(new PropertyChangedEvent<>(2, "a"));
+                eventSource.send(new PropertyChangedEvent<>(3, "a"));
+                throw new IllegalArgumentException();
+            }
+        });
+        Assertions.assertThrows(IllegalArgumentException.class, () -> eventSource.send(new PropertyChangedEvent<>(1, "a")));
+        Assertions.assertEquals(Arrays.asList(1, 2, 3), received);
+        eventSource.send(new PropertyChangedEvent<>(4, "a"));
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, 4), received);
+    }
+
+    private static List<Object> sources(List<? extends Event> events) {
+        List<Object> sources = new ArrayList<>();
+        for (Event event : events) {
+            sources.add(event.getSource());
+        }
+        return sources;
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.event;
+
+import com.devives.commons.util.concurrent.SerialDrain;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+public class ConflatingEventSourceTest {
+
+    @Test
+    public void send_SameKey_LatestDeliveredInKeyArrivalOrder() throws Exception {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        EventSource<PropertyChangedEvent<String>> eventSource = EventSources.<PropertyChangedEvent<String>>builder()
+                .setConflation(PropertyChangedEvent::getProperty, tasks::add)
+                .build();
+        List<String> received = new ArrayList<>();
+        eventSource.getListeners().add(event -> received.add(event.getProperty() + "=" + event.getSource()));
+        eventSource.send(new PropertyChangedEvent<>(1, "a"));
+        eventSource.send(new PropertyChangedEvent<>(1, "b"));
+        eventSource.send(new PropertyChangedEvent<>(2, "a"));
+        eventSource.send(new PropertyChangedEvent<>(3, "a"));
+        eventSource.send(new PropertyChangedEvent<>(1, "c"));
+        Assertions.assertEquals(1, tasks.size());
+        Assertions.assertEquals(3, ((ConflatingEventSource<?>) eventSource).getPendingCount());
+        tasks.poll().run();
+        Assertions.assertEquals(Arrays.asList("a=3", "b=1", "c=1"), received);
+        Assertions.assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    public void send_DuringDelivery_ConflatedWithPending() throws Exception {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        EventSource<PropertyChangedEvent<String>> eventSource = EventSources.<PropertyChangedEvent<String>>builder()
+                .setConflation(PropertyChangedEvent::getProperty, tasks::add)
+                .build();
+        List<Object> received = new ArrayList<>();
+        eventSource.getListeners().add(event -> {
+            received.add(event.getSource());
+            if (event.getSource().equals(1)) {
+                eventSource.send(new PropertyChangedEvent<>(2, "b"));
+                eventSource.send(new PropertyChangedEvent<>(3, "b"));
+            }
+        });
+        eventSource.send(new PropertyChangedEvent<>(1, "a"));
+        eventSource.send(new PropertyChangedEvent<>(1, "b"));
+        tasks.poll().run();
+        Assertions.assertEquals(Arrays.asList(1, 3), received);
+    }
+
+    @Test
+    public void send_ManyKeys_DrainRescheduled() throws Exception {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        EventSource<PropertyChangedEvent<Integer>> eventSource = EventSources.<PropertyChangedEvent<Integer>>builder()
+                .setConflation(PropertyChangedEvent::getProperty, tasks::add)
+                .build();
+        List<Integer> received = new ArrayList<>();
+        eventSource.getListeners().add(event -> received.add(event.getProperty()));
+        for (int i = 0; i < 2 * SerialDrain.DRAIN_LIMIT + 1; i++) {
+            eventSource.send(new PropertyChangedEvent<>(this, i));
+        }
+        int runs = 0;
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+            runs++;
+        }
+        Assertions.assertEquals(3, runs);
+        Assertions.assertEquals(2 * SerialDrain.DRAIN_LIMIT + 1, received.size());
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.event;
+
+import com.devives.commons.listener.Listeners;
+import com.devives.commons.listener.Subscription;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class FilteredSubscriptionTest {
+
+    @Test
+    public void subscribe_EventClassAndPredicate_OnlyMatchingEventsDelivered() throws Exception {
+        EventSource<Event> eventSource = EventSources.builder().build();
+        List<Object> received = new ArrayList<>();
+        List<Object> all = new ArrayList<>();
+        eventSource.getListeners().add(event -> all.add(event.getSource()));
+        eventSource.subscribe(StateChangedEvent.class, event -> received.add(event.getSource()));
+        eventSource.subscribe(PropertyChangedEvent.class, event -> "a".equals(event.getProperty()),
+                event -> received.add(event.getProperty()));
+        eventSource.send(new StateChangedEvent<>(1, "on"));
+        eventSource.send(new PropertyChangedEvent<>(2, "a"));
+        eventSource.send(new PropertyChangedEvent<>(3, "b"));
+        eventSource.send(new DataEvent<>(4, "data"));
+        Assertions.assertEquals(Arrays.asList(1, "a"), received);
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, 4), all);
+    }
+
+    @Test
+    public void subscribe_Superclass_SubclassEventsDelivered() throws Exception {
+        EventSource<Event> eventSource = EventSources.builder().build();
+        List<Object> received = new ArrayList<>();
+        eventSource.subscribe(BaseEvent.class, event -> received.add(event.getSource()));
+        eventSource.send(new StateChangedEvent<>(1, "on"));
+        eventSource.send(new DataEvent<>(2, "data"));
+        Assertions.assertEquals(Arrays.asList(1, 2), received);
+    }
+
+    @Test
+    public void close_Subscription_ListenerRemoved() throws Exception {
+        EventSource<Event> eventSource = EventSources.builder().build();
+        List<Object> received = new ArrayList<>();
+        Subscription subscription = eventSource.subscribe(StateChangedEvent.class, event -> received.add(event.getSource()));
+        eventSource.send(new StateChangedEvent<>(1, "on"));
+        subscription.close();
+        eventSource.send(new StateChangedEvent<>(2, "off"));
+        Assertions.assertEquals(Arrays.asList(1), received);
+        Assertions.assertEquals(0, eventSource.getListeners().size());
+    }
+
+    @Test
+    public void select_FilteredListeners_ViewOfMatchingListenersCachedUntilModification() throws Exception {
+        Listeners<EventListener<Event>> listeners = Listeners.<EventListener<Event>>builder().build();
+        EventDispatchIndex<Event> index = new EventDispatchIndex<>(listeners);
+        StateChangedEvent<String> stateEvent = new StateChangedEvent<>(this, "on");
+        DataEvent<String> dataEvent = new DataEvent<>(this, "data");
+        listeners.add(event -> {
+        });
+        Assertions.assertSame(listeners, index.select(stateEvent));
+
+        for (int i = 0; i < 10; i++) {
+            listeners.add(new FilteredEventListener<>(DataEvent.class, null, event -> {
+            }));
+        }
+        listeners.add(new FilteredEventListener<>(StateChangedEvent.class, null, event -> {
+        }));
+        Listeners<EventListener<Event>> view = index.select(stateEvent);
+        Assertions.assertEquals(2, view.size());
+        Assertions.assertSame(view, index.select(new StateChangedEvent<>(this, "off")));
+        Assertions.assertEquals(11, index.select(dataEvent).size());
+
+        listeners.remove(listeners.snapshot().get(0));
+        Assertions.assertEquals(1, index.select(stateEvent).size());
+        Assertions.assertEquals(10, index.select(dataEvent).size());
+    }
+}
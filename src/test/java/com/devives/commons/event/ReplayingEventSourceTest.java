@@ -0,0 +1,286 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.event;
+
+import com.devives.commons.listener.PrioritizedListeners;
+import com.devives.commons.listener.Subscription;
+import com.devives.commons.publisher.PartitionLanes;
+import com.devives.commons.publisher.RingBuffer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ReplayingEventSourceTest {
+
+    @Test
+    public void add_AfterSend_LastEventsReplayedThenLiveDelivered() throws Exception {
+        EventSource<StateChangedEvent<Integer>> eventSource = EventSources.<StateChangedEvent<Integer>>builder()
+                .setReplayBuffer(2)
+                .build();
+        eventSource.send(new StateChangedEvent<>(this, 1));
+        eventSource.send(new StateChangedEvent<>(this, 2));
+        eventSource.send(new StateChangedEvent<>(this, 3));
+        List<Integer> received = new ArrayList<>();
+        eventSource.getListeners().add(event -> received.add(event.getState()));
+        Assertions.assertEquals(Arrays.asList(2, 3), received);
+        eventSource.send(new StateChangedEvent<>(this, 4));
+        Assertions.assertEquals(Arrays.asList(2, 3, 4), received);
+    }
+
+    @Test
+    public void add_DuringSend_RegisteredAfterSendWithReplay() throws Exception {
+        EventSource<StateChangedEvent<Integer>> eventSource = EventSources.<StateChangedEvent<Integer>>builder()
+                .setReplayBuffer(4)
+                .build();
+        List<Integer> received = new ArrayList<>();
+        EventListener<StateChangedEvent<Integer>> late = event -> received.add(event.getState());
+        eventSource.getListeners().add(event -> {
+            if (event.getState() == 2) {
+                eventSource.getListeners().add(late);
+                Assertions.assertFalse(eventSource.getListeners().contains(late));
+            }
+        });
+        eventSource.send(new StateChangedEvent<>(this, 1));
+        eventSource.send(new StateChangedEvent<>(this, 2));
+        Assertions.assertTrue(eventSource.getListeners().contains(late));
+        eventSource.send(new StateChangedEvent<>(this, 3));
+        Assertions.assertEquals(Arrays.asList(1, 2, 3), received);
+    }
+
+    @Test
+    public void add_DuringSend_NotRegisteredByOtherSender() throws Exception {
+        EventSource<StateChangedEvent<Integer>> eventSource = EventSources.<StateChangedEvent<Integer>>builder()
+                .setReplayBuffer(4)
+                .build();
+        EventListener<StateChangedEvent<Integer>> late = event -> { };
+        CountDownLatch deferred = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        eventSource.getListeners().add(event -> {
+            if (event.getState() == 1) {
+                eventSource.getListeners().add(late);
+                deferred.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        Thread sender = new Thread(() -> eventSource.send(new StateChangedEvent<>(this, 1)));
+        sender.start();
+        Assertions.assertTrue(deferred.await(10, TimeUnit.SECONDS));
+        eventSource.send(new StateChangedEvent<>(this, 2));
+        Assertions.assertFalse(eventSource.getListeners().contains(late));
+        release.countDown();
+        sender.join(10_000);
+        Assertions.assertTrue(eventSource.getListeners().contains(late));
+    }
+
+    @Test
+    public void subscribe_DuringSendClosedBeforeRegistration_NotRegistered() throws Exception {
+        EventSource<StateChangedEvent<Integer>> eventSource = EventSources.<StateChangedEvent<Integer>>builder()
+                .setReplayBuffer(4)
+                .build();
+        List<Integer> received = new ArrayList<>();
+        eventSource.getListeners().add(event -> {
+            Subscription subscription = eventSource.getListeners().subscribe(e -> received.add(e.getState()));
+            subscription.close();
+        });
+        eventSource.send(new StateChangedEvent<>(this, 1));
+        Assertions.assertEquals(1, eventSource.getListeners().size());
+        Assertions.assertTrue(received.isEmpty());
+    }
+
+    @Test
+    public void add_ConcurrentSend_NoGapAndNoDuplicates() throws Exception {
+        EventSource<StateChangedEvent<Integer>> eventSource = EventSources.<StateChangedEvent<Integer>>builder()
+                .setReplayBuffer(16)
+                .listeners(builder -> builder.setConcurrent())
+                .build();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sender = new Thread(() -> {
+            for (int i = 0; running.get(); i++) {
+                eventSource.send(new StateChangedEvent<>(this, i));
+            }
+        });
+        sender.start();
+        try {
+            List<List<Integer>> receivedLists = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                List<Integer> received = new ArrayList<>();
+                receivedLists.add(received);
+                eventSource.getListeners().add(event -> received.add(event.getState()));
+            }
+            Thread.sleep(10);
+            running.set(false);
+            sender.join();
+            for (List<Integer> received : receivedLists) {
+                for (int i = 1; i < received.size(); i++) {
+                    Assertions.assertEquals(received.get(i - 1) + 1, (int) received.get(i));
+                }
+            }
+        } finally {
+            running.set(false);
+            sender.join();
+        }
+    }
+
+    @Test
+    public void add_ConcurrentSenders_NoGapAndNoDuplicatesPerSender() throws Exception {
+        EventSource<StateChangedEvent<Integer>> eventSource = EventSources.<StateChangedEvent<Integer>>builder()
+                .setReplayBuffer(64)
+                .listeners(builder -> builder.setConcurrent())
+                .build();
+        int senderCount = 4;
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> senders = new ArrayList<>();
+        for (int s = 0; s < senderCount; s++) {
+            int base = s * 100_000_000;
+            Thread sender = new Thread(() -> {
+                for (int i = 0; running.get(); i++) {
+                    eventSource.send(new StateChangedEvent<>(this, base + i));
+                }
+            });
+            senders.add(sender);
+            sender.start();
+        }
+        try {
+            List<List<Integer>> receivedLists = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+                receivedLists.add(received);
+                eventSource.getListeners().add(event -> received.add(event.getState()));
+            }
+            Thread.sleep(10);
+            running.set(false);
+            for (Thread sender : senders) {
+                sender.join();
+            }
+            for (List<Integer> received : receivedLists) {
+                int[] last = new int[senderCount];
+                Arrays.fill(last, -1);
+                for (int state : received) {
+                    int s = state / 100_000_000;
+                    if (last[s] >= 0) {
+                        Assertions.assertEquals(last[s] + 1, state);
+                    }
+                    last[s] = state;
+                }
+            }
+        } finally {
+            running.set(false);
+            for (Thread sender : senders) {
+                sender.join();
+            }
+        }
+    }
+
+    @Test
+    public void add_DuringReplay_RegisteredAfterReplayedListener() throws Exception {
+        EventSource<StateChangedEvent<Integer>> eventSource = EventSources.<StateChangedEvent<Integer>>builder()
+                .setReplayBuffer(2)
+                .build();
+        eventSource.send(new StateChangedEvent<>(this, 1));
+        List<String> received = new ArrayList<>();
+        AtomicBoolean added = new AtomicBoolean();
+        eventSource.getListeners().add(event -> {
+            received.add("outer" + event.getState());
+            if (added.compareAndSet(false, true)) {
+                eventSource.getListeners().add(e -> received.add("inner" + e.getState()));
+                Assertions.assertEquals(0, eventSource.getListeners().size());
+            }
+        });
+        Assertions.assertEquals(2, eventSource.getListeners().size());
+        eventSource.send(new StateChangedEvent<>(this, 2));
+        Assertions.assertEquals(Arrays.asList("outer1", "inner1", "outer2", "inner2"), received);
+    }
+
+    @Test
+    public void build_ReplayBufferWithConflation_ThrowsIllegalStateException() throws Exception {
+        Assertions.assertThrows(IllegalStateException.class, () -> EventSources.<StateChangedEvent<Integer>>builder()
+                .setReplayBuffer(1)
+                .setConflation(StateChangedEvent::getState, Runnable::run)
+                .build());
+    }
+
+    @Test
+    public void build_ReplayBufferWithAsyncDelivery_ThrowsIllegalStateException() throws Exception {
+        Assertions.assertThrows(IllegalStateException.class, () -> EventSources.<StateChangedEvent<Integer>>builder()
+                .setReplayBuffer(1)
+                .setAsyncDelivery(Runnable::run)
+                .build());
+    }
+
+    @Test
+    public void build_ReplayBufferWithParallelDelivery_ThrowsIllegalStateException() throws Exception {
+        Assertions.assertThrows(IllegalStateException.class, () -> EventSources.<StateChangedEvent<Integer>>builder()
+                .setReplayBuffer(1)
+                .setParallelDelivery(4)
+                .build());
+    }
+
+    @Test
+    public void build_ReplayBufferWithRingBufferDelivery_ThrowsIllegalStateException() throws Exception {
+        try (RingBuffer ringBuffer = new RingBuffer(8, RingBuffer.WaitStrategy.PARK)) {
+            Assertions.assertThrows(IllegalStateException.class, () -> EventSources.<StateChangedEvent<Integer>>builder()
+                    .setReplayBuffer(1)
+                    .setRingBufferDelivery(ringBuffer)
+                    .build());
+        }
+    }
+
+    @Test
+    public void build_ReplayBufferWithVirtualThreadDelivery_ThrowsIllegalStateException() throws Exception {
+        Assertions.assertThrows(IllegalStateException.class, () -> EventSources.<StateChangedEvent<Integer>>builder()
+                .setReplayBuffer(1)
+                .setVirtualThreadDelivery()
+                .build());
+    }
+
+    @Test
+    public void build_ReplayBufferWithPartitionedDelivery_ThrowsIllegalStateException() throws Exception {
+        PartitionLanes lanes = new PartitionLanes(2, 8, Runnable::run);
+        Assertions.assertThrows(IllegalStateException.class, () -> EventSources.<StateChangedEvent<Integer>>builder()
+                .setReplayBuffer(1)
+                .<StateChangedEvent<Integer>>setPartitionedDelivery(StateChangedEvent::getState, lanes)
+                .build());
+        lanes.close();
+    }
+
+    @Test
+    public void addWithPriority_Prioritized_ReplayedAndOrderedByPriority() throws Exception {
+        EventSource<StateChangedEvent<Integer>> eventSource = EventSources.<StateChangedEvent<Integer>>builder()
+                .setReplayBuffer(1)
+                .listeners(builder -> builder.setPrioritized())
+                .build();
+        eventSource.send(new StateChangedEvent<>(this, 1));
+        PrioritizedListeners<EventListener<StateChangedEvent<Integer>>> listeners =
+                (PrioritizedListeners<EventListener<StateChangedEvent<Integer>>>) eventSource.getListeners();
+        List<String> received = new ArrayList<>();
+        listeners.add(event -> received.add("low" + event.getState()), -1);
+        listeners.subscribe(event -> received.add("high" + event.getState()), 1);
+        eventSource.send(new StateChangedEvent<>(this, 2));
+        Assertions.assertEquals(Arrays.asList("low1", "high1", "high2", "low2"), received);
+    }
+}
@@ -0,0 +1,244 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.event.journal;
+
+import com.devives.commons.event.DataEvent;
+import com.devives.commons.event.EventListener;
+import com.devives.commons.event.EventSources;
+import com.devives.commons.listener.Subscription;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class JournalingEventSourceTest {
+
+    private static final EventCodec<DataEvent<String>> CODEC = new EventCodec<DataEvent<String>>() {
+        @Override
+        public void encode(DataEvent<String> event, ByteBuffer buffer) {
+            buffer.put(event.getData().getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public DataEvent<String> decode(ByteBuffer buffer) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return new DataEvent<>(JournalingEventSourceTest.class, new String(bytes, StandardCharsets.UTF_8));
+        }
+    };
+
+    @TempDir
+    Path directory_;
+
+    @Test
+    public void send_Listener_EventJournaledAndDelivered() throws Exception {
+        try (JournalingEventSource<DataEvent<String>> eventSource = newEventSource(EventJournal.builder(directory_, CODEC))) {
+            List<String> received = new ArrayList<>();
+            eventSource.getListeners().add(event -> received.add(event.getData()));
+            eventSource.send(new DataEvent<>(this, "a"));
+            eventSource.send(new DataEvent<>(this, "b"));
+            eventSource.send(new DataEvent<>(this, "c"));
+            Assertions.assertEquals(Arrays.asList("a", "b", "c"), received);
+            Assertions.assertEquals(3, eventSource.getJournal().getNextSequence());
+
+            List<String> replayed = new ArrayList<>();
+            Assertions.assertEquals(3, eventSource.replay(1, event -> replayed.add(event.getData())));
+            Assertions.assertEquals(Arrays.asList("b", "c"), replayed);
+        }
+    }
+
+    @Test
+    public void subscribe_FromSequence_ReplayedThenLiveEventsDelivered() throws Exception {
+        try (JournalingEventSource<DataEvent<String>> eventSource = newEventSource(EventJournal.builder(directory_, CODEC))) {
+            eventSource.send(new DataEvent<>(this, "a"));
+            eventSource.send(new DataEvent<>(this, "b"));
+            List<String> received = new ArrayList<>();
+            Subscription subscription = eventSource.subscribe(event -> received.add(event.getData()), 0);
+            eventSource.send(new DataEvent<>(this, "c"));
+            subscription.close();
+            eventSource.send(new DataEvent<>(this, "d"));
+            Assertions.assertEquals(Arrays.asList("a", "b", "c"), received);
+        }
+    }
+
+    @Test
+    public void subscribe_SegmentDeletedDuringReplay_IllegalStateExceptionThrown() throws Exception {
+        try (JournalingEventSource<DataEvent<String>> eventSource = newEventSource(EventJournal.builder(directory_, CODEC)
+                .setSegmentSize(3 * (JournalSegment.HEADER_SIZE + 1))
+                .setMaxSegments(2))) {
+            eventSource.send(new DataEvent<>(this, "0"));
+            eventSource.send(new DataEvent<>(this, "1"));
+            List<String> received = new ArrayList<>();
+            EventListener<DataEvent<String>> listener = event -> {
+                received.add(event.getData());
+                if (event.getData().equals("1")) {
+                    for (int i = 2; i < 8; i++) {
+                        eventSource.send(new DataEvent<>(this, String.valueOf(i)));
+                    }
+                }
+            };
+            Assertions.assertThrows(IllegalStateException.class, () -> eventSource.subscribe(listener, 0));
+            Assertions.assertEquals(Arrays.asList("0", "1"), received);
+            Assertions.assertFalse(eventSource.getListeners().contains(listener));
+        }
+    }
+
+    @Test
+    public void subscribe_FromDeletedSequence_IllegalStateExceptionThrown() throws Exception {
+        try (JournalingEventSource<DataEvent<String>> eventSource = newEventSource(EventJournal.builder(directory_, CODEC)
+                .setSegmentSize(3 * (JournalSegment.HEADER_SIZE + 1))
+                .setMaxSegments(2))) {
+            for (int i = 0; i < 8; i++) {
+                eventSource.send(new DataEvent<>(this, String.valueOf(i)));
+            }
+            Assertions.assertTrue(eventSource.getJournal().getFirstSequence() > 0);
+            List<String> received = new ArrayList<>();
+            EventListener<DataEvent<String>> listener = event -> received.add(event.getData());
+            Assertions.assertThrows(IllegalStateException.class, () -> eventSource.subscribe(listener, 0));
+            Assertions.assertTrue(received.isEmpty());
+            Assertions.assertFalse(eventSource.getListeners().contains(listener));
+        }
+    }
+
+    @Test
+    public void replay_AfterRestart_ListenersRebuiltAndSequenceContinued() throws Exception {
+        try (JournalingEventSource<DataEvent<String>> eventSource = newEventSource(EventJournal.builder(directory_, CODEC))) {
+            eventSource.send(new DataEvent<>(this, "a"));
+            eventSource.send(new DataEvent<>(this, "b"));
+        }
+        try (JournalingEventSource<DataEvent<String>> eventSource = newEventSource(EventJournal.builder(directory_, CODEC))) {
+            List<String> received = new ArrayList<>();
+            eventSource.getListeners().add(event -> received.add(event.getData()));
+            Assertions.assertEquals(2, eventSource.replay(0));
+            eventSource.send(new DataEvent<>(this, "c"));
+            Assertions.assertEquals(Arrays.asList("a", "b", "c"), received);
+            Assertions.assertEquals(3, eventSource.getJournal().getNextSequence());
+        }
+    }
+
+    @Test
+    public void append_SegmentFull_SegmentRolledAndOldestDeleted() throws Exception {
+        try (EventJournal<DataEvent<String>> journal = EventJournal.builder(directory_, CODEC)
+                .setSegmentSize(3 * (JournalSegment.HEADER_SIZE + 1))
+                .setMaxSegments(2)
+                .build()) {
+            for (int i = 0; i < 10; i++) {
+                Assertions.assertEquals(i, journal.append(new DataEvent<>(this, String.valueOf(i))));
+            }
+            Assertions.assertEquals(2, journal.getSegmentCount());
+            Assertions.assertEquals(6, journal.getFirstSequence());
+            try (Stream<Path> paths = Files.list(directory_)) {
+                Assertions.assertEquals(2, paths.count());
+            }
+            List<String> replayed = new ArrayList<>();
+            Assertions.assertEquals(10, journal.replay(0, event -> replayed.add(event.getData())));
+            Assertions.assertEquals(Arrays.asList("6", "7", "8", "9"), replayed);
+            replayed.clear();
+            journal.replay(8, event -> replayed.add(event.getData()));
+            Assertions.assertEquals(Arrays.asList("8", "9"), replayed);
+        }
+    }
+
+    @Test
+    public void build_SegmentsOlderThanMaxAge_SegmentsDeleted() throws Exception {
+        try (EventJournal<DataEvent<String>> journal = EventJournal.builder(directory_, CODEC)
+                .setSegmentSize(JournalSegment.HEADER_SIZE + 1)
+                .build()) {
+            for (int i = 0; i < 3; i++) {
+                journal.append(new DataEvent<>(this, String.valueOf(i)));
+            }
+            Assertions.assertEquals(3, journal.getSegmentCount());
+        }
+        FileTime expired = FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(2));
+        try (Stream<Path> paths = Files.list(directory_)) {
+            for (Path path : paths.collect(Collectors.toList())) {
+                Files.setLastModifiedTime(path, expired);
+            }
+        }
+        try (EventJournal<DataEvent<String>> journal = EventJournal.builder(directory_, CODEC)
+                .setMaxAge(1, TimeUnit.HOURS)
+                .build()) {
+            Assertions.assertEquals(1, journal.getSegmentCount());
+            Assertions.assertEquals(2, journal.getFirstSequence());
+            Assertions.assertEquals(3, journal.getNextSequence());
+        }
+    }
+
+    @Test
+    public void append_EventLargerThanSegment_ThrowsIllegalArgumentException() throws Exception {
+        try (EventJournal<DataEvent<String>> journal = EventJournal.builder(directory_, CODEC)
+                .setSegmentSize(JournalSegment.HEADER_SIZE + 4)
+                .build()) {
+            journal.append(new DataEvent<>(this, "a"));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> journal.append(new DataEvent<>(this, "abcde")));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> journal.append(new DataEvent<>(this, "abcde")));
+            Assertions.assertEquals(1, journal.append(new DataEvent<>(this, "b")));
+            Assertions.assertEquals(2, journal.getSegmentCount());
+        }
+    }
+
+    @Test
+    public void append_CodecFailed_FailedRecordNotRecovered() throws Exception {
+        EventCodec<DataEvent<String>> codec = new EventCodec<DataEvent<String>>() {
+            @Override
+            public void encode(DataEvent<String> event, ByteBuffer buffer) {
+                CODEC.encode(event, buffer);
+                if (event.getData().startsWith("!")) {
+                    throw new IllegalStateException(event.getData());
+                }
+            }
+
+            @Override
+            public DataEvent<String> decode(ByteBuffer buffer) {
+                return CODEC.decode(buffer);
+            }
+        };
+        try (EventJournal<DataEvent<String>> journal = EventJournal.builder(directory_, codec).build()) {
+            journal.append(new DataEvent<>(this, "a"));
+            Assertions.assertThrows(IllegalStateException.class, () -> journal.append(new DataEvent<>(this, "!failed")));
+            journal.append(new DataEvent<>(this, "b"));
+        }
+        try (EventJournal<DataEvent<String>> journal = EventJournal.builder(directory_, codec).build()) {
+            List<String> replayed = new ArrayList<>();
+            journal.replay(0, event -> replayed.add(event.getData()));
+            Assertions.assertEquals(Arrays.asList("a", "b"), replayed);
+            Assertions.assertEquals(2, journal.getNextSequence());
+        }
+    }
+
+    @Test
+    public void send_Closed_ThrowsIllegalStateException() throws Exception {
+        JournalingEventSource<DataEvent<String>> eventSource = newEventSource(EventJournal.builder(directory_, CODEC));
+        eventSource.close();
+        Assertions.assertThrows(IllegalStateException.class, () -> eventSource.send(new DataEvent<>(this, "a")));
+    }
+
+    private static JournalingEventSource<DataEvent<String>> newEventSource(EventJournalBuilder<DataEvent<String>> journalBuilder) {
+        return new JournalingEventSource<>(EventSources.<DataEvent<String>>builder().build(), journalBuilder.build());
+    }
+}
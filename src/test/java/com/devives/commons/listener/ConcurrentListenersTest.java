@@ -0,0 +1,167 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.listener;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class ConcurrentListenersTest {
+
+    @Test
+    public void add_ExpectedOrder() throws Exception {
+        Listeners<Integer> listeners = new ConcurrentListeners<>();
+        listeners.add(2);
+        listeners.addFirst(1);
+        listeners.add(4);
+        listeners.addBefore(3, 4);
+        listeners.addAfter(5, 4);
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, 4, 5), Arrays.asList(listeners.toArray()));
+    }
+
+    @Test
+    public void addBefore_Absent_IndexOutOfBoundsExceptionThrown() throws Exception {
+        Listeners<Integer> listeners = new ConcurrentListeners<>();
+        listeners.add(1);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> listeners.addBefore(2, 3));
+    }
+
+    @Test
+    public void toArray_Unmodified_SameInstance() throws Exception {
+        Listeners<Integer> listeners = new ConcurrentListeners<>();
+        listeners.add(1);
+        Object[] array = listeners.toArray();
+        Assertions.assertSame(array, listeners.toArray());
+        listeners.remove(1);
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(1, array.length),
+                () -> Assertions.assertEquals(0, listeners.toArray().length)
+        );
+    }
+
+    @Test
+    public void add_Distinct_DuplicateExceptionThrown() throws Exception {
+        Listeners<Integer> listeners = new ConcurrentListeners<>(Collections.emptyList(), true);
+        listeners.add(1);
+        Assertions.assertAll(
+                () -> Assertions.assertThrows(DuplicateRegistrationException.class, () -> listeners.add(1)),
+                () -> Assertions.assertThrows(DuplicateRegistrationException.class, () -> listeners.addFirst(1)),
+                () -> Assertions.assertThrows(DuplicateRegistrationException.class, () -> listeners.addAfter(1, 1)),
+                () -> Assertions.assertEquals(1, listeners.size())
+        );
+    }
+
+    @Test
+    public void new_DistinctDuplicates_DuplicateExceptionThrown() throws Exception {
+        Assertions.assertThrows(DuplicateRegistrationException.class,
+                () -> new ConcurrentListeners<>(Arrays.asList(1, 1), true));
+    }
+
+    @Test
+    public void remove_Distinct_ContainsFalse() throws Exception {
+        Listeners<Integer> listeners = new ConcurrentListeners<>(new ArrayList<>(Arrays.asList(1, 2, 3)), true);
+        listeners.remove(2);
+        Assertions.assertAll(
+                () -> Assertions.assertFalse(listeners.contains(2)),
+                () -> Assertions.assertTrue(listeners.contains(3)),
+                () -> Assertions.assertEquals(2, listeners.size())
+        );
+    }
+
+    @Test
+    public void isRemovedSince_RemovedAfterVersion_True() throws Exception {
+        Listeners<String> listeners = new ConcurrentListeners<>();
+        String first = "first";
+        String second = "second";
+        listeners.add(first);
+        listeners.add(second);
+        long version = listeners.getVersion();
+        listeners.remove(first);
+        Assertions.assertAll(
+                () -> Assertions.assertTrue(listeners.isRemovedSince(first, version)),
+                () -> Assertions.assertFalse(listeners.isRemovedSince(second, version)),
+                () -> Assertions.assertFalse(listeners.isRemovedSince(first, listeners.getVersion()))
+        );
+        listeners.clear();
+        Assertions.assertTrue(listeners.isRemovedSince(second, version));
+    }
+
+    @Test
+    public void isRemovedSince_OtherListenerRemoved_ListenersNotSearched() throws Exception {
+        Listeners<Object> listeners = new ConcurrentListeners<>();
+        int[] equalsCalls = new int[1];
+        Object kept = new Object() {
+            @Override
+            public boolean equals(Object obj) {
+                equalsCalls[0]++;
+                return super.equals(obj);
+            }
+
+            @Override
+            public int hashCode() {
+                return super.hashCode();
+            }
+        };
+        Object removed = new Object();
+        listeners.add(removed);
+        listeners.add(kept);
+        long version = listeners.getVersion();
+        listeners.remove(removed);
+        equalsCalls[0] = 0;
+        Assertions.assertFalse(listeners.isRemovedSince(kept, version));
+        Assertions.assertEquals(0, equalsCalls[0]);
+    }
+
+    @Test
+    public void add_ConcurrentThreads_NoLostUpdates() throws Exception {
+        final int threadCount = 8;
+        final int itemsPerThread = 1000;
+        Listeners<Integer> listeners = new ConcurrentListeners<>(Collections.emptyList(), true);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++) {
+                final int base = t * itemsPerThread;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < itemsPerThread; i++) {
+                        listeners.add(base + i);
+                        listeners.toArray();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertEquals(threadCount * itemsPerThread, listeners.size());
+    }
+}
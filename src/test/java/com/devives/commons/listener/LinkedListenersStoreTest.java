@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.listener;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+public class LinkedListenersStoreTest {
+
+    @Test
+    public void add_ExpectedOrder() throws Exception {
+        Listeners<Integer> listeners = new LinkedListenersStore<>();
+        listeners.add(2);
+        listeners.addFirst(1);
+        listeners.add(4);
+        listeners.addBefore(3, 4);
+        listeners.addAfter(5, 4);
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, 4, 5), Arrays.asList(listeners.toArray()));
+    }
+
+    @Test
+    public void addAfter_Absent_IndexOutOfBoundsExceptionThrown() throws Exception {
+        Listeners<Integer> listeners = new LinkedListenersStore<>();
+        listeners.add(1);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> listeners.addAfter(2, 3));
+    }
+
+    @Test
+    public void remove_Duplicates_FirstOccurrenceRemoved() throws Exception {
+        Listeners<Integer> listeners = new LinkedListenersStore<>();
+        listeners.add(1);
+        listeners.add(2);
+        listeners.add(1);
+        listeners.remove(1);
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(Arrays.asList(2, 1), Arrays.asList(listeners.toArray())),
+                () -> Assertions.assertTrue(listeners.contains(1))
+        );
+        listeners.remove(1);
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(Arrays.asList(2), Arrays.asList(listeners.toArray())),
+                () -> Assertions.assertFalse(listeners.contains(1))
+        );
+    }
+
+    @Test
+    public void randomOperations_SameAsListenersStore() throws Exception {
+        Random random = new Random(42);
+        Listeners<Integer> expected = new ListenersStore<>(new ArrayList<>());
+        Listeners<Integer> actual = new LinkedListenersStore<>();
+        for (int i = 0; i < 10_000; i++) {
+            Integer item = random.nextInt(20);
+            Integer other = random.nextInt(20);
+            switch (random.nextInt(6)) {
+                case 0:
+                    expected.add(item);
+                    actual.add(item);
+                    break;
+                case 1:
+                    expected.addFirst(item);
+                    actual.addFirst(item);
+                    break;
+                case 2:
+                    if (expected.contains(other)) {
+                        expected.addBefore(item, other);
+                        actual.addBefore(item, other);
+                    }
+                    break;
+                case 3:
+                    if (expected.contains(other)) {
+                        expected.addAfter(item, other);
+                        actual.addAfter(item, other);
+                    }
+                    break;
+                default:
+                    expected.remove(item);
+                    actual.remove(item);
+                    break;
+            }
+            Assertions.assertArrayEquals(expected.toArray(), actual.toArray());
+            Assertions.assertEquals(expected.contains(other), actual.contains(other));
+            Assertions.assertEquals(expected.size(), actual.size());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.listener;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class ListenersBatchTest {
+
+    @Test
+    public void addAll_Cached_ExpectedOrder() throws Exception {
+        Listeners<Integer> listeners = Listeners.<Integer>builder().setSynchronized().build();
+        listeners.add(1);
+        Object[] before = listeners.toArray();
+        listeners.addAll(Arrays.asList(2, 3));
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(1, before.length),
+                () -> Assertions.assertEquals(Arrays.asList(1, 2, 3), Arrays.asList(listeners.toArray()))
+        );
+    }
+
+    @Test
+    public void addAll_Indexed_DuplicateExceptionThrown() throws Exception {
+        Listeners<Integer> listeners = Listeners.<Integer>builder().setIndexed().build();
+        Assertions.assertThrows(DuplicateRegistrationException.class, () -> listeners.addAll(Arrays.asList(1, 1)));
+    }
+
+    @Test
+    public void addAll_Concurrent_AtomicOnDuplicate() throws Exception {
+        Listeners<Integer> listeners = Listeners.<Integer>builder().setConcurrent().setDistinct().build();
+        listeners.add(3);
+        Assertions.assertThrows(DuplicateRegistrationException.class, () -> listeners.addAll(Arrays.asList(1, 2, 3)));
+        Assertions.assertEquals(Arrays.asList(3), Arrays.asList(listeners.toArray()));
+    }
+
+    @Test
+    public void removeAll_ExpectedContent() throws Exception {
+        Listeners<Integer> listeners = Listeners.<Integer>builder().setConcurrent().build();
+        listeners.addAll(Arrays.asList(1, 2, 3, 4));
+        listeners.removeAll(Arrays.asList(2, 4, 5));
+        Assertions.assertEquals(Arrays.asList(1, 3), Arrays.asList(listeners.toArray()));
+    }
+
+    @Test
+    public void batch_Synchronized_CacheRebuilt() throws Exception {
+        Listeners<Integer> listeners = Listeners.<Integer>builder().setSynchronized().setIndexed().build();
+        listeners.addAll(Arrays.asList(1, 2));
+        listeners.toArray();
+        listeners.batch(batch -> {
+            batch.remove(1);
+            batch.addFirst(3);
+            batch.addAfter(4, 2);
+        });
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(Arrays.asList(3, 2, 4), Arrays.asList(listeners.toArray())),
+                () -> Assertions.assertFalse(listeners.contains(1)),
+                () -> Assertions.assertTrue(listeners.contains(4))
+        );
+    }
+
+    @Test
+    public void batch_Concurrent_AppliedAtomically() throws Exception {
+        Listeners<Integer> listeners = Listeners.<Integer>builder().setConcurrent().setDistinct().build();
+        listeners.add(1);
+        Object[] before = listeners.toArray();
+        listeners.batch(batch -> {
+            batch.addFirst(0);
+            batch.add(2);
+        });
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(Arrays.asList(1), Arrays.asList(before)),
+                () -> Assertions.assertEquals(Arrays.asList(0, 1, 2), Arrays.asList(listeners.toArray())),
+                () -> Assertions.assertThrows(DuplicateRegistrationException.class, () -> listeners.add(2))
+        );
+    }
+}
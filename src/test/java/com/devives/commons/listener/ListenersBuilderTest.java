@@ -20,6 +20,10 @@ import com.devives.commons.lang.Wrapper;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
 public class ListenersBuilderTest {
 
     @Test
@@ -101,4 +105,89 @@ public class ListenersBuilderTest {
         );
     }
 
+    @Test
+    public void setConcurrent_ConcurrentListeners() throws Exception {
+        Listeners listeners = new ListenersBuilder().setConcurrent().setSynchronized().build();
+        Assertions.assertInstanceOf(ConcurrentListeners.class, listeners);
+    }
+
+    @Test
+    public void setConcurrent_setDistinct_DuplicateExceptionThrown() throws Exception {
+        Listeners<Integer> listeners = new ListenersBuilder<Integer>().setConcurrent().setDistinct().build();
+        listeners.add(1);
+        Assertions.assertThrows(DuplicateRegistrationException.class, () -> listeners.add(1));
+    }
+
+    @Test
+    public void setLinked_expectedWrappers() throws Exception {
+        Listeners listeners = new ListenersBuilder().setLinked().build();
+        Assertions.assertAll(
+                () -> Assertions.assertTrue(((Wrapper) listeners).isWrapperFor(LinkedListenersStore.class)),
+                () -> Assertions.assertFalse(((Wrapper) listeners).isWrapperFor(ListenersStore.class)),
+                () -> Assertions.assertTrue(((Wrapper) listeners).isWrapperFor(CachedListeners.class))
+        );
+    }
+
+    @Test
+    public void setLinked_setConcurrent_IllegalStateExceptionThrown() throws Exception {
+        Assertions.assertThrows(IllegalStateException.class, () -> new ListenersBuilder().setLinked().setConcurrent().build());
+    }
+
+    @Test
+    public void setIdentityIndexed_expectedWrappers() throws Exception {
+        Listeners listeners = new ListenersBuilder().setIdentityIndexed().build();
+        Assertions.assertAll(
+                () -> Assertions.assertTrue(((Wrapper) listeners).isWrapperFor(ListenersStore.class)),
+                () -> Assertions.assertFalse(((Wrapper) listeners).isWrapperFor(DistinctListeners.class)),
+                () -> Assertions.assertTrue(((Wrapper) listeners).isWrapperFor(IndexedListeners.class)),
+                () -> Assertions.assertTrue(((Wrapper) listeners).isWrapperFor(CachedListeners.class))
+        );
+    }
+
+    @Test
+    public void setIdentityIndexed_EqualListeners_ComparedByIdentity() throws Exception {
+        List<Consumer<ListenersBuilder<EqualListener>>> configurations = new ArrayList<>();
+        configurations.add(builder -> { });
+        configurations.add(builder -> builder.setLinked());
+        configurations.add(builder -> builder.setConcurrent());
+        configurations.add(builder -> builder.setWeak());
+        configurations.add(builder -> builder.setSynchronized());
+        for (Consumer<ListenersBuilder<EqualListener>> configuration : configurations) {
+            ListenersBuilder<EqualListener> builder = new ListenersBuilder<EqualListener>().setIdentityIndexed();
+            configuration.accept(builder);
+            Listeners<EqualListener> listeners = builder.build();
+            EqualListener first = new EqualListener();
+            EqualListener second = new EqualListener();
+            EqualListener third = new EqualListener();
+            listeners.add(first);
+            listeners.add(second);
+            listeners.addBefore(third, second);
+            Assertions.assertThrows(DuplicateRegistrationException.class, () -> listeners.add(second));
+            Assertions.assertFalse(listeners.contains(new EqualListener()));
+            listeners.remove(second);
+            Assertions.assertArrayEquals(new Object[]{first, third}, listeners.toArray());
+            Assertions.assertTrue(listeners.contains(third));
+            Assertions.assertFalse(listeners.contains(second));
+            Assertions.assertEquals(0, EqualListener.equalsCalls_);
+        }
+    }
+
+    /**
+     * Listener, which is equal to any other listener of its type.
+     */
+    private static final class EqualListener {
+        private static int equalsCalls_;
+
+        @Override
+        public boolean equals(Object obj) {
+            equalsCalls_++;
+            return obj instanceof EqualListener;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+
 }
@@ -0,0 +1,143 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.listener;
+
+import com.devives.commons.publisher.Publisher;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class PrioritizedListenersStoreTest {
+
+    @Test
+    public void add_Priorities_OrderedByPriorityStable() throws Exception {
+        PrioritizedListeners<String> listeners = new PrioritizedListenersStore<>();
+        listeners.add("default1");
+        listeners.add("low1", -10);
+        listeners.add("high1", 10);
+        listeners.add("default2");
+        listeners.add("high2", 10);
+        listeners.add("low2", -10);
+        Assertions.assertEquals(Arrays.asList("high1", "high2", "default1", "default2", "low1", "low2"),
+                Arrays.asList(listeners.toArray()));
+    }
+
+    @Test
+    public void addPositional_NeighbourPriorityInherited() throws Exception {
+        PrioritizedListenersStore<String> listeners = new PrioritizedListenersStore<>();
+        listeners.add("high", 10);
+        listeners.add("low", -10);
+        listeners.addFirst("first");
+        listeners.addBefore("beforeLow", "low");
+        listeners.addAfter("afterHigh", "high");
+        listeners.add("middle", 0);
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(Arrays.asList("first", "high", "afterHigh", "middle", "beforeLow", "low"),
+                        Arrays.asList(listeners.toArray())),
+                () -> Assertions.assertEquals(10, listeners.getPriority("first")),
+                () -> Assertions.assertEquals(10, listeners.getPriority("afterHigh")),
+                () -> Assertions.assertEquals(-10, listeners.getPriority("beforeLow"))
+        );
+    }
+
+    @Test
+    public void addBefore_Absent_IndexOutOfBoundsExceptionThrown() throws Exception {
+        PrioritizedListeners<String> listeners = new PrioritizedListenersStore<>();
+        listeners.add("a");
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> listeners.addBefore("b", "c"));
+    }
+
+    @Test
+    public void subscribe_Close_ExactRegistrationRemoved() throws Exception {
+        PrioritizedListeners<String> listeners = new PrioritizedListenersStore<>();
+        listeners.add("a", 1);
+        Subscription subscription = listeners.subscribe("a", 5);
+        listeners.add("b", 5);
+        subscription.close();
+        subscription.close();
+        Assertions.assertEquals(Arrays.asList("b", "a"), Arrays.asList(listeners.toArray()));
+    }
+
+    @Test
+    public void remove_FirstOccurrenceRemoved() throws Exception {
+        PrioritizedListeners<String> listeners = new PrioritizedListenersStore<>();
+        listeners.add("a", 1);
+        listeners.add("b", 2);
+        listeners.add("a", 3);
+        listeners.remove("a");
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(Arrays.asList("b", "a"), Arrays.asList(listeners.toArray())),
+                () -> Assertions.assertTrue(listeners.contains("a"))
+        );
+    }
+
+    @Test
+    public void build_NotPrioritized_NotPrioritizedListeners() throws Exception {
+        Assertions.assertAll(
+                () -> Assertions.assertFalse(Listeners.<String>builder().build() instanceof PrioritizedListeners),
+                () -> Assertions.assertFalse(Listeners.<String>builder().setIndexed().build() instanceof PrioritizedListeners),
+                () -> Assertions.assertTrue(Listeners.<String>builder().setPrioritized().build() instanceof PrioritizedListeners)
+        );
+    }
+
+    @Test
+    public void builder_Prioritized_DecoratorsDelegatePriorities() throws Exception {
+        List<Consumer<ListenersBuilder<String>>> configurations = new ArrayList<>();
+        configurations.add(builder -> { });
+        configurations.add(builder -> builder.setCached(false));
+        configurations.add(builder -> builder.setIndexed().setSynchronized());
+        configurations.add(builder -> builder.setDistinct());
+        configurations.add(builder -> builder.setCached(false).setStampedLock());
+        for (Consumer<ListenersBuilder<String>> configuration : configurations) {
+            ListenersBuilder<String> builder = Listeners.<String>builder();
+            configuration.accept(builder);
+            PrioritizedListeners<String> listeners = builder.buildPrioritized();
+            listeners.add("low", -1);
+            Assertions.assertEquals(Arrays.asList("low"), listeners.snapshot());
+            Subscription subscription = listeners.subscribe("high", 1);
+            listeners.add("default");
+            Assertions.assertEquals(Arrays.asList("high", "default", "low"), listeners.snapshot());
+            subscription.close();
+            Assertions.assertEquals(Arrays.asList("default", "low"), listeners.snapshot());
+        }
+    }
+
+    @Test
+    public void builder_PrioritizedLinked_IllegalStateExceptionThrown() throws Exception {
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> Listeners.builder().setPrioritized().setLinked().build());
+    }
+
+    @Test
+    public void publish_Prioritized_DeliveredByPriority() throws Exception {
+        Publisher<Consumer<List<String>>> publisher = Publisher.<Consumer<List<String>>>builder()
+                .listeners(builder -> builder.setPrioritized())
+                .build();
+        PrioritizedListeners<Consumer<List<String>>> listeners =
+                (PrioritizedListeners<Consumer<List<String>>>) publisher.getListeners();
+        listeners.add(list -> list.add("normal"));
+        listeners.add(list -> list.add("urgent"), 100);
+        listeners.add(list -> list.add("audit"), -100);
+        List<String> delivered = new ArrayList<>();
+        publisher.publish(listener -> listener.accept(delivered));
+        Assertions.assertEquals(Arrays.asList("urgent", "normal", "audit"), delivered);
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.listener;
+
+import com.devives.commons.lang.Wrapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class StampedLockListenersTest {
+
+    @Test
+    public void setStampedLock_expectedWrappers() throws Exception {
+        Listeners listeners = new ListenersBuilder().setStampedLock().setIndexed().build();
+        Assertions.assertAll(
+                () -> Assertions.assertInstanceOf(StampedLockListeners.class, listeners),
+                () -> Assertions.assertTrue(((Wrapper) listeners).isWrapperFor(IndexedListeners.class)),
+                () -> Assertions.assertTrue(((Wrapper) listeners).isWrapperFor(CachedListeners.class)),
+                () -> Assertions.assertFalse(((Wrapper) listeners).isWrapperFor(SynchronizedListeners.class))
+        );
+    }
+
+    @Test
+    public void setStampedLock_setSynchronized_IllegalStateExceptionThrown() throws Exception {
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> new ListenersBuilder().setStampedLock().setSynchronized().build());
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> new ListenersBuilder().setStampedLock().setWeak().build());
+    }
+
+    @Test
+    public void snapshot_NotModified_SameInstance() throws Exception {
+        Listeners<Integer> listeners = new StampedLockListeners<>(new ListenersStore<>(new ArrayList<>()));
+        listeners.add(1);
+        List<Integer> snapshot = listeners.snapshot();
+        Assertions.assertSame(snapshot, listeners.snapshot());
+        listeners.add(2);
+        Assertions.assertNotSame(snapshot, listeners.snapshot());
+        Assertions.assertEquals(Arrays.asList(1, 2), listeners.snapshot());
+        Subscription subscription = listeners.subscribe(3);
+        Assertions.assertEquals(Arrays.asList(1, 2, 3), listeners.snapshot());
+        subscription.close();
+        Assertions.assertEquals(Arrays.asList(1, 2), listeners.snapshot());
+    }
+
+    @Test
+    public void concurrentAccess_BackingLinkedList_Consistent() throws Exception {
+        final int writers = 2;
+        final int readers = 4;
+        final int iterations = 20_000;
+        Listeners<Integer> listeners = Listeners.<Integer>builder()
+                .setList(new LinkedList<>())
+                .setStampedLock()
+                .build();
+        listeners.add(-1);
+        ExecutorService executor = Executors.newFixedThreadPool(writers + readers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                final int base = w * iterations;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < iterations; i++) {
+                        listeners.add(base + i);
+                        listeners.remove(base + i);
+                    }
+                    return null;
+                }));
+            }
+            for (int r = 0; r < readers; r++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < iterations; i++) {
+                        Assertions.assertTrue(listeners.contains(-1));
+                        Assertions.assertTrue(listeners.size() >= 1);
+                        Assertions.assertEquals(Integer.valueOf(-1), listeners.snapshot().get(0));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertEquals(Arrays.asList(-1), listeners.snapshot());
+        Assertions.assertArrayEquals(new Object[]{-1}, listeners.toArray());
+    }
+}
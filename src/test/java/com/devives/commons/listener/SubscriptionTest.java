@@ -0,0 +1,148 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.listener;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class SubscriptionTest {
+
+    @Test
+    public void close_LinkedStoreDuplicates_OwnRegistrationRemoved() throws Exception {
+        Listeners<Integer> listeners = new LinkedListenersStore<>();
+        Integer item = 1000;
+        listeners.add(item);
+        listeners.add(2);
+        Subscription subscription = listeners.subscribe(item);
+        subscription.close();
+        Assertions.assertEquals(Arrays.asList(item, 2), Arrays.asList(listeners.toArray()));
+    }
+
+    @Test
+    public void close_ListenersStore_InstanceRemovedByIdentity() throws Exception {
+        Listeners<String> listeners = new ListenersStore<>(new ArrayList<>());
+        String equal = new String("a");
+        String registered = new String("a");
+        listeners.add(equal);
+        Subscription subscription = listeners.subscribe(registered);
+        subscription.close();
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(1, listeners.size()),
+                () -> Assertions.assertSame(equal, listeners.toArray()[0])
+        );
+    }
+
+    @Test
+    public void close_Twice_RemovedOnce() throws Exception {
+        Listeners<Runnable> listeners = Listeners.<Runnable>builder().build();
+        Runnable runnable = () -> {
+        };
+        listeners.add(runnable);
+        Subscription subscription = listeners.subscribe(runnable);
+        subscription.close();
+        subscription.close();
+        Assertions.assertEquals(1, listeners.size());
+    }
+
+    @Test
+    public void close_AfterClear_NoEffect() throws Exception {
+        Listeners<Integer> listeners = new LinkedListenersStore<>();
+        Subscription subscription = listeners.subscribe(1);
+        listeners.clear();
+        listeners.add(1);
+        subscription.close();
+        Assertions.assertEquals(1, listeners.size());
+    }
+
+    @Test
+    public void close_Wrappers_CacheAndIndexUpdated() throws Exception {
+        Listeners<Integer> listeners = Listeners.<Integer>builder().setIndexed().setLinked().setSynchronized().build();
+        Subscription subscription = listeners.subscribe(1);
+        listeners.add(2);
+        Assertions.assertEquals(2, listeners.toArray().length);
+        subscription.close();
+        Assertions.assertAll(
+                () -> Assertions.assertFalse(listeners.contains(1)),
+                () -> Assertions.assertEquals(Arrays.asList(2), Arrays.asList(listeners.toArray()))
+        );
+        listeners.add(1);
+        Assertions.assertTrue(listeners.contains(1));
+    }
+
+    @Test
+    public void close_ConcurrentListeners_Removed() throws Exception {
+        Listeners<Integer> listeners = Listeners.<Integer>builder().setConcurrent().build();
+        Subscription subscription = listeners.subscribe(1);
+        subscription.close();
+        Assertions.assertEquals(0, listeners.size());
+    }
+
+    @Test
+    public void close_IndexedStore_EqualsNotCalled() throws Exception {
+        int[] equalsCalls = new int[1];
+        class Listener {
+            @Override
+            public boolean equals(Object obj) {
+                equalsCalls[0]++;
+                return super.equals(obj);
+            }
+
+            @Override
+            public int hashCode() {
+                return 1;
+            }
+        }
+        Listeners<Listener> listeners = Listeners.<Listener>builder().setIdentityIndexed().build();
+        for (int i = 0; i < 100; i++) {
+            listeners.add(new Listener());
+        }
+        Listener listener = new Listener();
+        Subscription subscription = listeners.subscribe(listener);
+        equalsCalls[0] = 0;
+        subscription.close();
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(0, equalsCalls[0]),
+                () -> Assertions.assertFalse(listeners.contains(listener)),
+                () -> Assertions.assertEquals(100, listeners.size())
+        );
+    }
+
+    @Test
+    public void close_IndexedRegisteredAgain_NewRegistrationKept() throws Exception {
+        Listeners<Integer> listeners = Listeners.<Integer>builder().setIndexed().setLinked().build();
+        Subscription subscription = listeners.subscribe(1);
+        listeners.remove(1);
+        listeners.add(1);
+        subscription.close();
+        Assertions.assertAll(
+                () -> Assertions.assertTrue(listeners.contains(1)),
+                () -> Assertions.assertEquals(Arrays.asList(1), Arrays.asList(listeners.toArray()))
+        );
+    }
+
+    @Test
+    public void subscribe_IndexedStoreFails_IndexRolledBack() throws Exception {
+        Listeners<Integer> listeners = new IndexedListeners<>(new ListenersStore<>(Collections.unmodifiableList(new ArrayList<>())));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> listeners.subscribe(1));
+        Assertions.assertFalse(listeners.contains(1));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> listeners.subscribe(1));
+    }
+}
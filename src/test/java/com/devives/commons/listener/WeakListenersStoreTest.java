@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.listener;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class WeakListenersStoreTest {
+
+    @Test
+    public void add_ExpectedOrder() throws Exception {
+        Listeners<Integer> listeners = new WeakListenersStore<>();
+        Integer one = 1000;
+        Integer two = 2000;
+        Integer three = 3000;
+        listeners.add(two);
+        listeners.addFirst(one);
+        listeners.addAfter(three, two);
+        Assertions.assertEquals(Arrays.asList(one, two, three), Arrays.asList(listeners.toArray()));
+    }
+
+    @Test
+    public void toArray_UnreachableListener_Purged() throws Exception {
+        Listeners<Object> listeners = Listeners.builder().setWeak().build();
+        Object reachable = new Object();
+        listeners.add(reachable);
+        listeners.add(new Object());
+        for (int i = 0; i < 100 && listeners.size() > 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(1, listeners.size()),
+                () -> Assertions.assertEquals(Arrays.asList(reachable), Arrays.asList(listeners.toArray()))
+        );
+    }
+
+    @Test
+    public void subscribe_Close_Removed() throws Exception {
+        Listeners<Object> listeners = new WeakListenersStore<>();
+        Object listener = new Object();
+        Subscription subscription = listeners.subscribe(listener);
+        subscription.close();
+        Assertions.assertFalse(listeners.contains(listener));
+    }
+
+    @Test
+    public void setWeak_setIndexed_DuplicateExceptionThrown() throws Exception {
+        Listeners<Object> listeners = Listeners.builder().setWeak().setIndexed().build();
+        Object listener = new Object();
+        listeners.add(listener);
+        Assertions.assertThrows(DuplicateRegistrationException.class, () -> listeners.add(listener));
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.lang.exception.AggregateException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+public class ArgumentDistributionTest {
+
+    private static final BiConsumer<Consumer<String>, String> ACCEPT = Consumer::accept;
+
+    @Test
+    public void publishWithArgument_AllDeliveryModes_ArgumentPassedToEachListener() throws Exception {
+        try (RingBuffer ringBuffer = new RingBuffer(16, RingBuffer.WaitStrategy.PARK)) {
+            List<PublisherBuilder<Consumer<String>>> builders = Arrays.asList(
+                    Publisher.<Consumer<String>>builder(),
+                    Publisher.<Consumer<String>>builder().setIndependentDelivery(),
+                    Publisher.<Consumer<String>>builder().setListenerPresenceCheck(),
+                    Publisher.<Consumer<String>>builder().setParallelDelivery(1),
+                    Publisher.<Consumer<String>>builder().setAsyncDelivery(Runnable::run),
+                    Publisher.<Consumer<String>>builder().setVirtualThreadDelivery(),
+                    Publisher.<Consumer<String>>builder().setQuarantinePolicy(QuarantinePolicy.builder().build()),
+                    Publisher.<Consumer<String>>builder().setMetrics("test", new InMemoryListenerMetricsSink()));
+            for (PublisherBuilder<Consumer<String>> builder : builders) {
+                assertArgumentDelivered(builder.build());
+            }
+            Publisher<Consumer<String>> ringBufferPublisher = Publisher.<Consumer<String>>builder()
+                    .setRingBufferDelivery(ringBuffer)
+                    .build();
+            List<String> received = Collections.synchronizedList(new ArrayList<>());
+            ringBufferPublisher.getListeners().add(received::add);
+            ringBufferPublisher.publish(ACCEPT, "a");
+            ringBufferPublisher.publish(ACCEPT, "b");
+            ringBuffer.close();
+            Assertions.assertEquals(Arrays.asList("a", "b"), received);
+        }
+    }
+
+    @Test
+    public void publishWithArgument_IndependentDelivery_ExceptionsCollected() throws Exception {
+        List<Exception> errors = new ArrayList<>();
+        Publisher<Consumer<String>> publisher = Publisher.<Consumer<String>>builder()
+                .setIndependentDelivery()
+                .setErrorHandler(errors::add)
+                .build();
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            publisher.getListeners().add(value -> {
+                calls.incrementAndGet();
+                throw new IllegalArgumentException(value);
+            });
+        }
+        publisher.publish(ACCEPT, "a");
+        Assertions.assertEquals(2, calls.get());
+        Assertions.assertEquals(2, ((AggregateException) errors.get(0)).getSuppressed().length);
+    }
+
+    @Test
+    public void distributeWithArgument_CustomDistributor_DefaultWrapsConsumer() throws Exception {
+        List<String> received = new ArrayList<>();
+        Distributor<Consumer<String>> distributor = (consumer, listeners) -> listeners.forEach(consumer);
+        Publisher<Consumer<String>> publisher = Publisher.<Consumer<String>>builder().build();
+        publisher.getListeners().add(received::add);
+        distributor.distribute(ACCEPT, "a", publisher.getListeners());
+        Assertions.assertEquals(Collections.singletonList("a"), received);
+    }
+
+    private static void assertArgumentDelivered(Publisher<Consumer<String>> publisher) {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        publisher.getListeners().add(received::add);
+        publisher.getListeners().add(value -> received.add(value.toUpperCase()));
+        publisher.publish(ACCEPT, "a");
+        Collections.sort(received);
+        Assertions.assertEquals(Arrays.asList("A", "a"), received);
+    }
+}
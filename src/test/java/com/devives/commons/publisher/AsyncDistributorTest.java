@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.listener.Listeners;
+import com.devives.commons.util.concurrent.SerialDrain;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+public class AsyncDistributorTest {
+
+    private static final int EVENTS = 1_000;
+
+    @Test
+    public void publish_AsyncDelivery_PerListenerOrderPreserved() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Publisher<Consumer<Integer>> publisher = Publisher.<Consumer<Integer>>builder()
+                    .setAsyncDelivery(executor)
+                    .build();
+            CountDownLatch delivered = new CountDownLatch(3 * EVENTS);
+            List<List<Integer>> received = new ArrayList<>();
+            for (int l = 0; l < 3; l++) {
+                List<Integer> list = Collections.synchronizedList(new ArrayList<>());
+                received.add(list);
+                publisher.getListeners().add(value -> {
+                    list.add(value);
+                    delivered.countDown();
+                });
+            }
+            for (int i = 0; i < EVENTS; i++) {
+                final int value = i;
+                publisher.publish(listener -> listener.accept(value));
+            }
+            Assertions.assertTrue(delivered.await(1, TimeUnit.MINUTES));
+            for (List<Integer> list : received) {
+                Assertions.assertEquals(EVENTS, list.size());
+                for (int i = 0; i < EVENTS; i++) {
+                    Assertions.assertEquals(i, list.get(i));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void publish_SlowListener_PublisherNotBlocked() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch fastDelivered = new CountDownLatch(EVENTS);
+            // The slow listener is rescheduled after the executor is shut down, ignore the rejection.
+            Publisher<Runnable> publisher = Publisher.<Runnable>builder()
+                    .setAsyncDelivery(executor)
+                    .setErrorHandler(exception -> { })
+                    .build();
+            publisher.getListeners().add(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            publisher.getListeners().add(fastDelivered::countDown);
+            for (int i = 0; i < EVENTS; i++) {
+                publisher.publish(Runnable::run);
+            }
+            Assertions.assertTrue(fastDelivered.await(1, TimeUnit.MINUTES));
+            release.countDown();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void distribute_ListenerThrows_ErrorHandlerCalled() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AtomicReference<Exception> error = new AtomicReference<>();
+            CountDownLatch handled = new CountDownLatch(1);
+            AsyncDistributor<Runnable> distributor = new AsyncDistributor<>(executor, false, exception -> {
+                error.set(exception);
+                handled.countDown();
+            });
+            Listeners<Runnable> listeners = Listeners.<Runnable>builder().build();
+            listeners.add(() -> {
+                throw new IllegalStateException("failure");
+            });
+            distributor.distribute(Runnable::run, listeners);
+            Assertions.assertTrue(handled.await(1, TimeUnit.MINUTES));
+            Assertions.assertInstanceOf(IllegalStateException.class, error.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void distribute_ExecutorRejects_ErrorHandlerCalled() throws Exception {
+        List<Exception> errors = new ArrayList<>();
+        AsyncDistributor<Runnable> distributor = new AsyncDistributor<>(command -> {
+            throw new RejectedExecutionException();
+        }, false, errors::add);
+        Listeners<Runnable> listeners = Listeners.<Runnable>builder().build();
+        listeners.add(() -> { });
+        distributor.distribute(Runnable::run, listeners);
+        Assertions.assertEquals(1, errors.size());
+        Assertions.assertInstanceOf(RejectedExecutionException.class, errors.get(0));
+        Assertions.assertEquals(0, distributor.getPendingCount());
+    }
+
+    @Test
+    public void distribute_DrainLimitExceeded_AllDelivered() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        AsyncDistributor<Consumer<Integer>> distributor = new AsyncDistributor<>(tasks::add, true, Assertions::fail);
+        Listeners<Consumer<Integer>> listeners = Listeners.<Consumer<Integer>>builder().build();
+        List<Integer> received = new ArrayList<>();
+        Consumer<Integer> removed = value -> Assertions.fail("removed listener called");
+        listeners.add(received::add);
+        listeners.add(removed);
+        for (int i = 0; i < 3 * SerialDrain.DRAIN_LIMIT; i++) {
+            final int value = i;
+            distributor.distribute(listener -> listener.accept(value), listeners);
+        }
+        listeners.remove(removed);
+        Assertions.assertEquals(2, tasks.size());
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+        Assertions.assertEquals(3 * SerialDrain.DRAIN_LIMIT, received.size());
+        Assertions.assertEquals(0, distributor.getPendingCount());
+    }
+}
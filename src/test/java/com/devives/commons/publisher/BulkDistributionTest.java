@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.event.EventSource;
+import com.devives.commons.event.EventSources;
+import com.devives.commons.event.StateChangedEvent;
+import com.devives.commons.lang.exception.AggregateException;
+import com.devives.commons.listener.Listeners;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+public class BulkDistributionTest {
+
+    private static final BiConsumer<Consumer<String>, String> ACCEPT = Consumer::accept;
+
+    @Test
+    public void publishAll_DefaultDelivery_DeliveredListenerByListener() throws Exception {
+        Publisher<Consumer<String>> publisher = Publishers.<Consumer<String>>builder().build();
+        List<String> received = new ArrayList<>();
+        publisher.getListeners().add(value -> received.add("1" + value));
+        publisher.getListeners().add(value -> received.add("2" + value));
+        publisher.publishAll(ACCEPT, new LinkedHashSet<>(Arrays.asList("a", "b", "c")));
+        Assertions.assertEquals(Arrays.asList("1a", "1b", "1c", "2a", "2b", "2c"), received);
+    }
+
+    @Test
+    public void publishAll_FailingListener_BatchDeliveredAndExceptionsCollected() throws Exception {
+        List<Exception> errors = new ArrayList<>();
+        Publisher<Consumer<String>> publisher = Publishers.<Consumer<String>>builder()
+                .setErrorHandler(errors::add)
+                .build();
+        List<String> received = new ArrayList<>();
+        publisher.getListeners().add(value -> {
+            if (!value.equals("b")) {
+                throw new IllegalStateException(value);
+            }
+        });
+        publisher.getListeners().add(received::add);
+        publisher.publishAll(ACCEPT, Arrays.asList("a", "b", "c"));
+        Assertions.assertEquals(Arrays.asList("a", "b", "c"), received);
+        Assertions.assertEquals(1, errors.size());
+        Throwable[] suppressed = errors.get(0).getSuppressed();
+        Assertions.assertTrue(errors.get(0) instanceof AggregateException);
+        Assertions.assertEquals("a", suppressed[0].getMessage());
+        Assertions.assertEquals("c", suppressed[1].getMessage());
+    }
+
+    @Test
+    public void publishAll_ListenerRemovedDuringBatch_RestOfBatchSkipped() throws Exception {
+        Publisher<Consumer<String>> publisher = Publishers.<Consumer<String>>builder()
+                .setListenerPresenceCheck()
+                .setIndependentDelivery()
+                .build();
+        List<String> received = new ArrayList<>();
+        Consumer<String> second = received::add;
+        publisher.getListeners().add(value -> {
+            if (value.equals("b")) {
+                publisher.getListeners().remove(second);
+            }
+        });
+        publisher.getListeners().add(second);
+        publisher.publishAll(ACCEPT, Arrays.asList("a", "b", "c"));
+        Assertions.assertTrue(received.isEmpty());
+    }
+
+    @Test
+    public void distributeAll_QuarantinedDuringBatch_RestOfBatchSkipped() throws Exception {
+        List<Exception> errors = new ArrayList<>();
+        IndependentDistributor<Consumer<String>> distributor = new IndependentDistributor<>(false, QuarantinePolicy.builder()
+                .setFailureThreshold(2)
+                .setQuarantineDuration(10, 10, TimeUnit.SECONDS)
+                .build(), new AtomicLong()::get, errors::add);
+        Listeners<Consumer<String>> listeners = Listeners.<Consumer<String>>builder().build();
+        List<String> failed = new ArrayList<>();
+        List<String> received = new ArrayList<>();
+        listeners.add(value -> {
+            failed.add(value);
+            throw new IllegalStateException(value);
+        });
+        listeners.add(received::add);
+        distributor.distributeAll(ACCEPT, Arrays.asList("a", "b", "c", "d"), listeners);
+        Assertions.assertEquals(Arrays.asList("a", "b"), failed);
+        Assertions.assertEquals(Arrays.asList("a", "b", "c", "d"), received);
+        Assertions.assertTrue(errors.get(0).getSuppressed()[2] instanceof ListenerQuarantinedException);
+    }
+
+    @Test
+    public void publishAll_AsyncDelivery_DeliveredEventByEvent() throws Exception {
+        Publisher<Consumer<String>> publisher = Publishers.<Consumer<String>>builder()
+                .setAsyncDelivery(Runnable::run)
+                .build();
+        List<String> received = new ArrayList<>();
+        publisher.getListeners().add(value -> received.add("1" + value));
+        publisher.getListeners().add(value -> received.add("2" + value));
+        publisher.publishAll(ACCEPT, Arrays.asList("a", "b"));
+        Assertions.assertEquals(Arrays.asList("1a", "2a", "1b", "2b"), received);
+    }
+
+    @Test
+    public void sendAll_DefaultEventSource_DeliveredListenerByListener() throws Exception {
+        EventSource<StateChangedEvent<String>> eventSource = EventSources.<StateChangedEvent<String>>builder().build();
+        List<String> received = new ArrayList<>();
+        eventSource.getListeners().add(event -> received.add("1" + event.getState()));
+        eventSource.getListeners().add(event -> received.add("2" + event.getState()));
+        eventSource.sendAll(Arrays.asList(new StateChangedEvent<>(this, "a"), new StateChangedEvent<>(this, "b")));
+        Assertions.assertEquals(Arrays.asList("1a", "1b", "2a", "2b"), received);
+    }
+}
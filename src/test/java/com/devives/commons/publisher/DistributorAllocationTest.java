@@ -0,0 +1,179 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.event.EventListener;
+import com.devives.commons.event.EventSource;
+import com.devives.commons.event.EventSources;
+import com.devives.commons.event.PropertyChangedEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Checks the allocation budget of the steady-state publish path: 0 bytes per publication.
+ */
+public class DistributorAllocationTest {
+
+    private static final int WARMUP_PUBLICATIONS = 50_000;
+    private static final int MEASURED_PUBLICATIONS = 100_000;
+    private static final Consumer<CountingListener> FIRE = CountingListener::fire;
+    private static final BiConsumer<CountingListener, Integer> ADD = CountingListener::add;
+
+    @Test
+    public void publish_DefaultDelivery_ZeroBytesPerOperation() throws Exception {
+        assertZeroAllocation(Publisher.<CountingListener>builder().build());
+    }
+
+    @Test
+    public void publish_IndependentDeliveryWithPresenceCheck_ZeroBytesPerOperation() throws Exception {
+        assertZeroAllocation(Publisher.<CountingListener>builder()
+                .listeners(builder -> builder.setIndexed().setSynchronized())
+                .setIndependentDelivery()
+                .setListenerPresenceCheck()
+                .build());
+    }
+
+    @Test
+    public void publish_ConcurrentListeners_ZeroBytesPerOperation() throws Exception {
+        assertZeroAllocation(Publisher.<CountingListener>builder()
+                .listeners(builder -> builder.setConcurrent())
+                .build());
+    }
+
+    @Test
+    public void publish_UncachedStores_ZeroBytesPerOperation() throws Exception {
+        assertZeroAllocation(Publisher.<CountingListener>builder()
+                .listeners(builder -> builder.setCached(false))
+                .build());
+        assertZeroAllocation(Publisher.<CountingListener>builder()
+                .listeners(builder -> builder.setCached(false).setLinked())
+                .setIndependentDelivery()
+                .build());
+        assertZeroAllocation(Publisher.<CountingListener>builder()
+                .listeners(builder -> builder.setCached(false).setPrioritized())
+                .build());
+    }
+
+    @Test
+    public void publish_UncachedStoreWithPresenceCheck_ZeroBytesPerOperation() throws Exception {
+        assertZeroAllocation(Publisher.<CountingListener>builder()
+                .listeners(builder -> builder.setCached(false).setSynchronized())
+                .setIndependentDelivery()
+                .setListenerPresenceCheck()
+                .build());
+    }
+
+    @Test
+    public void publishWithArgument_IndependentDelivery_ZeroBytesPerOperation() throws Exception {
+        Integer one = 1;
+        assertAllocation(Publisher.<CountingListener>builder()
+                .setIndependentDelivery()
+                .build(), publisher -> publisher.publish(ADD, one), 1);
+    }
+
+    @Test
+    public void send_DefaultEventSource_ZeroBytesPerOperation() throws Exception {
+        com.sun.management.ThreadMXBean allocationBean = getAllocationBean();
+        EventSource<PropertyChangedEvent<String>> eventSource = EventSources.<PropertyChangedEvent<String>>builder().build();
+        long[] count = new long[1];
+        EventListener<PropertyChangedEvent<String>> listener = event -> count[0]++;
+        for (int i = 0; i < 10; i++) {
+            eventSource.getListeners().add(listener);
+        }
+        PropertyChangedEvent<String> event = new PropertyChangedEvent<>(this, "property");
+        for (int i = 0; i < WARMUP_PUBLICATIONS; i++) {
+            eventSource.send(event);
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_PUBLICATIONS; i++) {
+            eventSource.send(event);
+        }
+        long allocated = allocationBean.getThreadAllocatedBytes(threadId) - before;
+        Assertions.assertEquals(10L * (WARMUP_PUBLICATIONS + MEASURED_PUBLICATIONS), count[0]);
+        Assertions.assertTrue(allocated < MEASURED_PUBLICATIONS, "Allocated " + allocated + " bytes.");
+    }
+
+    @Test
+    public void publish_WithMetrics_OneWrapperPerOperation() throws Exception {
+        // The instrumented path allocates the wrapper of the consumer only, regardless of the number of listeners.
+        assertAllocation(Publisher.<CountingListener>builder()
+                .setMetrics("benchmark", new InMemoryListenerMetricsSink())
+                .build(), 64);
+    }
+
+    /**
+     * Returns the bean measuring the allocation of threads, skipping the test if the measurement is not supported.
+     */
+    private static com.sun.management.ThreadMXBean getAllocationBean() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean,
+                "Thread allocation measurement is not available.");
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        Assumptions.assumeTrue(allocationBean.isThreadAllocatedMemorySupported()
+                && allocationBean.isThreadAllocatedMemoryEnabled(), "Thread allocation measurement is not enabled.");
+        return allocationBean;
+    }
+
+    private static void assertZeroAllocation(Publisher<CountingListener> publisher) {
+        assertAllocation(publisher, 1);
+    }
+
+    private static void assertAllocation(Publisher<CountingListener> publisher, int bytesPerPublication) {
+        assertAllocation(publisher, target -> target.publish(FIRE), bytesPerPublication);
+    }
+
+    private static void assertAllocation(Publisher<CountingListener> publisher, Consumer<Publisher<CountingListener>> publication,
+                                         int bytesPerPublication) {
+        com.sun.management.ThreadMXBean allocationBean = getAllocationBean();
+        CountingListener listener = new CountingListener();
+        for (int i = 0; i < 10; i++) {
+            publisher.getListeners().add(new CountingListener());
+        }
+        publisher.getListeners().add(listener);
+        for (int i = 0; i < WARMUP_PUBLICATIONS; i++) {
+            publication.accept(publisher);
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_PUBLICATIONS; i++) {
+            publication.accept(publisher);
+        }
+        long allocated = allocationBean.getThreadAllocatedBytes(threadId) - before;
+        Assertions.assertEquals(WARMUP_PUBLICATIONS + MEASURED_PUBLICATIONS, listener.count_);
+        // Tolerate the measurement overhead, a single allocation per publication would exceed the budget.
+        Assertions.assertTrue(allocated < (long) MEASURED_PUBLICATIONS * bytesPerPublication, "Allocated " + allocated + " bytes.");
+    }
+
+    private static final class CountingListener {
+        private long count_;
+
+        private void fire() {
+            count_++;
+        }
+
+        private void add(Integer amount) {
+            count_ += amount;
+        }
+    }
+}
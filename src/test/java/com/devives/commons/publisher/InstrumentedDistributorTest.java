@@ -0,0 +1,143 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+public class InstrumentedDistributorTest {
+
+    private static final Consumer<Runnable> RUN = Runnable::run;
+
+    @Test
+    public void publish_WithMetrics_CallsAndErrorsRecordedPerListenerClass() throws Exception {
+        InMemoryListenerMetricsSink sink = new InMemoryListenerMetricsSink();
+        Publisher<Runnable> publisher = Publisher.<Runnable>builder()
+                .setIndependentDelivery()
+                .setMetrics("orders", sink)
+                .setErrorHandler(exception -> {
+                })
+                .build();
+        AtomicInteger calls = new AtomicInteger();
+        publisher.getListeners().add(new CountingListener(calls));
+        publisher.getListeners().add(new CountingListener(calls));
+        publisher.getListeners().add(new FailingListener());
+        for (int i = 0; i < 10; i++) {
+            publisher.publish(RUN);
+        }
+        Assertions.assertEquals(20, calls.get());
+
+        List<ListenerMetrics> snapshot = sink.snapshot();
+        Assertions.assertEquals(2, snapshot.size());
+        ListenerMetrics counting = sink.snapshot("orders", CountingListener.class);
+        Assertions.assertEquals(20, counting.getInvocationCount());
+        Assertions.assertEquals(0, counting.getErrorCount());
+        long histogramCount = 0;
+        for (long bucket : counting.getHistogram()) {
+            histogramCount += bucket;
+        }
+        Assertions.assertEquals(20, histogramCount);
+        ListenerMetrics failing = sink.snapshot("orders", FailingListener.class);
+        Assertions.assertEquals(10, failing.getInvocationCount());
+        Assertions.assertEquals(10, failing.getErrorCount());
+        Assertions.assertNull(sink.snapshot("payments", FailingListener.class));
+    }
+
+    @Test
+    public void publish_SharedSink_MetricsSeparatedPerPublisher() throws Exception {
+        InMemoryListenerMetricsSink sink = new InMemoryListenerMetricsSink();
+        Publisher<Runnable> orders = Publisher.<Runnable>builder().setMetrics("orders", sink).build();
+        Publisher<Runnable> payments = Publisher.<Runnable>builder().setMetrics("payments", sink).build();
+        AtomicInteger calls = new AtomicInteger();
+        orders.getListeners().add(new CountingListener(calls));
+        payments.getListeners().add(new CountingListener(calls));
+        orders.publish(RUN);
+        payments.publish(RUN);
+        payments.publish(RUN);
+        Assertions.assertEquals(1, sink.snapshot("orders", CountingListener.class).getInvocationCount());
+        Assertions.assertEquals(2, sink.snapshot("payments", CountingListener.class).getInvocationCount());
+        sink.clear();
+        Assertions.assertTrue(sink.snapshot().isEmpty());
+    }
+
+    @Test
+    public void publish_SampledMetrics_AllCallsCountedSampleMeasured() throws Exception {
+        InMemoryListenerMetricsSink sink = new InMemoryListenerMetricsSink();
+        Publisher<Runnable> publisher = Publisher.<Runnable>builder()
+                .setIndependentDelivery()
+                .setMetrics("orders", sink, 8)
+                .setErrorHandler(exception -> {
+                })
+                .build();
+        AtomicInteger calls = new AtomicInteger();
+        publisher.getListeners().add(new CountingListener(calls));
+        publisher.getListeners().add(new FailingListener());
+        for (int i = 0; i < 1000; i++) {
+            publisher.publish(RUN);
+        }
+        ListenerMetrics counting = sink.snapshot("orders", CountingListener.class);
+        long histogramCount = 0;
+        for (long bucket : counting.getHistogram()) {
+            histogramCount += bucket;
+        }
+        Assertions.assertEquals(1000, counting.getInvocationCount());
+        Assertions.assertTrue(histogramCount > 0 && histogramCount < 1000, "Measured calls: " + histogramCount);
+        Assertions.assertEquals(1000, sink.snapshot("orders", FailingListener.class).getErrorCount());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> Publisher.<Runnable>builder().setMetrics("orders", sink, 0));
+    }
+
+    @Test
+    public void getQuantileNanos_Histogram_UpperBoundOfBucket() throws Exception {
+        long[] histogram = new long[ListenerMetrics.BUCKET_COUNT];
+        histogram[ListenerMetrics.bucketOf(0)]++;
+        histogram[ListenerMetrics.bucketOf(100)] += 8;
+        histogram[ListenerMetrics.bucketOf(5_000)]++;
+        ListenerMetrics metrics = new ListenerMetrics("p", Runnable.class, 10, 0, 105_000, histogram);
+        Assertions.assertEquals(0, metrics.getQuantileNanos(0));
+        Assertions.assertEquals(127, metrics.getQuantileNanos(0.5));
+        Assertions.assertEquals(127, metrics.getQuantileNanos(0.9));
+        Assertions.assertEquals(8191, metrics.getQuantileNanos(1));
+        Assertions.assertEquals(1, ListenerMetrics.bucketOf(1));
+        Assertions.assertEquals(63, ListenerMetrics.bucketOf(Long.MAX_VALUE));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> metrics.getQuantileNanos(1.5));
+    }
+
+    private static final class CountingListener implements Runnable {
+        private final AtomicInteger calls_;
+
+        private CountingListener(AtomicInteger calls) {
+            calls_ = calls;
+        }
+
+        @Override
+        public void run() {
+            calls_.incrementAndGet();
+        }
+    }
+
+    private static final class FailingListener implements Runnable {
+        @Override
+        public void run() {
+            throw new IllegalStateException();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.lang.exception.AggregateException;
+import com.devives.commons.listener.Listeners;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+public class ParallelDistributorTest {
+
+    private static final Consumer<Runnable> RUN = Runnable::run;
+
+    @Test
+    public void publish_AboveThreshold_AllListenersCalledOnPool() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Publisher<Runnable> publisher = Publisher.<Runnable>builder()
+                    .setParallelDelivery(16, pool)
+                    .build();
+            AtomicInteger counter = new AtomicInteger();
+            Set<Thread> threads = Collections.synchronizedSet(new HashSet<>());
+            for (int i = 0; i < 1_000; i++) {
+                publisher.getListeners().add(() -> {
+                    threads.add(Thread.currentThread());
+                    counter.incrementAndGet();
+                });
+            }
+            publisher.publish(RUN);
+            Assertions.assertEquals(1_000, counter.get());
+            Assertions.assertFalse(threads.contains(Thread.currentThread()));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void publish_BelowThreshold_CalledOnPublishingThread() throws Exception {
+        Publisher<Runnable> publisher = Publisher.<Runnable>builder()
+                .setParallelDelivery(16)
+                .build();
+        Thread publishingThread = Thread.currentThread();
+        AtomicInteger counter = new AtomicInteger();
+        for (int i = 0; i < 16; i++) {
+            publisher.getListeners().add(() -> {
+                Assertions.assertSame(publishingThread, Thread.currentThread());
+                counter.incrementAndGet();
+            });
+        }
+        publisher.publish(RUN);
+        Assertions.assertEquals(16, counter.get());
+    }
+
+    @Test
+    public void distribute_ListenersThrow_AggregateExceptionThrown() throws Exception {
+        ParallelDistributor<Runnable> distributor = new ParallelDistributor<>(4, false, exception -> {
+            throw (RuntimeException) exception;
+        });
+        Listeners<Runnable> listeners = Listeners.<Runnable>builder().build();
+        AtomicInteger counter = new AtomicInteger();
+        for (int i = 0; i < 100; i++) {
+            final int index = i;
+            listeners.add(() -> {
+                counter.incrementAndGet();
+                if (index % 10 == 0) {
+                    throw new IllegalStateException(String.valueOf(index));
+                }
+            });
+        }
+        AggregateException exception = Assertions.assertThrows(AggregateException.class,
+                () -> distributor.distribute(RUN, listeners));
+        Assertions.assertEquals(100, counter.get());
+        Assertions.assertEquals(10, exception.getSuppressed().length);
+    }
+
+    @Test
+    public void setParallelDelivery_setAsyncDelivery_IllegalStateExceptionThrown() throws Exception {
+        Assertions.assertThrows(IllegalStateException.class, () -> Publisher.<Runnable>builder()
+                .setParallelDelivery(16)
+                .setAsyncDelivery(Runnable::run)
+                .build());
+    }
+}
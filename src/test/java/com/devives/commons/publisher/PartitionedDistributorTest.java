@@ -0,0 +1,266 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.util.concurrent.SerialDrain;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+public class PartitionedDistributorTest {
+
+    private static final BiConsumer<Consumer<int[]>, int[]> ON_EVENT = Consumer::accept;
+
+    @Test
+    public void publish_SameKey_DeliveredInOrder() throws Exception {
+        final int keys = 8;
+        final int events = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (PartitionLanes lanes = new PartitionLanes(4, 16, executor)) {
+            Publisher<Consumer<int[]>> publisher = Publisher.<Consumer<int[]>>builder()
+                    .<int[]>setPartitionedDelivery(event -> event[0], lanes)
+                    .build();
+            int[] lastValues = new int[keys];
+            List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+            publisher.getListeners().add(event -> {
+                synchronized (lastValues) {
+                    if (event[1] != lastValues[event[0]] + 1) {
+                        errors.add(new AssertionError("Out of order: " + event[1]));
+                    }
+                    lastValues[event[0]] = event[1];
+                }
+            });
+            for (int i = 1; i <= events; i++) {
+                for (int key = 0; key < keys; key++) {
+                    publisher.publish(ON_EVENT, new int[]{key, i});
+                }
+            }
+            lanes.close();
+            Assertions.assertEquals(0, lanes.getBacklog());
+            Assertions.assertTrue(errors.isEmpty());
+            for (int key = 0; key < keys; key++) {
+                Assertions.assertEquals(events, lastValues[key]);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void publish_DifferentLanes_DeliveredConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (PartitionLanes lanes = new PartitionLanes(2, 4, executor)) {
+            int otherKey = 1;
+            while (lanes.getLane(otherKey) == lanes.getLane(0)) {
+                otherKey++;
+            }
+            Publisher<Consumer<int[]>> publisher = Publisher.<Consumer<int[]>>builder()
+                    .<int[]>setPartitionedDelivery(event -> event[0], lanes)
+                    .build();
+            // Both listener calls wait for each other, which succeeds only if the lanes run in parallel.
+            CountDownLatch latch = new CountDownLatch(2);
+            AtomicBoolean concurrent = new AtomicBoolean(true);
+            publisher.getListeners().add(event -> {
+                latch.countDown();
+                try {
+                    if (!latch.await(1, TimeUnit.MINUTES)) {
+                        concurrent.set(false);
+                    }
+                } catch (InterruptedException e) {
+                    concurrent.set(false);
+                }
+            });
+            publisher.publish(ON_EVENT, new int[]{0});
+            publisher.publish(ON_EVENT, new int[]{otherKey});
+            lanes.close();
+            Assertions.assertTrue(concurrent.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void getDepth_PendingEvents_CountedPerLane() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        PartitionLanes lanes = new PartitionLanes(4, 8, tasks::add);
+        Publisher<Consumer<int[]>> publisher = Publisher.<Consumer<int[]>>builder()
+                .<int[]>setPartitionedDelivery(event -> event[0], lanes)
+                .build();
+        List<Integer> received = new ArrayList<>();
+        publisher.getListeners().add(event -> received.add(event[0]));
+        publisher.publish(ON_EVENT, new int[]{0});
+        publisher.publish(ON_EVENT, new int[]{0});
+        publisher.publish(ON_EVENT, new int[]{1});
+        int lane0 = lanes.getLane(0);
+        int lane1 = lanes.getLane(1);
+        Assertions.assertNotEquals(lane0, lane1);
+        Assertions.assertEquals(2, lanes.getDepth(lane0));
+        Assertions.assertEquals(1, lanes.getDepth(lane1));
+        Assertions.assertEquals(3, lanes.getBacklog());
+        Assertions.assertEquals(2, tasks.size());
+        tasks.forEach(Runnable::run);
+        Assertions.assertEquals(0, lanes.getBacklog());
+        Assertions.assertEquals(3, received.size());
+    }
+
+    @Test
+    public void publish_LaneFull_PublisherWaits() throws Exception {
+        List<Runnable> tasks = Collections.synchronizedList(new ArrayList<>());
+        PartitionLanes lanes = new PartitionLanes(1, 1, tasks::add);
+        Publisher<Runnable> publisher = Publisher.<Runnable>builder()
+                .setPartitionedDelivery(argument -> argument, lanes)
+                .build();
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        publisher.getListeners().add(() -> received.add(received.size()));
+        publisher.publish(Runnable::run);
+        Thread thread = new Thread(() -> publisher.publish(Runnable::run));
+        thread.start();
+        thread.join(200);
+        Assertions.assertTrue(thread.isAlive());
+        Assertions.assertEquals(1, lanes.getDepth(0));
+        tasks.get(0).run();
+        thread.join(TimeUnit.MINUTES.toMillis(1));
+        Assertions.assertFalse(thread.isAlive());
+        // The second event is run by the first drain, or by a new one if the lane was drained before it was added.
+        for (int i = 1; i < tasks.size(); i++) {
+            tasks.get(i).run();
+        }
+        Assertions.assertEquals(2, received.size());
+        Assertions.assertEquals(0, lanes.getBacklog());
+    }
+
+    @Test
+    public void publish_Closed_IllegalStateExceptionThrown() throws Exception {
+        PartitionLanes lanes = new PartitionLanes(2, 8, Runnable::run);
+        Publisher<Runnable> publisher = Publisher.<Runnable>builder()
+                .setPartitionedDelivery(argument -> argument, lanes)
+                .build();
+        lanes.close();
+        Assertions.assertThrows(IllegalStateException.class, () -> publisher.publish(Runnable::run));
+    }
+
+    @Test
+    public void publish_IndependentDelivery_ListenerErrorsPassedToErrorHandler() throws Exception {
+        List<Exception> errors = new ArrayList<>();
+        PartitionLanes lanes = new PartitionLanes(2, 8, Runnable::run);
+        Publisher<Consumer<int[]>> publisher = Publisher.<Consumer<int[]>>builder()
+                .<int[]>setPartitionedDelivery(event -> event[0], lanes)
+                .setIndependentDelivery()
+                .setErrorHandler(errors::add)
+                .build();
+        int[] received = new int[1];
+        publisher.getListeners().add(event -> {
+            throw new IllegalStateException();
+        });
+        publisher.getListeners().add(event -> received[0]++);
+        publisher.publish(ON_EVENT, new int[]{1});
+        Assertions.assertEquals(1, received[0]);
+        Assertions.assertEquals(1, errors.size());
+    }
+
+    @Test
+    public void close_RescheduleRejected_PendingEventsDeliveredInline() throws Exception {
+        List<Runnable> scheduled = new ArrayList<>();
+        PartitionLanes lanes = new PartitionLanes(1, 4 * SerialDrain.DRAIN_LIMIT, command -> {
+            if (!scheduled.isEmpty()) {
+                throw new RejectedExecutionException();
+            }
+            scheduled.add(command);
+        });
+        Publisher<Consumer<int[]>> publisher = Publisher.<Consumer<int[]>>builder()
+                .<int[]>setPartitionedDelivery(event -> event[0], lanes)
+                .build();
+        int[] received = new int[1];
+        publisher.getListeners().add(event -> received[0]++);
+        for (int i = 0; i < 2 * SerialDrain.DRAIN_LIMIT + 1; i++) {
+            publisher.publish(ON_EVENT, new int[]{0});
+        }
+        List<Throwable> errors = new ArrayList<>();
+        Thread drainer = new Thread(scheduled.get(0));
+        drainer.setUncaughtExceptionHandler((thread, e) -> errors.add(e));
+        drainer.start();
+        drainer.join(10_000);
+        lanes.close();
+        Assertions.assertEquals(2 * SerialDrain.DRAIN_LIMIT + 1, received[0]);
+        Assertions.assertEquals(0, lanes.getBacklog());
+        Assertions.assertEquals(1, errors.size());
+        Assertions.assertTrue(errors.get(0) instanceof RejectedExecutionException);
+    }
+
+    @Test
+    public void submit_ScheduleRejectedWhileOtherThreadSubmits_OtherTaskRunInline() throws Exception {
+        CountDownLatch executing = new CountDownLatch(1);
+        CountDownLatch submitted = new CountDownLatch(1);
+        PartitionLanes lanes = new PartitionLanes(1, 8, command -> {
+            executing.countDown();
+            try {
+                submitted.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new RejectedExecutionException();
+        });
+        AtomicBoolean rejectedRun = new AtomicBoolean();
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        Thread rejected = new Thread(() -> {
+            try {
+                lanes.submit(0, () -> rejectedRun.set(true));
+            } catch (Throwable e) {
+                errors.add(e);
+            }
+        });
+        rejected.start();
+        Assertions.assertTrue(executing.await(10, TimeUnit.SECONDS));
+        List<Thread> runners = Collections.synchronizedList(new ArrayList<>());
+        // The lane is being scheduled, so the task is queued and the submission returns.
+        lanes.submit(0, () -> runners.add(Thread.currentThread()));
+        submitted.countDown();
+        rejected.join(10_000);
+        lanes.close();
+        Assertions.assertEquals(Collections.singletonList(rejected), runners);
+        Assertions.assertFalse(rejectedRun.get());
+        Assertions.assertEquals(1, errors.size());
+        Assertions.assertTrue(errors.get(0) instanceof RejectedExecutionException);
+        Assertions.assertEquals(0, lanes.getBacklog());
+    }
+
+    @Test
+    public void build_CombinedWithRingBufferDelivery_IllegalStateExceptionThrown() throws Exception {
+        PartitionLanes lanes = new PartitionLanes(2, 8, Runnable::run);
+        try (RingBuffer ringBuffer = new RingBuffer(8, RingBuffer.WaitStrategy.PARK)) {
+            Assertions.assertThrows(IllegalStateException.class, () -> Publisher.<Runnable>builder()
+                    .setPartitionedDelivery(argument -> argument, lanes)
+                    .setRingBufferDelivery(ringBuffer)
+                    .build());
+        }
+        Assertions.assertThrows(IllegalStateException.class, () -> Publisher.<Runnable>builder()
+                .setPartitionedDelivery(argument -> argument, lanes)
+                .setQuarantinePolicy(QuarantinePolicy.builder().build())
+                .build());
+    }
+}
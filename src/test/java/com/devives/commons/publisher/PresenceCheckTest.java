@@ -0,0 +1,291 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.listener.Listeners;
+import com.devives.commons.listener.ListenersBuilder;
+import com.devives.commons.listener.ListenersStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class PresenceCheckTest {
+
+    @Test
+    public void distribute_NotModified_ContainsNotCalled() throws Exception {
+        CountingListeners listeners = new CountingListeners(true);
+        List<String> delivered = new ArrayList<>();
+        listeners.add("A");
+        listeners.add("B");
+        listeners.add("C");
+        new DefaultDistributor<String>(true, Assertions::fail).distribute(delivered::add, listeners);
+        new IndependentDistributor<String>(true, Assertions::fail).distribute(delivered::add, listeners);
+        Assertions.assertEquals(6, delivered.size());
+        Assertions.assertEquals(0, listeners.containsCalls_);
+    }
+
+    @Test
+    public void distribute_ModifiedDuringDistribution_RemovedListenerSkipped() throws Exception {
+        CountingListeners listeners = new CountingListeners(true);
+        List<String> delivered = new ArrayList<>();
+        listeners.add("A");
+        listeners.add("B");
+        listeners.add("C");
+        new DefaultDistributor<String>(true, Assertions::fail).distribute(listener -> {
+            delivered.add(listener);
+            if (listener.equals("A")) {
+                listeners.remove("B");
+            }
+        }, listeners);
+        Assertions.assertEquals("[A, C]", delivered.toString());
+        Assertions.assertEquals(0, listeners.containsCalls_);
+        Assertions.assertEquals(2, listeners.removedChecks_);
+    }
+
+    @Test
+    public void distribute_ModifiedDuringDistribution_OnlyRemovedListenerSearched() throws Exception {
+        for (boolean independent : new boolean[]{false, true}) {
+            int[] equalsCalls = new int[1];
+            Listeners<EqualsCountingListener> listeners = new ListenersStore<>(new ArrayList<>());
+            for (int i = 0; i < 100; i++) {
+                listeners.add(new EqualsCountingListener(equalsCalls));
+            }
+            EqualsCountingListener first = (EqualsCountingListener) listeners.toArray()[0];
+            EqualsCountingListener second = (EqualsCountingListener) listeners.toArray()[1];
+            List<EqualsCountingListener> delivered = new ArrayList<>();
+            AbstractDistributor<EqualsCountingListener> distributor = independent
+                    ? new IndependentDistributor<>(true, Assertions::fail)
+                    : new DefaultDistributor<>(true, Assertions::fail);
+            distributor.distribute(listener -> {
+                delivered.add(listener);
+                if (listener == first) {
+                    listeners.add(new EqualsCountingListener(equalsCalls));
+                    listeners.remove(second);
+                    equalsCalls[0] = 0;
+                }
+            }, listeners);
+            int calls = equalsCalls[0];
+            Assertions.assertEquals(99, delivered.size());
+            Assertions.assertFalse(delivered.contains(second));
+            // Searching the collection for each of the remaining 98 listeners would call equals thousands of times.
+            Assertions.assertTrue(calls <= listeners.size(), "equals called " + calls + " times.");
+        }
+    }
+
+    @Test
+    public void distribute_RemovalLogExceeded_RemovedListenersSkipped() throws Exception {
+        List<Consumer<ListenersBuilder<String>>> configurations = new ArrayList<>();
+        configurations.add(builder -> builder.setCached(false));
+        configurations.add(builder -> builder.setPrioritized());
+        configurations.add(builder -> builder.setWeak());
+        for (Consumer<ListenersBuilder<String>> configuration : configurations) {
+            ListenersBuilder<String> builder = Listeners.builder();
+            configuration.accept(builder);
+            Listeners<String> listeners = builder.build();
+            for (int i = 0; i < 100; i++) {
+                listeners.add(String.valueOf(i));
+            }
+            List<String> delivered = new ArrayList<>();
+            new IndependentDistributor<String>(true, Assertions::fail).distribute(listener -> {
+                delivered.add(listener);
+                if (listener.equals("0")) {
+                    // Remove every odd listener, more than the log of removals holds.
+                    for (int i = 1; i < 100; i += 2) {
+                        listeners.remove(String.valueOf(i));
+                    }
+                    listeners.add("new");
+                }
+            }, listeners);
+            Assertions.assertEquals(50, delivered.size());
+            for (String listener : delivered) {
+                Assertions.assertEquals(0, Integer.parseInt(listener) % 2);
+            }
+        }
+    }
+
+    @Test
+    public void distribute_Unversioned_ContainsCalled() throws Exception {
+        CountingListeners listeners = new CountingListeners(false);
+        List<String> delivered = new ArrayList<>();
+        listeners.add("A");
+        listeners.add("B");
+        new DefaultDistributor<String>(true, Assertions::fail).distribute(delivered::add, listeners);
+        Assertions.assertEquals(2, delivered.size());
+        Assertions.assertEquals(2, listeners.containsCalls_);
+    }
+
+    @Test
+    public void distribute_PresenceCheckDisabled_ContainsNotCalled() throws Exception {
+        CountingListeners listeners = new CountingListeners(true);
+        listeners.add("A");
+        listeners.add("B");
+        new DefaultDistributor<String>(false, Assertions::fail).distribute(listener -> listeners.remove("B"), listeners);
+        Assertions.assertEquals(0, listeners.containsCalls_);
+    }
+
+    @Test
+    public void publish_ListenerRemovedDuringDelivery_RemovedListenerSkipped() throws Exception {
+        List<Consumer<ListenersBuilder<Consumer<String>>>> configurations = new ArrayList<>();
+        configurations.add(builder -> { });
+        configurations.add(builder -> builder.setIndexed().setSynchronized());
+        configurations.add(builder -> builder.setLinked());
+        configurations.add(builder -> builder.setConcurrent());
+        configurations.add(builder -> builder.setWeak());
+        for (Consumer<ListenersBuilder<Consumer<String>>> configuration : configurations) {
+            for (boolean independent : new boolean[]{false, true}) {
+                Publisher<Consumer<String>> publisher = Publisher.<Consumer<String>>builder()
+                        .listeners(configuration)
+                        .setIndependentDelivery(independent)
+                        .setListenerPresenceCheck()
+                        .build();
+                List<String> delivered = new ArrayList<>();
+                Consumer<String> second = value -> delivered.add("second");
+                Consumer<String> first = value -> {
+                    delivered.add("first");
+                    publisher.getListeners().remove(second);
+                };
+                Consumer<String> third = value -> delivered.add("third");
+                publisher.getListeners().add(first);
+                publisher.getListeners().add(second);
+                publisher.getListeners().add(third);
+                publisher.publish(listener -> listener.accept("event"));
+                Assertions.assertEquals("[first, third]", delivered.toString());
+            }
+        }
+    }
+
+    @Test
+    public void getVersion_Modified_VersionChanged() throws Exception {
+        List<Consumer<ListenersBuilder<String>>> configurations = new ArrayList<>();
+        configurations.add(builder -> { });
+        configurations.add(builder -> builder.setIndexed().setSynchronized());
+        configurations.add(builder -> builder.setLinked());
+        configurations.add(builder -> builder.setConcurrent());
+        configurations.add(builder -> builder.setWeak());
+        for (Consumer<ListenersBuilder<String>> configuration : configurations) {
+            ListenersBuilder<String> builder = Listeners.builder();
+            configuration.accept(builder);
+            Listeners<String> listeners = builder.build();
+            Set<Long> versions = new HashSet<>();
+            versions.add(listeners.getVersion());
+            listeners.add("A");
+            versions.add(listeners.getVersion());
+            listeners.addFirst("B");
+            versions.add(listeners.getVersion());
+            listeners.remove("A");
+            versions.add(listeners.getVersion());
+            listeners.subscribe("C").close();
+            versions.add(listeners.getVersion());
+            listeners.clear();
+            versions.add(listeners.getVersion());
+            Assertions.assertFalse(versions.contains(Listeners.UNVERSIONED));
+            Assertions.assertEquals(6, versions.size());
+        }
+    }
+
+    private static final class CountingListeners implements Listeners<String> {
+        private final Listeners<String> listeners_ = new ListenersStore<>(new ArrayList<>());
+        private final boolean versioned_;
+        private int containsCalls_;
+        private int removedChecks_;
+
+        private CountingListeners(boolean versioned) {
+            versioned_ = versioned;
+        }
+
+        @Override
+        public void add(String item) {
+            listeners_.add(item);
+        }
+
+        @Override
+        public void addFirst(String item) {
+            listeners_.addFirst(item);
+        }
+
+        @Override
+        public void addBefore(String item, String prior) {
+            listeners_.addBefore(item, prior);
+        }
+
+        @Override
+        public void addAfter(String item, String next) {
+            listeners_.addAfter(item, next);
+        }
+
+        @Override
+        public boolean contains(String item) {
+            containsCalls_++;
+            return listeners_.contains(item);
+        }
+
+        @Override
+        public boolean isRemovedSince(String item, long version) {
+            removedChecks_++;
+            return listeners_.isRemovedSince(item, version);
+        }
+
+        @Override
+        public void remove(String item) {
+            listeners_.remove(item);
+        }
+
+        @Override
+        public void clear() {
+            listeners_.clear();
+        }
+
+        @Override
+        public int size() {
+            return listeners_.size();
+        }
+
+        @Override
+        public Object[] toArray() {
+            return listeners_.toArray();
+        }
+
+        @Override
+        public long getVersion() {
+            return versioned_ ? listeners_.getVersion() : UNVERSIONED;
+        }
+    }
+
+    private static final class EqualsCountingListener {
+        private final int[] equalsCalls_;
+
+        private EqualsCountingListener(int[] equalsCalls) {
+            equalsCalls_ = equalsCalls;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            equalsCalls_[0]++;
+            return super.equals(obj);
+        }
+
+        @Override
+        public int hashCode() {
+            return super.hashCode();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Measures the cost of a publication to {@value #LISTENERS} listeners, with and without metrics.
+ * <p>
+ * The benchmark is tagged and excluded from the {@code test} task, it is run by {@code gradlew benchmark}.
+ * Each case is warmed up, then measured in several rounds, and the best round is printed in nanoseconds
+ * per publication.
+ */
+@Tag("benchmark")
+public class PublishBenchmarkTest {
+
+    private static final int LISTENERS = 10;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 5;
+    private static final int PUBLICATIONS = 200_000;
+    private static final Consumer<Runnable> RUN = Runnable::run;
+
+    @Test
+    public void publish_WithoutMetrics() throws Exception {
+        measure("without metrics", Publisher.<Runnable>builder().build());
+    }
+
+    @Test
+    public void publish_WithMetrics() throws Exception {
+        measure("with metrics", Publisher.<Runnable>builder()
+                .setMetrics("benchmark", new InMemoryListenerMetricsSink())
+                .build());
+    }
+
+    @Test
+    public void publish_WithSampledMetrics() throws Exception {
+        measure("with metrics 1/16", Publisher.<Runnable>builder()
+                .setMetrics("benchmark", new InMemoryListenerMetricsSink(), 16)
+                .build());
+    }
+
+    private static void measure(String name, Publisher<Runnable> publisher) {
+        long[] calls = new long[1];
+        for (int i = 0; i < LISTENERS; i++) {
+            publisher.getListeners().add(() -> calls[0]++);
+        }
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run(publisher);
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            best = Math.min(best, run(publisher));
+        }
+        Assertions.assertEquals((long) (WARMUP_ROUNDS + ROUNDS) * PUBLICATIONS * LISTENERS, calls[0]);
+        System.out.printf(Locale.ROOT, "%-20s %8.1f ns/publication, %d listeners%n",
+                name, (double) best / PUBLICATIONS, LISTENERS);
+    }
+
+    private static long run(Publisher<Runnable> publisher) {
+        long start = System.nanoTime();
+        for (int i = 0; i < PUBLICATIONS; i++) {
+            publisher.publish(RUN);
+        }
+        return System.nanoTime() - start;
+    }
+}
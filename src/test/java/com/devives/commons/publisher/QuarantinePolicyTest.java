@@ -0,0 +1,168 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.lang.exception.AggregateException;
+import com.devives.commons.listener.Listeners;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+public class QuarantinePolicyTest {
+
+    private static final Consumer<Runnable> RUN = Runnable::run;
+
+    @Test
+    public void distribute_FailureThresholdReached_ListenerQuarantinedAndReported() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        List<Exception> errors = new ArrayList<>();
+        IndependentDistributor<Runnable> distributor = new IndependentDistributor<>(false, QuarantinePolicy.builder()
+                .setFailureThreshold(2)
+                .setQuarantineDuration(10, 40, TimeUnit.NANOSECONDS)
+                .build(), clock::get, errors::add);
+        Listeners<Runnable> listeners = Listeners.<Runnable>builder().build();
+        AtomicInteger failingCalls = new AtomicInteger();
+        AtomicInteger healthyCalls = new AtomicInteger();
+        Runnable failing = () -> {
+            failingCalls.incrementAndGet();
+            throw new IllegalStateException();
+        };
+        listeners.add(failing);
+        listeners.add(healthyCalls::incrementAndGet);
+
+        distributor.distribute(RUN, listeners);
+        Assertions.assertTrue(errors.get(0) instanceof IllegalStateException);
+        Assertions.assertFalse(distributor.isQuarantined(failing));
+
+        distributor.distribute(RUN, listeners);
+        AggregateException aggregate = (AggregateException) errors.get(1);
+        ListenerQuarantinedException quarantined = (ListenerQuarantinedException) aggregate.getSuppressed()[1];
+        Assertions.assertSame(failing, quarantined.getListener());
+        Assertions.assertEquals(10, quarantined.getQuarantineNanos());
+        Assertions.assertSame(aggregate.getSuppressed()[0], quarantined.getCause());
+        Assertions.assertTrue(distributor.isQuarantined(failing));
+
+        distributor.distribute(RUN, listeners);
+        Assertions.assertEquals(2, failingCalls.get());
+        Assertions.assertEquals(3, healthyCalls.get());
+        Assertions.assertEquals(2, errors.size());
+    }
+
+    @Test
+    public void distribute_FailsOnProbation_QuarantineDoubledUpToMax() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        List<Exception> errors = new ArrayList<>();
+        IndependentDistributor<Runnable> distributor = new IndependentDistributor<>(false, QuarantinePolicy.builder()
+                .setFailureThreshold(1)
+                .setQuarantineDuration(10, 25, TimeUnit.NANOSECONDS)
+                .build(), clock::get, errors::add);
+        Listeners<Runnable> listeners = Listeners.<Runnable>builder().build();
+        listeners.add(() -> {
+            throw new IllegalStateException();
+        });
+        long[] expected = {10, 20, 25, 25};
+        for (long duration : expected) {
+            errors.clear();
+            distributor.distribute(RUN, listeners);
+            ListenerQuarantinedException quarantined = (ListenerQuarantinedException) ((AggregateException) errors.get(0)).getSuppressed()[1];
+            Assertions.assertEquals(duration, quarantined.getQuarantineNanos());
+            clock.addAndGet(duration - 1);
+            errors.clear();
+            distributor.distribute(RUN, listeners);
+            Assertions.assertTrue(errors.isEmpty());
+            clock.incrementAndGet();
+        }
+    }
+
+    @Test
+    public void distribute_SucceedsOnProbation_RecordCleared() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        List<Exception> errors = new ArrayList<>();
+        IndependentDistributor<Runnable> distributor = new IndependentDistributor<>(false, QuarantinePolicy.builder()
+                .setFailureThreshold(1)
+                .setQuarantineDuration(10, 100, TimeUnit.NANOSECONDS)
+                .build(), clock::get, errors::add);
+        Listeners<Runnable> listeners = Listeners.<Runnable>builder().build();
+        AtomicInteger calls = new AtomicInteger();
+        listeners.add(() -> {
+            if (calls.incrementAndGet() != 2) {
+                throw new IllegalStateException();
+            }
+        });
+        distributor.distribute(RUN, listeners);
+        clock.addAndGet(10);
+        distributor.distribute(RUN, listeners);
+        errors.clear();
+        distributor.distribute(RUN, listeners);
+        Assertions.assertTrue(errors.get(0) instanceof AggregateException);
+        ListenerQuarantinedException quarantined = (ListenerQuarantinedException) errors.get(0).getSuppressed()[1];
+        Assertions.assertEquals(10, quarantined.getQuarantineNanos());
+    }
+
+    @Test
+    public void distribute_TimeBudgetExceeded_ListenerQuarantined() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        List<Exception> errors = new ArrayList<>();
+        IndependentDistributor<Runnable> distributor = new IndependentDistributor<>(false, QuarantinePolicy.builder()
+                .setTimeBudget(5, TimeUnit.NANOSECONDS)
+                .setQuarantineDuration(10, 100, TimeUnit.NANOSECONDS)
+                .build(), clock::get, errors::add);
+        Listeners<Runnable> listeners = Listeners.<Runnable>builder().build();
+        AtomicInteger slowCalls = new AtomicInteger();
+        Runnable slow = () -> {
+            slowCalls.incrementAndGet();
+            clock.addAndGet(6);
+        };
+        listeners.add(slow);
+        listeners.add(() -> clock.addAndGet(5));
+        distributor.distribute(RUN, listeners);
+        ListenerQuarantinedException quarantined = (ListenerQuarantinedException) errors.get(0);
+        Assertions.assertSame(slow, quarantined.getListener());
+        Assertions.assertNull(quarantined.getCause());
+        distributor.distribute(RUN, listeners);
+        Assertions.assertEquals(1, slowCalls.get());
+        Assertions.assertEquals(1, errors.size());
+    }
+
+    @Test
+    public void setQuarantinePolicy_PublisherBuilder_IndependentDeliveryWithQuarantine() throws Exception {
+        List<Exception> errors = new ArrayList<>();
+        Publisher<Runnable> publisher = Publisher.<Runnable>builder()
+                .setQuarantinePolicy(QuarantinePolicy.builder().setFailureThreshold(1).build())
+                .setErrorHandler(errors::add)
+                .build();
+        AtomicInteger calls = new AtomicInteger();
+        publisher.getListeners().add(() -> {
+            throw new IllegalStateException();
+        });
+        publisher.getListeners().add(calls::incrementAndGet);
+        publisher.publish(RUN);
+        publisher.publish(RUN);
+        Assertions.assertEquals(2, calls.get());
+        Assertions.assertEquals(1, errors.size());
+        Assertions.assertThrows(IllegalStateException.class, () -> Publisher.<Runnable>builder()
+                .setQuarantinePolicy(QuarantinePolicy.builder().build())
+                .setParallelDelivery(4)
+                .build());
+    }
+}
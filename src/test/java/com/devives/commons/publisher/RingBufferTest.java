@@ -0,0 +1,140 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.event.BaseEvent;
+import com.devives.commons.event.Event;
+import com.devives.commons.event.EventSource;
+import com.devives.commons.event.EventSources;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class RingBufferTest {
+
+    private static final int EVENTS = 100_000;
+
+    @Test
+    public void new_NotPowerOfTwo_IllegalArgumentExceptionThrown() throws Exception {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new RingBuffer(100, RingBuffer.WaitStrategy.PARK));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new RingBuffer(0, RingBuffer.WaitStrategy.PARK));
+    }
+
+    @Test
+    public void publish_MultipleProducers_AllDeliveredInProducerOrder() throws Exception {
+        for (RingBuffer.WaitStrategy waitStrategy : RingBuffer.WaitStrategy.values()) {
+            try (RingBuffer ringBuffer = new RingBuffer(64, waitStrategy)) {
+                Publisher<Consumer<long[]>> publisher = Publisher.<Consumer<long[]>>builder()
+                        .setRingBufferDelivery(ringBuffer)
+                        .build();
+                final int producers = 3;
+                long[][] lastValues = new long[producers][1];
+                List<Throwable> errors = new ArrayList<>();
+                long[] received = new long[1];
+                publisher.getListeners().add(event -> {
+                    int producer = (int) event[0];
+                    if (event[1] != lastValues[producer][0] + 1) {
+                        errors.add(new AssertionError("Out of order: " + event[1]));
+                    }
+                    lastValues[producer][0] = event[1];
+                    received[0]++;
+                });
+                List<Thread> threads = new ArrayList<>();
+                for (int p = 0; p < producers; p++) {
+                    final int producer = p;
+                    threads.add(new Thread(() -> {
+                        for (long i = 1; i <= EVENTS; i++) {
+                            long[] event = new long[]{producer, i};
+                            publisher.publish(listener -> listener.accept(event));
+                        }
+                    }));
+                }
+                threads.forEach(Thread::start);
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+                ringBuffer.close();
+                Assertions.assertEquals(0, ringBuffer.getBacklog());
+                Assertions.assertEquals(producers * EVENTS, received[0]);
+                Assertions.assertTrue(errors.isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void publish_FromConsumerIntoFullRing_DeliveredInline() throws Exception {
+        try (RingBuffer ringBuffer = new RingBuffer(4, RingBuffer.WaitStrategy.PARK)) {
+            Publisher<Consumer<Integer>> publisher = Publisher.<Consumer<Integer>>builder()
+                    .setRingBufferDelivery(ringBuffer)
+                    .build();
+            List<Integer> received = new ArrayList<>();
+            CountDownLatch delivered = new CountDownLatch(11);
+            publisher.getListeners().add(value -> {
+                received.add(value);
+                if (value == 0) {
+                    for (int i = 1; i <= 10; i++) {
+                        int next = i;
+                        publisher.publish(listener -> listener.accept(next));
+                    }
+                }
+                delivered.countDown();
+            });
+            publisher.publish(listener -> listener.accept(0));
+            Assertions.assertTrue(delivered.await(10, TimeUnit.SECONDS));
+            // The events which did not fit into the ring are delivered ahead of the events waiting in the ring.
+            received.sort(null);
+            Assertions.assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10), received);
+        }
+    }
+
+    @Test
+    public void publish_Closed_IllegalStateExceptionThrown() throws Exception {
+        RingBuffer ringBuffer = new RingBuffer(8, RingBuffer.WaitStrategy.YIELD);
+        Publisher<Runnable> publisher = Publisher.<Runnable>builder().setRingBufferDelivery(ringBuffer).build();
+        ringBuffer.close();
+        Assertions.assertThrows(IllegalStateException.class, () -> publisher.publish(Runnable::run));
+    }
+
+    @Test
+    public void send_EventSource_ListenerErrorsPassedToErrorHandler() throws Exception {
+        try (RingBuffer ringBuffer = new RingBuffer(16, RingBuffer.WaitStrategy.PARK)) {
+            CountDownLatch handled = new CountDownLatch(2);
+            List<Thread> handlerThreads = new ArrayList<>();
+            EventSource<Event> eventSource = EventSources.builder()
+                    .setRingBufferDelivery(ringBuffer)
+                    .setIndependentDelivery()
+                    .setErrorHandler(exception -> {
+                        handlerThreads.add(Thread.currentThread());
+                        handled.countDown();
+                    })
+                    .build();
+            eventSource.getListeners().add(event -> {
+                throw new IllegalStateException();
+            });
+            eventSource.send(new BaseEvent(this));
+            eventSource.send(new BaseEvent(this));
+            Assertions.assertTrue(handled.await(1, TimeUnit.MINUTES));
+            Assertions.assertFalse(handlerThreads.contains(Thread.currentThread()));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.lang.exception.AggregateException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+public class VirtualThreadDistributorTest {
+
+    private static final Consumer<Runnable> RUN = Runnable::run;
+
+    @Test
+    public void publish_WithoutVirtualThreads_SequentialOnPublishingThread() throws Exception {
+        Assertions.assertFalse(VirtualThreadDistributor.isVirtualThreadSupported());
+        Publisher<Runnable> publisher = Publisher.<Runnable>builder()
+                .setVirtualThreadDelivery()
+                .build();
+        Thread publishingThread = Thread.currentThread();
+        List<Integer> calls = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            int value = i;
+            publisher.getListeners().add(() -> {
+                Assertions.assertSame(publishingThread, Thread.currentThread());
+                calls.add(value);
+            });
+        }
+        publisher.publish(RUN);
+        Assertions.assertEquals(Arrays.asList(0, 1, 2), calls);
+    }
+
+    @Test
+    public void publish_ListenersThrow_AllCalledAndAggregateExceptionThrown() throws Exception {
+        Publisher<Runnable> publisher = Publisher.<Runnable>builder()
+                .setVirtualThreadDelivery()
+                .build();
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            publisher.getListeners().add(() -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException();
+            });
+        }
+        AggregateException exception = Assertions.assertThrows(AggregateException.class, () -> publisher.publish(RUN));
+        Assertions.assertEquals(4, calls.get());
+        Assertions.assertEquals(4, exception.getSuppressed().length);
+    }
+
+    @Test
+    public void publish_OneListenerThrows_OthersCalledAndExceptionRethrown() throws Exception {
+        Publisher<Runnable> publisher = Publisher.<Runnable>builder()
+                .setVirtualThreadDelivery()
+                .build();
+        AtomicInteger calls = new AtomicInteger();
+        IllegalStateException failure = new IllegalStateException();
+        publisher.getListeners().add(() -> {
+            throw failure;
+        });
+        for (int i = 0; i < 3; i++) {
+            publisher.getListeners().add(calls::incrementAndGet);
+        }
+        Assertions.assertSame(failure, Assertions.assertThrows(IllegalStateException.class, () -> publisher.publish(RUN)));
+        Assertions.assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void build_CombinedWithParallelDelivery_IllegalStateException() throws Exception {
+        Assertions.assertThrows(IllegalStateException.class, () -> Publisher.<Runnable>builder()
+                .setVirtualThreadDelivery()
+                .setParallelDelivery(4)
+                .build());
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.lang.exception.AggregateException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+public class VirtualThreadDeliveryTest {
+
+    private static final Consumer<Runnable> RUN = Runnable::run;
+
+    @Test
+    public void publish_BlockingListeners_CalledConcurrentlyOnVirtualThreads() throws Exception {
+        Assertions.assertTrue(VirtualThreadDistributor.isVirtualThreadSupported());
+        Publisher<Runnable> publisher = Publisher.<Runnable>builder()
+                .setVirtualThreadDelivery()
+                .build();
+        int count = 1_000;
+        CountDownLatch allStarted = new CountDownLatch(count);
+        AtomicInteger virtualCalls = new AtomicInteger();
+        for (int i = 0; i < count; i++) {
+            publisher.getListeners().add(() -> {
+                allStarted.countDown();
+                try {
+                    // Completes only if every listener runs concurrently.
+                    if (!allStarted.await(10, TimeUnit.SECONDS)) {
+                        throw new IllegalStateException("Listeners are not called concurrently.");
+                    }
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                if (Thread.currentThread().isVirtual()) {
+                    virtualCalls.incrementAndGet();
+                }
+            });
+        }
+        publisher.publish(RUN);
+        Assertions.assertEquals(count, virtualCalls.get());
+    }
+
+    @Test
+    public void publish_ListenersThrow_AllCalledAndAggregateExceptionThrown() throws Exception {
+        Publisher<Runnable> publisher = Publisher.<Runnable>builder()
+                .setVirtualThreadDelivery()
+                .build();
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            publisher.getListeners().add(() -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException();
+            });
+        }
+        AggregateException exception = Assertions.assertThrows(AggregateException.class, () -> publisher.publish(RUN));
+        Assertions.assertEquals(4, calls.get());
+        Assertions.assertEquals(4, exception.getSuppressed().length);
+    }
+
+    @Test
+    public void publish_OneListenerThrows_OthersCalledAndExceptionRethrown() throws Exception {
+        Publisher<Runnable> publisher = Publisher.<Runnable>builder()
+                .setVirtualThreadDelivery()
+                .build();
+        AtomicInteger calls = new AtomicInteger();
+        IllegalStateException failure = new IllegalStateException();
+        publisher.getListeners().add(() -> {
+            throw failure;
+        });
+        for (int i = 0; i < 3; i++) {
+            publisher.getListeners().add(calls::incrementAndGet);
+        }
+        Assertions.assertSame(failure, Assertions.assertThrows(IllegalStateException.class, () -> publisher.publish(RUN)));
+        Assertions.assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void publish_SingleListener_CalledOnPublishingThread() throws Exception {
+        Publisher<Runnable> publisher = Publisher.<Runnable>builder()
+                .setVirtualThreadDelivery()
+                .build();
+        Thread publishingThread = Thread.currentThread();
+        AtomicInteger calls = new AtomicInteger();
+        publisher.getListeners().add(() -> {
+            Assertions.assertSame(publishingThread, Thread.currentThread());
+            calls.incrementAndGet();
+        });
+        publisher.publish(RUN);
+        Assertions.assertEquals(1, calls.get());
+    }
+}
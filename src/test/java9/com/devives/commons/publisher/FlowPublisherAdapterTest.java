@@ -0,0 +1,262 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.devives.commons.publisher;
+
+import com.devives.commons.event.EventSource;
+import com.devives.commons.event.EventSources;
+import com.devives.commons.event.PropertyChangedEvent;
+import com.devives.commons.util.concurrent.SerialDrain;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class FlowPublisherAdapterTest {
+
+    @Test
+    public void subscribe_Request_OnlyRequestedItemsDelivered() throws Exception {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        Publisher<Consumer<Integer>> publisher = Publisher.<Consumer<Integer>>builder().build();
+        FlowPublisherAdapter<Integer> adapter = FlowPublisherAdapter.of(publisher, sink -> sink::accept, 10,
+                FlowPublisherAdapter.OverflowPolicy.DROP_NEWEST, tasks::add);
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        adapter.subscribe(subscriber);
+        runAll(tasks);
+        for (int i = 0; i < 5; i++) {
+            int value = i;
+            publisher.publish(listener -> listener.accept(value));
+        }
+        runAll(tasks);
+        Assertions.assertTrue(subscriber.items_.isEmpty());
+        subscriber.subscription_.request(2);
+        runAll(tasks);
+        Assertions.assertEquals(Arrays.asList(0, 1), subscriber.items_);
+        subscriber.subscription_.request(Long.MAX_VALUE);
+        subscriber.subscription_.request(Long.MAX_VALUE);
+        runAll(tasks);
+        Assertions.assertEquals(Arrays.asList(0, 1, 2, 3, 4), subscriber.items_);
+    }
+
+    @Test
+    public void send_BufferFull_DropOldest() throws Exception {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        EventSource<PropertyChangedEvent<String>> eventSource = EventSources.<PropertyChangedEvent<String>>builder().build();
+        FlowPublisherAdapter<PropertyChangedEvent<String>> adapter = FlowPublisherAdapter.of(eventSource, 2,
+                FlowPublisherAdapter.OverflowPolicy.DROP_OLDEST, tasks::add);
+        RecordingSubscriber<PropertyChangedEvent<String>> subscriber = new RecordingSubscriber<>();
+        adapter.subscribe(subscriber);
+        runAll(tasks);
+        for (int i = 0; i < 5; i++) {
+            eventSource.send(new PropertyChangedEvent<>(i, "a"));
+        }
+        subscriber.subscription_.request(10);
+        runAll(tasks);
+        Assertions.assertEquals(2, subscriber.items_.size());
+        Assertions.assertEquals(3, subscriber.items_.get(0).getSource());
+        Assertions.assertEquals(4, subscriber.items_.get(1).getSource());
+        Assertions.assertEquals(3, adapter.getDroppedCount());
+    }
+
+    @Test
+    public void send_BufferFull_DropNewest() throws Exception {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        EventSource<PropertyChangedEvent<String>> eventSource = EventSources.<PropertyChangedEvent<String>>builder().build();
+        FlowPublisherAdapter<PropertyChangedEvent<String>> adapter = FlowPublisherAdapter.of(eventSource, 2,
+                FlowPublisherAdapter.OverflowPolicy.DROP_NEWEST, tasks::add);
+        RecordingSubscriber<PropertyChangedEvent<String>> subscriber = new RecordingSubscriber<>();
+        adapter.subscribe(subscriber);
+        runAll(tasks);
+        for (int i = 0; i < 5; i++) {
+            eventSource.send(new PropertyChangedEvent<>(i, "a"));
+        }
+        subscriber.subscription_.request(10);
+        runAll(tasks);
+        Assertions.assertEquals(2, subscriber.items_.size());
+        Assertions.assertEquals(0, subscriber.items_.get(0).getSource());
+        Assertions.assertEquals(1, subscriber.items_.get(1).getSource());
+        Assertions.assertEquals(3, adapter.getDroppedCount());
+    }
+
+    @Test
+    public void send_BufferFull_BlockUntilRequested() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Publisher<Consumer<Integer>> publisher = Publisher.<Consumer<Integer>>builder().build();
+            FlowPublisherAdapter<Integer> adapter = FlowPublisherAdapter.of(publisher, sink -> sink::accept, 1,
+                    FlowPublisherAdapter.OverflowPolicy.BLOCK, executor);
+            CountDownLatch received = new CountDownLatch(3);
+            List<Integer> items = new ArrayList<>();
+            Flow.Subscription[] subscription = new Flow.Subscription[1];
+            CountDownLatch subscribed = new CountDownLatch(1);
+            adapter.subscribe(new Flow.Subscriber<Integer>() {
+                @Override
+                public void onSubscribe(Flow.Subscription value) {
+                    subscription[0] = value;
+                    subscribed.countDown();
+                }
+
+                @Override
+                public void onNext(Integer item) {
+                    items.add(item);
+                    received.countDown();
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+            Assertions.assertTrue(subscribed.await(5, TimeUnit.SECONDS));
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < 3; i++) {
+                    int value = i;
+                    publisher.publish(listener -> listener.accept(value));
+                }
+            });
+            producer.start();
+            producer.join(200);
+            Assertions.assertTrue(producer.isAlive());
+            subscription[0].request(3);
+            Assertions.assertTrue(received.await(5, TimeUnit.SECONDS));
+            producer.join(5000);
+            Assertions.assertFalse(producer.isAlive());
+            Assertions.assertEquals(Arrays.asList(0, 1, 2), items);
+            Assertions.assertEquals(0, adapter.getDroppedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void close_BufferedItems_DeliveredBeforeComplete() throws Exception {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        Publisher<Consumer<Integer>> publisher = Publisher.<Consumer<Integer>>builder().build();
+        FlowPublisherAdapter<Integer> adapter = FlowPublisherAdapter.of(publisher, sink -> sink::accept, 10,
+                FlowPublisherAdapter.OverflowPolicy.DROP_NEWEST, tasks::add);
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        adapter.subscribe(subscriber);
+        publisher.publish(listener -> listener.accept(1));
+        adapter.close();
+        Assertions.assertEquals(0, publisher.getListeners().size());
+        runAll(tasks);
+        Assertions.assertFalse(subscriber.completed_);
+        subscriber.subscription_.request(1);
+        runAll(tasks);
+        Assertions.assertEquals(Arrays.asList(1), subscriber.items_);
+        Assertions.assertTrue(subscriber.completed_);
+        Assertions.assertEquals(0, adapter.getSubscriberCount());
+    }
+
+    @Test
+    public void request_NonPositive_OnError() throws Exception {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        Publisher<Consumer<Integer>> publisher = Publisher.<Consumer<Integer>>builder().build();
+        FlowPublisherAdapter<Integer> adapter = FlowPublisherAdapter.of(publisher, sink -> sink::accept, 10,
+                FlowPublisherAdapter.OverflowPolicy.DROP_NEWEST, tasks::add);
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        adapter.subscribe(subscriber);
+        runAll(tasks);
+        subscriber.subscription_.request(0);
+        runAll(tasks);
+        Assertions.assertTrue(subscriber.error_ instanceof IllegalArgumentException);
+        Assertions.assertEquals(0, adapter.getSubscriberCount());
+    }
+
+    @Test
+    public void cancel_SubscriptionRemoved() throws Exception {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        Publisher<Consumer<Integer>> publisher = Publisher.<Consumer<Integer>>builder().build();
+        FlowPublisherAdapter<Integer> adapter = FlowPublisherAdapter.of(publisher, sink -> sink::accept, 10,
+                FlowPublisherAdapter.OverflowPolicy.DROP_NEWEST, tasks::add);
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        adapter.subscribe(subscriber);
+        runAll(tasks);
+        subscriber.subscription_.request(10);
+        subscriber.subscription_.cancel();
+        publisher.publish(listener -> listener.accept(1));
+        runAll(tasks);
+        Assertions.assertTrue(subscriber.items_.isEmpty());
+        Assertions.assertEquals(0, adapter.getSubscriberCount());
+    }
+
+    @Test
+    public void request_ManyItems_DrainRescheduled() throws Exception {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        Publisher<Consumer<Integer>> publisher = Publisher.<Consumer<Integer>>builder().build();
+        FlowPublisherAdapter<Integer> adapter = FlowPublisherAdapter.of(publisher, sink -> sink::accept, 1000,
+                FlowPublisherAdapter.OverflowPolicy.DROP_NEWEST, tasks::add);
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        adapter.subscribe(subscriber);
+        runAll(tasks);
+        for (int i = 0; i < 2 * SerialDrain.DRAIN_LIMIT + 1; i++) {
+            int value = i;
+            publisher.publish(listener -> listener.accept(value));
+        }
+        subscriber.subscription_.request(Long.MAX_VALUE);
+        Assertions.assertEquals(3, runAll(tasks));
+        Assertions.assertEquals(2 * SerialDrain.DRAIN_LIMIT + 1, subscriber.items_.size());
+    }
+
+    private static int runAll(Queue<Runnable> tasks) {
+        int runs = 0;
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+            runs++;
+        }
+        return runs;
+    }
+
+    private static final class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+        private final List<T> items_ = new ArrayList<>();
+        private Flow.Subscription subscription_;
+        private Throwable error_;
+        private boolean completed_;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription_ = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            items_.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error_ = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed_ = true;
+        }
+    }
+}